@@ -96,13 +96,14 @@ CREATE TABLE products (
                           price DECIMAL(10, 2) NOT NULL,
                           stock_quantity INT NOT NULL DEFAULT 0,
                           reserved_quantity INT NOT NULL DEFAULT 0 COMMENT 'Estoque reservado temporariamente (ADR-003)',
+                          available_quantity INT GENERATED ALWAYS AS (stock_quantity - reserved_quantity) STORED COMMENT 'Disponível para venda: filtro/ordenação por disponibilidade',
                           category_id BIGINT NOT NULL COMMENT 'Categoria obrigatória',
                           supplier_id BIGINT NULL COMMENT 'Fornecedor opcional - NULL permitido',
                           sku VARCHAR(50) UNIQUE,
                           active BOOLEAN NOT NULL DEFAULT true,
                           metadata JSON COMMENT 'Metadados flexíveis do produto (marca, modelo, specs)',
                           created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                          updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                          updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT 'Microssegundos: base do ETag',
                           created_by VARCHAR(100),
                           updated_by VARCHAR(100),
 
@@ -113,6 +114,8 @@ CREATE TABLE products (
                           INDEX idx_products_supplier (supplier_id),
                           INDEX idx_products_sku (sku),
                           INDEX idx_products_active (active),
+                          INDEX idx_products_availability (active, category_id, available_quantity) COMMENT 'Listagem: em estoque por categoria, ordenada por disponibilidade',
+                          INDEX idx_products_updated_at (updated_at) COMMENT 'Reconciliação do snapshot do catálogo',
 
                           CONSTRAINT chk_price_positive CHECK (price >= 0),
                           CONSTRAINT chk_stock_nonnegative CHECK (stock_quantity >= 0),
@@ -132,7 +135,7 @@ CREATE TABLE orders (
                         payment_date TIMESTAMP NULL,
                         reserved_until TIMESTAMP NULL COMMENT 'TTL da reserva de estoque (ADR-003)',
                         created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT 'Microssegundos: base do ETag',
                         created_by VARCHAR(100),
                         updated_by VARCHAR(100),
 
@@ -184,8 +187,9 @@ CREATE TABLE product_price_history (
                                        reason VARCHAR(255) COMMENT 'Motivo da mudança: promoção, ajuste, etc',
 
                                        FOREIGN KEY (product_id) REFERENCES products(id),
-                                       INDEX idx_product_price_product (product_id),
-                                       INDEX idx_product_price_date (changed_at)
+                                       INDEX idx_product_price_product_date (product_id, changed_at),
+                                       INDEX idx_product_price_date (changed_at),
+                                       FULLTEXT INDEX ft_product_price_reason (reason)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Histórico de mudanças de preço';
 
 -- =========================================
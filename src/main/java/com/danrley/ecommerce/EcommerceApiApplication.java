@@ -2,10 +2,15 @@ package com.danrley.ecommerce;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC só na leitura reativa do catálogo (ReactiveProductReader, com pool próprio): um
+// ConnectionFactory automático desligaria o DataSource do JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableScheduling
+@EnableAsync
 public class EcommerceApiApplication {
 
     public static void main(String[] args) {
@@ -67,8 +67,12 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/actuator/health").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll() // GET público
+                        .requestMatchers(HttpMethod.GET, "/api/reactive/products/**").permitAll() // leitura reativa pública
+                        .requestMatchers(HttpMethod.HEAD, "/api/products/feed.*").permitAll() // HEAD do feed (ETag/tamanho)
+                        .requestMatchers(HttpMethod.POST, "/api/products/batch").permitAll() // consulta em lote pública
                         .requestMatchers(HttpMethod.POST, "/api/products/**").hasRole("ADMIN") // CREATE apenas ADMIN
                         .requestMatchers(HttpMethod.PUT, "/api/products/**").hasRole("ADMIN") // UPDATE apenas ADMIN
+                        .requestMatchers(HttpMethod.PATCH, "/api/products/**").hasRole("ADMIN") // PATCH apenas ADMIN
                         .requestMatchers(HttpMethod.DELETE, "/api/products/**").hasRole("ADMIN") // DELETE apenas ADMIN
                         .anyRequest().authenticated()
                 )
@@ -1,7 +1,10 @@
 package com.danrley.ecommerce.auth.entity;
 
+import com.danrley.ecommerce.shared.reference.ReferenceDataChangeListener;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -10,6 +13,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ReferenceDataChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference-data")
 @Table(name = "roles")
 public class Role {
 
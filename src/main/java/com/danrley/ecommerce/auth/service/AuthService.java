@@ -5,12 +5,12 @@ import com.danrley.ecommerce.auth.dto.LoginRequest;
 import com.danrley.ecommerce.auth.dto.RegisterRequest;
 import com.danrley.ecommerce.auth.entity.Role;
 import com.danrley.ecommerce.auth.entity.User;
-import com.danrley.ecommerce.auth.repository.RoleRepository;
 import com.danrley.ecommerce.auth.repository.UserRepository;
 import com.danrley.ecommerce.auth.security.JwtService;
 import com.danrley.ecommerce.shared.exception.AuthenticationException;
 import com.danrley.ecommerce.shared.exception.BusinessException;
 import com.danrley.ecommerce.shared.exception.ResourceNotFoundException;
+import com.danrley.ecommerce.shared.reference.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -36,7 +36,7 @@ import java.util.stream.Collectors;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
 
@@ -61,8 +61,8 @@ public class AuthService {
             throw new BusinessException("Email já cadastrado", "EMAIL_ALREADY_EXISTS");
         }
 
-        // Buscar role USER (deve existir no banco via dump.sql)
-        Role userRole = roleRepository.findByName("USER")
+        // Buscar role USER (deve existir no banco via dump.sql; servida da memória)
+        Role userRole = referenceDataCache.findRole("USER")
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "name", "USER"));
 
         // Criar usuário
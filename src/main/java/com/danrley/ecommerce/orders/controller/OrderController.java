@@ -3,8 +3,10 @@ package com.danrley.ecommerce.orders.controller;
 import com.danrley.ecommerce.auth.security.JwtService;
 import com.danrley.ecommerce.orders.dto.CreateOrderRequest;
 import com.danrley.ecommerce.orders.dto.OrderResponse;
+import com.danrley.ecommerce.orders.dto.OrderVersion;
 import com.danrley.ecommerce.orders.service.OrderService;
 import com.danrley.ecommerce.orders.service.PaymentService;
+import com.danrley.ecommerce.shared.web.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,11 +18,14 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -195,7 +200,11 @@ public class OrderController {
             orders = orderService.getUserOrders(userId);
         }
 
-        return ResponseEntity.ok(orders);
+        String etag = EntityTags.weak("orders", orders, OrderResponse::getId, OrderResponse::getUpdatedAt);
+        return ResponseEntity.ok()
+                .eTag(etag) // 304 automático do Spring se If-None-Match bater
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(orders);
     }
 
     /**
@@ -213,9 +222,14 @@ public class OrderController {
      * Authorization: Bearer eyJhbGc...
      * </pre>
      *
+     * <p><strong>GET condicional:</strong> com {@code If-None-Match} igual ao ETag atual,
+     * a permissão é validada e 304 é retornado a partir de uma consulta leve
+     * (dono + updatedAt), sem carregar itens nem montar o corpo.</p>
+     *
      * @param id ID do pedido
+     * @param webRequest requisição (If-None-Match)
      * @param authentication Dados do usuário autenticado
-     * @return OrderResponse
+     * @return OrderResponse ou 304 NOT MODIFIED
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
@@ -236,13 +250,25 @@ public class OrderController {
     public ResponseEntity<OrderResponse> getOrderById(
             @PathVariable Long id,
             HttpServletRequest request,  // ✅ ADICIONAR
+            WebRequest webRequest,
             Authentication authentication) {
 
-        OrderResponse order = orderService.getOrderById(id);
-
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
 
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            OrderVersion version = orderService.getOrderVersion(id);
+            if (!isAdmin && !version.userId().equals(extractUserId(request))) {
+                log.warn("USER tentou acessar pedido de outro usuário: orderId={}", id);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            if (webRequest.checkNotModified(EntityTags.strong("order", id, version.updatedAt()))) {
+                return null; // 304 já configurado pelo checkNotModified
+            }
+        }
+
+        OrderResponse order = orderService.getOrderById(id);
+
         if (!isAdmin) {
             Long userId = extractUserId(request);  // ✅ USAR O NOVO MÉTODO
             if (!order.getUserId().equals(userId)) {
@@ -251,7 +277,10 @@ public class OrderController {
             }
         }
 
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.strong("order", order.getId(), order.getUpdatedAt()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(order);
     }
 
     /**
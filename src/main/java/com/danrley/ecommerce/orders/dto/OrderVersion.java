@@ -0,0 +1,16 @@
+package com.danrley.ecommerce.orders.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção mínima de um pedido para requisições condicionais (ETag).
+ * Traz o dono do pedido para validar permissão antes de responder 304.
+ *
+ * @param id        ID do pedido
+ * @param userId    dono do pedido
+ * @param updatedAt última alteração
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public record OrderVersion(Long id, Long userId, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,29 @@
+package com.danrley.ecommerce.orders.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Evento de domínio publicado quando o pagamento de um pedido é aprovado.
+ * <p>
+ * Consumido pelos índices em memória derivados de vendas via
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}: só é aplicado
+ * se a transação do pagamento confirmar.
+ * </p>
+ *
+ * @param orderId    pedido aprovado
+ * @param approvedAt data do pagamento
+ * @param items      produtos e quantidades do pedido
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public record OrderApprovedEvent(Long orderId, LocalDateTime approvedAt, List<Item> items) {
+
+    /**
+     * @param productId  produto
+     * @param categoryId categoria do produto
+     * @param quantity   unidades vendidas
+     */
+    public record Item(Long productId, Long categoryId, int quantity) {
+    }
+}
@@ -2,11 +2,15 @@ package com.danrley.ecommerce.orders.repository;
 
 import com.danrley.ecommerce.orders.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de acesso a dados da entidade OrderItem.
@@ -58,4 +62,38 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
      */
     @Query("SELECT COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi JOIN oi.order o WHERE oi.product.id = :productId AND o.status = 'APROVADO'")
     Long countSoldUnitsByProductId(@Param("productId") Long productId);
-}
\ No newline at end of file
+
+    /**
+     * Unidades vendidas (pedidos APROVADO) de todos os produtos, numa única agregação.
+     * Usada como peso do autocomplete.
+     *
+     * @return linhas [productId, soma das quantidades]
+     */
+    @Query("SELECT oi.product.id, SUM(oi.quantity) FROM OrderItem oi JOIN oi.order o WHERE o.status = 'APROVADO' GROUP BY oi.product.id")
+    List<Object[]> sumSoldUnitsByProduct();
+
+    /**
+     * Itens de pedidos APROVADO pagos antes de um instante, agrupados por pedido (cestas de compra).
+     * Precisa ser consumido dentro de uma transação e fechado (try-with-resources).
+     *
+     * @param until pagamentos anteriores a este instante
+     * @return linhas [orderId, productId] ordenadas por pedido
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT oi.order.id, oi.product.id FROM OrderItem oi JOIN oi.order o " +
+            "WHERE o.status = 'APROVADO' AND (o.paymentDate IS NULL OR o.paymentDate < :until) ORDER BY oi.order.id")
+    Stream<Object[]> streamApprovedBasketItems(@Param("until") LocalDateTime until);
+
+    /**
+     * Vendas aprovadas num período, para carregar o ranking de mais vendidos em memória.
+     * Precisa ser consumido dentro de uma transação e fechado (try-with-resources).
+     *
+     * @param from  pagamentos a partir deste instante
+     * @param until pagamentos anteriores a este instante
+     * @return linhas [orderId, productId, categoryId, paymentDate, quantity]
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT o.id, p.id, p.category.id, o.paymentDate, oi.quantity FROM OrderItem oi JOIN oi.order o JOIN oi.product p " +
+            "WHERE o.status = 'APROVADO' AND o.paymentDate >= :from AND o.paymentDate < :until")
+    Stream<Object[]> streamApprovedSales(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+}
@@ -1,5 +1,6 @@
 package com.danrley.ecommerce.orders.repository;
 
+import com.danrley.ecommerce.orders.dto.OrderVersion;
 import com.danrley.ecommerce.orders.entity.Order;
 import com.danrley.ecommerce.shared.enums.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository para operações de acesso a dados da entidade Order.
@@ -90,4 +92,13 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query("SELECT o FROM Order o WHERE o.userId = :userId AND o.status = 'APROVADO' ORDER BY o.paymentDate DESC")
     List<Order> findApprovedOrdersByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Consulta leve de versão (sem itens) para ETag / If-None-Match.
+     *
+     * @param id ID do pedido
+     * @return id, dono e updatedAt
+     */
+    @Query("SELECT new com.danrley.ecommerce.orders.dto.OrderVersion(o.id, o.userId, o.updatedAt) FROM Order o WHERE o.id = :id")
+    Optional<OrderVersion> findVersionById(@Param("id") Long id);
+}
@@ -4,6 +4,7 @@ import com.danrley.ecommerce.orders.entity.Order;
 import com.danrley.ecommerce.orders.entity.OrderItem;
 import com.danrley.ecommerce.orders.repository.OrderRepository;
 import com.danrley.ecommerce.products.entity.Product;
+import com.danrley.ecommerce.products.event.ProductEventPublisher;
 import com.danrley.ecommerce.products.repository.ProductRepository;
 import com.danrley.ecommerce.shared.enums.OrderStatus;
 import lombok.RequiredArgsConstructor;
@@ -92,6 +93,7 @@ public class OrderExpirationScheduler {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final ProductEventPublisher productEventPublisher;
 
     /**
      * Expira pedidos pendentes que ultrapassaram o TTL.
@@ -227,6 +229,7 @@ public class OrderExpirationScheduler {
 
             product.setReservedQuantity(newReserved);
             productRepository.save(product);
+            productEventPublisher.stockChanged(product);
 
             log.debug("Reserva liberada: productId={}, quantity={}, reservedBefore={}, reservedAfter={}",
                     product.getId(), item.getQuantity(), currentReserved, newReserved);
@@ -2,11 +2,13 @@ package com.danrley.ecommerce.orders.service;
 
 import com.danrley.ecommerce.orders.dto.CreateOrderRequest;
 import com.danrley.ecommerce.orders.dto.OrderResponse;
+import com.danrley.ecommerce.orders.dto.OrderVersion;
 import com.danrley.ecommerce.orders.entity.Order;
 import com.danrley.ecommerce.orders.entity.OrderItem;
 import com.danrley.ecommerce.orders.mapper.OrderMapper;
 import com.danrley.ecommerce.orders.repository.OrderRepository;
 import com.danrley.ecommerce.products.entity.Product;
+import com.danrley.ecommerce.products.event.ProductEventPublisher;
 import com.danrley.ecommerce.products.service.ProductService;
 import com.danrley.ecommerce.shared.enums.OrderStatus;
 import com.danrley.ecommerce.shared.exception.InsufficientStockException;
@@ -71,6 +73,7 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ProductService productService; // Alterado de ProductRepository para ProductService
     private final OrderMapper orderMapper;
+    private final ProductEventPublisher productEventPublisher;
 
     /**
      * TTL da reserva de estoque em minutos.
@@ -177,6 +180,20 @@ public class OrderService {
         return orderMapper.toResponse(order);
     }
 
+    /**
+     * Busca apenas a versão do pedido (dono + updatedAt), sem carregar itens.
+     * Usado para responder requisições condicionais (If-None-Match) sem montar o corpo.
+     *
+     * @param orderId ID do pedido
+     * @return versão do pedido
+     * @throws ResourceNotFoundException se pedido não existir
+     */
+    @Transactional(readOnly = true)
+    public OrderVersion getOrderVersion(Long orderId) {
+        return orderRepository.findVersionById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+    }
+
     /**
      * Lista todos os pedidos de um usuário.
      *
@@ -336,6 +353,7 @@ public class OrderService {
 
             int newReservedQuantity = product.getReservedQuantity() + item.getQuantity();
             product.setReservedQuantity(newReservedQuantity);
+            productEventPublisher.stockChanged(product);
 
             log.debug("Estoque a ser reservado: productId={}, quantity={}, newReserved={}",
                     product.getId(), item.getQuantity(), newReservedQuantity);
@@ -393,6 +411,7 @@ public class OrderService {
 
             int newReservedQuantity = product.getReservedQuantity() - item.getQuantity();
             product.setReservedQuantity(Math.max(0, newReservedQuantity)); // Garantir >= 0
+            productEventPublisher.stockChanged(product);
 
             log.debug("Reserva a ser liberada: productId={}, quantity={}, newReserved={}",
                     product.getId(), item.getQuantity(), newReservedQuantity);
@@ -2,6 +2,7 @@ package com.danrley.ecommerce.orders.service;
 
 import com.danrley.ecommerce.orders.entity.Order;
 import com.danrley.ecommerce.orders.entity.OrderItem;
+import com.danrley.ecommerce.orders.event.OrderApprovedEvent;
 import com.danrley.ecommerce.orders.repository.OrderRepository;
 import com.danrley.ecommerce.products.entity.Product;
 import com.danrley.ecommerce.products.repository.ProductRepository;
@@ -12,6 +13,7 @@ import com.danrley.ecommerce.shared.exception.InvalidOrderStatusException;
 import com.danrley.ecommerce.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,6 +44,7 @@ import java.time.LocalDateTime;
  *   <li>Baixar estoque definitivamente (stock_quantity -= quantity)</li>
  *   <li>Liberar reserva (reserved_quantity -= quantity)</li>
  *   <li>Atualizar Order: status → APROVADO, paymentDate = NOW</li>
+ *   <li>Publicar {@link OrderApprovedEvent} (aplicado pelos índices de vendas após o commit)</li>
  * </ol>
  *
  * <p><strong>Isolamento de Transação:</strong></p>
@@ -58,6 +61,7 @@ public class PaymentService {
 
     private final OrderRepository orderRepository;
     private final ProductService productService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Processa pagamento de um pedido com locks pessimistas.
@@ -138,6 +142,11 @@ public class PaymentService {
         order.setReservedUntil(null); // Limpar TTL
 
         orderRepository.save(order);
+        applicationEventPublisher.publishEvent(new OrderApprovedEvent(orderId, order.getPaymentDate(),
+                order.getItems().stream()
+                        .map(item -> new OrderApprovedEvent.Item(item.getProduct().getId(),
+                                item.getProduct().getCategory().getId(), item.getQuantity()))
+                        .toList()));
 
         log.info("Pagamento processado com sucesso: orderId={}, totalAmount={}",
                 orderId, order.getTotalAmount());
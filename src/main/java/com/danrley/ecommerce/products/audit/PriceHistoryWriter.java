@@ -0,0 +1,323 @@
+package com.danrley.ecommerce.products.audit;
+
+import com.danrley.ecommerce.products.entity.ProductPriceHistory;
+import com.danrley.ecommerce.products.repository.ProductPriceHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gravação dos registros de auditoria de preço (ADR-004) com modos configuráveis.
+ * <p>
+ * {@code catalog.price-history.mode}:
+ * <ul>
+ *   <li><strong>sync</strong> (padrão): {@code save()} na transação do produto (comportamento original)</li>
+ *   <li><strong>write-behind</strong>: após o commit, o registro vai para um buffer em memória limitado
+ *       e é gravado em JDBC batch por tamanho (batch-size) ou tempo (flush-interval-ms).
+ *       Tira o INSERT da transação do produto, mas registros no buffer se perdem se o processo cair;
+ *       com o buffer cheio, o registro é descartado (métrica {@code price_history.dropped})</li>
+ *   <li><strong>outbox</strong>: para quando durabilidade é obrigatória. Os registros da transação são
+ *       acumulados e gravados num único JDBC batch no {@code beforeCommit} da MESMA transação
+ *       (commit atômico com a mudança de preço, sem N inserts individuais)</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Métricas (Micrometer): {@code price_history.buffer.depth}, {@code price_history.flush.latency},
+ * {@code price_history.written}, {@code price_history.dropped}, {@code price_history.batches.failed}.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ * @see ProductPriceHistory
+ */
+@Slf4j
+@Component
+public class PriceHistoryWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_price_history (product_id, old_price, new_price, changed_by, changed_at, reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum Mode {
+        SYNC, WRITE_BEHIND, OUTBOX
+    }
+
+    private final ProductPriceHistoryRepository productPriceHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TaskExecutor taskExecutor;
+    private final Mode mode;
+    private final int batchSize;
+    private final BlockingQueue<ProductPriceHistory> buffer;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object bufferMonitor = new Object();
+    private List<ProductPriceHistory> inFlight = List.of(); // lote drenado ainda não gravado (guardado por bufferMonitor)
+
+    private final Timer flushLatency;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failedBatches;
+
+    public PriceHistoryWriter(ProductPriceHistoryRepository productPriceHistoryRepository,
+                              JdbcTemplate jdbcTemplate,
+                              ApplicationEventPublisher applicationEventPublisher,
+                              @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${catalog.price-history.mode:sync}") String mode,
+                              @Value("${catalog.price-history.buffer-capacity:10000}") int bufferCapacity,
+                              @Value("${catalog.price-history.batch-size:500}") int batchSize) {
+        this.productPriceHistoryRepository = productPriceHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.taskExecutor = taskExecutor;
+        this.mode = Mode.valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.batchSize = batchSize;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        Gauge.builder("price_history.buffer.depth", buffer, BlockingQueue::size)
+                .description("Registros de histórico de preço aguardando gravação")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("price_history.flush.latency")
+                .description("Tempo de gravação de um lote de histórico de preço")
+                .register(meterRegistry);
+        this.written = meterRegistry.counter("price_history.written");
+        this.dropped = meterRegistry.counter("price_history.dropped");
+        this.failedBatches = meterRegistry.counter("price_history.batches.failed");
+
+        log.info("Histórico de preços em modo {}", this.mode);
+    }
+
+    /**
+     * Registra uma mudança de preço conforme o modo configurado.
+     * Deve ser chamado dentro da transação que altera o preço.
+     * <p>
+     * O registro também é publicado como evento (consumido após o commit pelas
+     * linhas do tempo de preço em memória). No write-behind o evento é publicado depois
+     * de agendar o enfileiramento: quando o evento é aplicado o registro já está no buffer
+     * (ver {@link #unflushed}).
+     * </p>
+     *
+     * @param history registro de auditoria
+     */
+    public void record(ProductPriceHistory history) {
+        switch (mode) {
+            case SYNC -> {
+                productPriceHistoryRepository.save(history);
+                written.increment();
+            }
+            case WRITE_BEHIND -> afterCommit(() -> enqueue(history));
+            case OUTBOX -> transactionBatch().add(history);
+        }
+        applicationEventPublisher.publishEvent(history);
+    }
+
+    /**
+     * Registra várias mudanças de preço da mesma transação (reajuste em massa).
+     * No modo sync os registros vão em JDBC batch (lotes de batch-size) em vez de um
+     * {@code save()} por registro; nos demais modos o comportamento é o de {@link #record}.
+     *
+     * @param histories registros de auditoria
+     */
+    public void recordAll(List<ProductPriceHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        switch (mode) {
+            case SYNC -> {
+                for (int from = 0; from < histories.size(); from += batchSize) {
+                    List<ProductPriceHistory> batch = histories.subList(from, Math.min(from + batchSize, histories.size()));
+                    Timer.Sample sample = Timer.start();
+                    insert(batch);
+                    sample.stop(flushLatency);
+                    written.increment(batch.size());
+                }
+            }
+            case WRITE_BEHIND -> afterCommit(() -> histories.forEach(this::enqueue));
+            case OUTBOX -> transactionBatch().addAll(histories);
+        }
+        histories.forEach(applicationEventPublisher::publishEvent);
+    }
+
+    /**
+     * Registros confirmados mas ainda não gravados no banco (write-behind): no buffer ou no
+     * lote sendo gravado. Quem lê o histórico do banco deve chamar ANTES da consulta - um
+     * registro que sai daqui nesse meio tempo já estará no banco.
+     *
+     * @param productIds produtos de interesse
+     * @return registros pendentes dos produtos (vazio fora do modo write-behind)
+     */
+    public List<ProductPriceHistory> unflushed(Collection<Long> productIds) {
+        if (mode != Mode.WRITE_BEHIND) {
+            return List.of();
+        }
+        synchronized (bufferMonitor) {
+            List<ProductPriceHistory> pending = new ArrayList<>();
+            for (ProductPriceHistory history : buffer) {
+                if (productIds.contains(history.getProductId())) {
+                    pending.add(history);
+                }
+            }
+            for (ProductPriceHistory history : inFlight) {
+                if (productIds.contains(history.getProductId())) {
+                    pending.add(history);
+                }
+            }
+            return pending;
+        }
+    }
+
+    /**
+     * Flush por tempo (write-behind).
+     */
+    @Scheduled(fixedDelayString = "${catalog.price-history.flush-interval-ms:1000}")
+    public void flushPeriodically() {
+        if (mode == Mode.WRITE_BEHIND && !buffer.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Esvazia o buffer no desligamento da aplicação.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (mode == Mode.WRITE_BEHIND) {
+            flush();
+        }
+    }
+
+    /**
+     * Grava o conteúdo do buffer em lotes de batch-size. Só um flush roda por vez.
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            while (true) {
+                List<ProductPriceHistory> batch = new ArrayList<>(batchSize);
+                synchronized (bufferMonitor) {
+                    if (buffer.drainTo(batch, batchSize) == 0) {
+                        break;
+                    }
+                    inFlight = batch;
+                }
+                writeBatch(batch);
+            }
+        } finally {
+            synchronized (bufferMonitor) {
+                inFlight = List.of();
+            }
+            flushLock.unlock();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void enqueue(ProductPriceHistory history) {
+        if (!buffer.offer(history)) {
+            dropped.increment();
+            log.error("Buffer de histórico de preço cheio, registro descartado: productId={}, oldPrice={}, newPrice={}, changedBy={}",
+                    history.getProductId(), history.getOldPrice(), history.getNewPrice(), history.getChangedBy());
+            return;
+        }
+        if (buffer.size() >= batchSize && !flushLock.isLocked()) {
+            taskExecutor.execute(this::flush);
+        }
+    }
+
+    private void writeBatch(List<ProductPriceHistory> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            insert(batch);
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            failedBatches.increment();
+            log.error("Falha ao gravar lote de histórico de preço ({} registros): {}",
+                    batch.size(), e.getMostSpecificCause().getMessage());
+            batch.forEach(h -> log.error("Histórico de preço não gravado: productId={}, oldPrice={}, newPrice={}, changedBy={}, changedAt={}",
+                    h.getProductId(), h.getOldPrice(), h.getNewPrice(), h.getChangedBy(), h.getChangedAt()));
+        } finally {
+            sample.stop(flushLatency);
+        }
+    }
+
+    private void insert(List<ProductPriceHistory> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, h) -> {
+            ps.setLong(1, h.getProductId());
+            ps.setBigDecimal(2, h.getOldPrice());
+            ps.setBigDecimal(3, h.getNewPrice());
+            ps.setString(4, h.getChangedBy());
+            ps.setTimestamp(5, Timestamp.valueOf(h.getChangedAt()));
+            ps.setString(6, h.getReason());
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Lote da transação corrente (modo outbox), gravado no beforeCommit.
+     */
+    @SuppressWarnings("unchecked")
+    private List<ProductPriceHistory> transactionBatch() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Histórico de preço em modo outbox exige transação ativa");
+        }
+        List<ProductPriceHistory> batch = (List<ProductPriceHistory>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            List<ProductPriceHistory> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!pending.isEmpty()) {
+                        Timer.Sample sample = Timer.start();
+                        insert(pending);
+                        sample.stop(flushLatency);
+                        written.increment(pending.size());
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PriceHistoryWriter.this);
+                }
+            });
+            batch = pending;
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,305 @@
+package com.danrley.ecommerce.products.cache;
+
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.shared.reference.ReferenceDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache dos bytes finais das respostas GET públicas de produtos.
+ * <p>
+ * Mesmo com os dados em cache, cada hit em {@code GET /api/products/{id}} ainda passa por
+ * controller, Jackson e (se houver) compressão. Aqui o corpo JSON já serializado é guardado
+ * junto com uma variante gzip pré-comprimida, e um hit escreve os bytes direto no output
+ * stream do servlet, sem chegar ao DispatcherServlet.
+ * </p>
+ * <p>
+ * <strong>Chave:</strong> URL (path + query string); a variante servida depende do
+ * {@code Accept-Encoding} (gzip ou identidade, com {@code Vary: Accept-Encoding}).
+ * {@code If-None-Match} igual ao ETag guardado responde 304.
+ * Endpoints: listagem, {@code /{id}}, {@code /facets} e {@code /autocomplete}. Só respostas
+ * 200 JSON são guardadas.
+ * </p>
+ * <p>
+ * <strong>Invalidação</strong> (após o commit):
+ * <ul>
+ *   <li>{@link ProductChangedEvent} (inclusive estoque e importação): remove o {@code /{id}} do produto e
+ *       invalida todas as respostas de coleção (listagens/facetas/autocomplete)</li>
+ *   <li>{@link ReferenceDataChangedEvent} (categoria/fornecedor embutidos na resposta): limpa tudo</li>
+ *   <li>{@code catalog.response-cache.ttl-ms}: limite de validade para mudanças sem evento
+ *       (correções direto no banco)</li>
+ * </ul>
+ * Uma geração global impede que uma resposta montada antes de uma invalidação seja guardada depois dela.
+ * As respostas de coleção guardam a geração em que foram montadas e só valem enquanto ela for a
+ * atual: invalidá-las é um incremento (O(1) no caminho dos pedidos, que publicam um evento de
+ * estoque por item); as antigas são removidas no acesso ou pelo LRU/TTL.
+ * </p>
+ * <p>
+ * <strong>Memória:</strong> limitada a {@code catalog.response-cache.max-bytes} (soma dos corpos,
+ * LRU aproximado do Caffeine). Com {@code off-heap: true} os corpos ficam em
+ * {@link ByteBuffer} diretos (fora do heap; limite da JVM em {@code -XX:MaxDirectMemorySize}).
+ * </p>
+ * <p>
+ * Métricas: {@code cache.gets{cache=product_responses,result=hit|miss}} e demais métricas do
+ * Caffeine, {@code response_cache.bytes} (ocupação) e {@code response_cache.bytes_saved}
+ * (bytes servidos do cache sem serializar).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Component
+public class ProductResponseCache extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE_PATH =
+            Pattern.compile("^/api/products(?:/(\\d+)|/facets|/autocomplete)?/?$");
+    private static final int MIN_GZIP_BYTES = 256;
+
+    private final boolean enabled;
+    private final boolean offHeap;
+    private final Cache<String, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter bytesSaved;
+
+    public ProductResponseCache(MeterRegistry meterRegistry,
+                                @Value("${catalog.response-cache.enabled:true}") boolean enabled,
+                                @Value("${catalog.response-cache.max-bytes:67108864}") long maxBytes,
+                                @Value("${catalog.response-cache.off-heap:false}") boolean offHeap,
+                                @Value("${catalog.response-cache.ttl-ms:300000}") long ttlMs) {
+        this.enabled = enabled;
+        this.offHeap = offHeap;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .weigher((String key, Entry entry) -> entry.weight(key))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product_responses");
+        Gauge.builder("response_cache.bytes", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Bytes ocupados pelas respostas de produtos em cache")
+                .register(meterRegistry);
+        this.bytesSaved = meterRegistry.counter("response_cache.bytes_saved");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || !CACHEABLE_PATH.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString()
+                : request.getRequestURI();
+        boolean acceptsGzip = acceptsGzip(request);
+
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.productId() != null || cached.generation() == generation.get()) {
+                serve(cached, request, response, acceptsGzip);
+                return;
+            }
+            cache.asMap().remove(key, cached); // coleção de uma geração anterior
+        }
+
+        long startGeneration = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        Entry entry = cacheable(wrapper) ? toEntry(key, wrapper, startGeneration) : null;
+        if (entry == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        if (generation.get() == startGeneration) {
+            cache.put(key, entry);
+            if (generation.get() != startGeneration) {
+                cache.invalidate(key);
+            }
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader("X-Cache", "MISS");
+        write(entry, response, acceptsGzip && entry.gzip() != null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet(); // invalida as coleções
+        cache.invalidate("/api/products/" + event.productId());
+        cache.invalidate("/api/products/" + event.productId() + "/");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void serve(Entry entry, HttpServletRequest request, HttpServletResponse response,
+                       boolean acceptsGzip) throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader("X-Cache", "HIT");
+        if (entry.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, entry.cacheControl());
+        }
+        if (entry.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.etag());
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && etagMatches(ifNoneMatch, entry.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        Body body = write(entry, response, acceptsGzip && entry.gzip() != null);
+        bytesSaved.increment(body.length());
+    }
+
+    private Body write(Entry entry, HttpServletResponse response, boolean gzip) throws IOException {
+        Body body = gzip ? entry.gzip() : entry.identity();
+        response.setContentType(entry.contentType());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length());
+        body.writeTo(response.getOutputStream());
+        return body;
+    }
+
+    private static boolean cacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && contentType != null
+                && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    private Entry toEntry(String key, ContentCachingResponseWrapper response, long generation) throws IOException {
+        byte[] json = response.getContentAsByteArray();
+        Matcher matcher = CACHEABLE_PATH.matcher(key.contains("?") ? key.substring(0, key.indexOf('?')) : key);
+        Long productId = matcher.matches() && matcher.group(1) != null ? Long.valueOf(matcher.group(1)) : null;
+        return new Entry(
+                productId,
+                generation,
+                response.getContentType(),
+                response.getHeader(HttpHeaders.ETAG),
+                response.getHeader(HttpHeaders.CACHE_CONTROL),
+                Body.of(json, offHeap),
+                json.length >= MIN_GZIP_BYTES ? Body.of(gzip(json), offHeap) : null
+        );
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        String bare = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)
+                    || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(bare)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resposta guardada: cabeçalhos relevantes + corpo identidade e gzip (null se pequeno demais).
+     *
+     * @param productId  ID do produto para {@code /{id}}; null para respostas de coleção
+     * @param generation geração em que foi montada (coleções só valem na geração atual)
+     */
+    private record Entry(Long productId, long generation, String contentType, String etag, String cacheControl,
+                         Body identity, Body gzip) {
+
+        int weight(String key) {
+            return key.length() * 2 + identity.length() + (gzip != null ? gzip.length() : 0);
+        }
+    }
+
+    /**
+     * Bytes do corpo no heap ou num {@link ByteBuffer} direto (off-heap).
+     */
+    private record Body(byte[] heap, ByteBuffer direct) {
+
+        static Body of(byte[] data, boolean offHeap) {
+            if (!offHeap) {
+                return new Body(data, null);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+            buffer.put(data).flip();
+            return new Body(null, buffer.asReadOnlyBuffer());
+        }
+
+        int length() {
+            return heap != null ? heap.length : direct.remaining();
+        }
+
+        void writeTo(ServletOutputStream out) throws IOException {
+            if (heap != null) {
+                out.write(heap);
+                return;
+            }
+            ByteBuffer view = direct.duplicate();
+            byte[] chunk = new byte[Math.min(8192, view.remaining())];
+            while (view.hasRemaining()) {
+                int length = Math.min(chunk.length, view.remaining());
+                view.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+    }
+}
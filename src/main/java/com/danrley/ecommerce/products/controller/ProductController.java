@@ -1,28 +1,77 @@
 package com.danrley.ecommerce.products.controller;
 
+import com.danrley.ecommerce.products.dto.BestSellerResponse;
+import com.danrley.ecommerce.products.dto.FrequentlyBoughtTogetherResponse;
+import com.danrley.ecommerce.products.dto.MetadataFilter;
+import com.danrley.ecommerce.products.dto.MostViewedProductResponse;
+import com.danrley.ecommerce.products.dto.PriceAtRequest;
+import com.danrley.ecommerce.products.dto.PriceAtResponse;
+import com.danrley.ecommerce.products.dto.PriceHistoryFilterRequest;
+import com.danrley.ecommerce.products.dto.PriceHistoryPageResponse;
+import com.danrley.ecommerce.products.dto.PriceVolatilityResponse;
+import com.danrley.ecommerce.products.dto.ProductBatchRequest;
+import com.danrley.ecommerce.products.dto.ProductBatchResponse;
+import com.danrley.ecommerce.products.dto.ProductFacetResponse;
 import com.danrley.ecommerce.products.dto.ProductFilterRequest;
+import com.danrley.ecommerce.products.dto.ProductImportResponse;
 import com.danrley.ecommerce.products.dto.ProductRequest;
 import com.danrley.ecommerce.products.dto.ProductResponse;
+import com.danrley.ecommerce.products.dto.ProductSuggestionResponse;
+import com.danrley.ecommerce.products.dto.RepricingRequest;
+import com.danrley.ecommerce.products.dto.RepricingResponse;
+import com.danrley.ecommerce.products.dto.StockAdjustmentResponse;
+import com.danrley.ecommerce.products.feed.PartnerFeedFormat;
+import com.danrley.ecommerce.products.feed.PartnerFeedService;
+import com.danrley.ecommerce.products.popularity.SalesWindow;
+import com.danrley.ecommerce.products.popularity.ViewWindow;
+import com.danrley.ecommerce.products.service.BestSellerService;
+import com.danrley.ecommerce.products.service.ProductImportService;
+import com.danrley.ecommerce.products.service.ProductPriceHistoryService;
+import com.danrley.ecommerce.products.service.ProductRecommendationService;
+import com.danrley.ecommerce.products.service.ProductRepricingService;
 import com.danrley.ecommerce.products.service.ProductService;
+import com.danrley.ecommerce.products.service.ProductStockService;
+import com.danrley.ecommerce.products.service.ProductViewService;
+import com.danrley.ecommerce.products.stream.StockAvailabilityStream;
+import com.danrley.ecommerce.shared.json.JsonMergePatch;
+import com.danrley.ecommerce.shared.web.EntityTags;
+import com.danrley.ecommerce.shared.web.ZeroCopyFileSender;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Controller REST para gerenciamento de produtos.
  * <p>
  * Endpoints públicos (GET) não requerem autenticação.
- * Endpoints de escrita (POST/PUT/DELETE) requerem role ADMIN.
+ * Endpoints de escrita (POST/PUT/PATCH/DELETE) requerem role ADMIN.
  * </p>
  *
  * @author Danrley Brasil dos Santos
@@ -35,6 +84,15 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductStockService productStockService;
+    private final ProductRepricingService productRepricingService;
+    private final ProductPriceHistoryService productPriceHistoryService;
+    private final StockAvailabilityStream stockAvailabilityStream;
+    private final PartnerFeedService partnerFeedService;
+    private final ProductViewService productViewService;
+    private final ProductRecommendationService productRecommendationService;
+    private final BestSellerService bestSellerService;
 
     /**
      * Cria um novo produto.
@@ -55,44 +113,444 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Importação em massa via CSV (com cabeçalho). O arquivo é processado em streaming.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param body conteúdo CSV (UTF-8)
+     * @return relatório com linhas importadas e erros por linha (200 OK)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Importar produtos (CSV)",
+            description = "Importa produtos em massa a partir de CSV. Colunas: name, description, price, stockQuantity, " +
+                    "categoryId, supplierId, sku, active, metadata. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<ProductImportResponse> importCsv(InputStream body) {
+        return ResponseEntity.ok(productImportService.importCsv(body));
+    }
+
+    /**
+     * Importação em massa via NDJSON (um ProductRequest por linha).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param body conteúdo NDJSON (UTF-8)
+     * @return relatório com linhas importadas e erros por linha (200 OK)
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Importar produtos (NDJSON)",
+            description = "Importa produtos em massa a partir de NDJSON (um produto JSON por linha). Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<ProductImportResponse> importNdjson(InputStream body) {
+        return ResponseEntity.ok(productImportService.importNdjson(body));
+    }
+
+    /**
+     * Ajuste de estoque em massa (sincronização com o WMS).
+     * Cada linha é aplicada com UPDATE atômico (delta ou absoluto), respeitando o estoque reservado.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param body array JSON ou NDJSON de ajustes (id/sku, delta/quantity, reason)
+     * @return resultado por linha (200 OK)
+     */
+    @PostMapping(value = "/stock/adjustments", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Ajustar estoque em massa",
+            description = "Aplica ajustes de estoque (delta ou absoluto) por id ou SKU, sem sobrescrever reservas. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<StockAdjustmentResponse> adjustStock(InputStream body) {
+        return ResponseEntity.ok(productStockService.adjust(body));
+    }
+
+    /**
+     * Reajuste de preços em massa por categoria, fornecedor e/ou IDs.
+     * Aplicado em lotes com UPDATE por conjunto e histórico de preço em JDBC batch.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param request seletor, regra, arredondamento, motivo e dryRun
+     * @return impacto do reajuste (200 OK)
+     */
+    @PostMapping("/prices/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Reajustar preços em massa",
+            description = "Aplica uma regra (percentual, absoluta ou preço fixo, com arredondamento) aos produtos ativos " +
+                    "da categoria/fornecedor/IDs. Com dryRun=true apenas reporta o impacto. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<RepricingResponse> reprice(@Valid @RequestBody RepricingRequest request) {
+        return ResponseEntity.ok(productRepricingService.reprice(request));
+    }
+
     /**
      * Busca produto por ID.
      * PERMISSÃO: Público (sem autenticação)
+     * <p>
+     * Suporta GET condicional: com {@code If-None-Match} igual ao ETag atual,
+     * responde 304 após uma consulta leve de versão, sem carregar nem serializar o produto.
+     * </p>
      *
      * @param id ID do produto
-     * @return produto encontrado (200 OK)
+     * @param webRequest requisição (If-None-Match)
+     * @return produto encontrado (200 OK) ou 304 NOT MODIFIED
      */
     @GetMapping("/{id}")
     @Operation(
             summary = "Buscar produto por ID",
-            description = "Retorna os detalhes de um produto específico. Acesso público."
+            description = "Retorna os detalhes de um produto específico. Suporta ETag/If-None-Match. Acesso público."
     )
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        // Antes do corpo: se mudar entre as duas leituras, o ETag fica mais antigo que o corpo (nunca o contrário)
+        String etag = productService.getProductETag(id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null && webRequest.checkNotModified(etag)) {
+            return null; // 304 já configurado pelo checkNotModified
+        }
         ProductResponse response = productService.getProductById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Busca vários produtos por ID e/ou SKU numa única chamada (carrinho, wishlist).
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param request IDs e/ou SKUs (até 500 chaves)
+     * @return um resultado por chave, na ordem da requisição, com found = false para inexistentes (200 OK)
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Buscar produtos em lote",
+            description = "Retorna os produtos dos IDs e/ou SKUs informados na ordem da requisição (IDs, depois SKUs), " +
+                    "marcando os não encontrados. Acesso público."
+    )
+    public ResponseEntity<ProductBatchResponse> getProductsBatch(@Valid @RequestBody ProductBatchRequest request) {
+        return ResponseEntity.ok(productService.getProductsBatch(request));
     }
 
     /**
      * Lista produtos com filtros e paginação.
      * PERMISSÃO: Público (sem autenticação)
      *
+     * Resposta com weak ETag (max updatedAt da página e de categorias/fornecedores): com If-None-Match igual,
+     * responde 304 sem serializar a página.
+     *
      * @param filters filtros opcionais (query params)
      * @param pageable paginação (page, size, sort)
-     * @return página de produtos (200 OK)
+     * @return página de produtos (200 OK) ou 304 NOT MODIFIED
      */
     @GetMapping
     @Operation(
             summary = "Listar produtos",
-            description = "Lista produtos com filtros opcionais e paginação. Acesso público."
+            description = "Lista produtos com filtros opcionais e paginação. Filtros de metadata: metadata.<chave>=valor, " +
+                    "metadata.<chave>.min / .max (numérico). Disponibilidade: inStock=true|false, minAvailable=N e " +
+                    "sort=availableQuantity,desc. Suporta ETag/If-None-Match. Acesso público."
     )
     public ResponseEntity<Page<ProductResponse>> getAllProducts(
             @ParameterObject ProductFilterRequest filters,
-            @ParameterObject @PageableDefault(size = 20, sort = "name") Pageable pageable
+            @ParameterObject @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            @Parameter(hidden = true) @RequestParam Map<String, String> params
     ) {
+        filters.setMetadataFilters(MetadataFilter.fromQueryParams(params));
         Page<ProductResponse> response = productService.getAllProducts(filters, pageable);
+        String etag = EntityTags.weak("products", response.getContent(),
+                ProductResponse::getId, ProductResponse::getUpdatedAt,
+                response.getTotalElements(), response.getNumber(), response.getSize(),
+                productService.getReferenceDataLastModified());
+        return ResponseEntity.ok()
+                .eTag(etag) // 304 automático do Spring se If-None-Match bater
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Contagens de facetas para os filtros informados.
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param filters filtros opcionais (query params)
+     * @return contagens por categoria, fornecedor, faixa de preço e estoque (200 OK)
+     */
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Facetas do catálogo",
+            description = "Retorna contagens por categoria, fornecedor, faixa de preço e estoque para os filtros. Acesso público."
+    )
+    public ResponseEntity<ProductFacetResponse> getFacets(
+            @ParameterObject ProductFilterRequest filters,
+            @Parameter(hidden = true) @RequestParam Map<String, String> params
+    ) {
+        filters.setMetadataFilters(MetadataFilter.fromQueryParams(params));
+        ProductFacetResponse response = productService.getFacets(filters);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Autocomplete de nomes de produto.
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param q     prefixo digitado (ex: "mou", "gamer")
+     * @param limit máximo de sugestões (1..20)
+     * @return sugestões ordenadas por unidades vendidas (200 OK)
+     */
+    @GetMapping("/autocomplete")
+    @Operation(
+            summary = "Autocomplete de produtos",
+            description = "Sugere produtos ativos cujo nome tem uma palavra começando com o prefixo (sem diferenciar " +
+                    "acentos/maiúsculas), ordenados por unidades vendidas. Acesso público."
+    )
+    public ResponseEntity<List<ProductSuggestionResponse>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productService.autocomplete(q, limit));
+    }
+
+    /**
+     * Feed do catálogo para parceiros (arquivo gzip gerado em background).
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param format ndjson ou csv
+     * @throws IOException falha ao enviar o arquivo
+     */
+    @GetMapping("/feed.{format}")
+    @Operation(
+            summary = "Feed do catálogo para parceiros",
+            description = "Todos os produtos ativos num arquivo gzip (NDJSON ou CSV), atualizado incrementalmente " +
+                    "em background. Suporta ETag (If-None-Match) e Range para retomar downloads. Acesso público."
+    )
+    public void downloadFeed(@PathVariable String format, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        PartnerFeedFormat feedFormat = PartnerFeedFormat.fromExtension(format);
+        PartnerFeedService.FeedFile feed = partnerFeedService.current(feedFormat);
+        ZeroCopyFileSender.send(feed.path(), feed.length(), feed.etag(), feed.lastModified(), "application/gzip",
+                "products." + feedFormat.extension() + ".gz", request, response);
+    }
+
+    /**
+     * Stream SSE de disponibilidade de estoque dos produtos informados.
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param ids IDs dos produtos (ex: ids=1,2,3)
+     * @return stream text/event-stream com eventos "availability"
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream de disponibilidade",
+            description = "Server-Sent Events com a quantidade disponível dos produtos assinados: estado atual e " +
+                    "cada mudança de reserva/pagamento/cancelamento/expiração (agrupadas por janela). Acesso público."
+    )
+    public SseEmitter streamAvailability(@RequestParam Set<Long> ids) {
+        return stockAvailabilityStream.subscribe(ids);
+    }
+
+    /**
+     * Preço vigente de um produto num instante (suporte / disputas).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param id ID do produto
+     * @param at instante (ISO, ex: 2025-10-01T14:30:00)
+     * @return preço vigente em {@code at} (200 OK)
+     */
+    @GetMapping("/{id}/price")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Preço em um instante",
+            description = "Retorna o preço vigente do produto no instante informado. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<PriceAtResponse> getPriceAt(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return ResponseEntity.ok(productService.getPriceAt(id, at));
+    }
+
+    /**
+     * Preços vigentes para vários pares (produto, instante).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param requests pares (productId, at)
+     * @return preços na mesma ordem da requisição (200 OK)
+     */
+    @PostMapping("/prices/as-of")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Preços em instantes (lote)",
+            description = "Retorna o preço vigente para cada par (produto, instante), na ordem recebida. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<List<PriceAtResponse>> getPricesAt(@Valid @RequestBody List<@Valid PriceAtRequest> requests) {
+        return ResponseEntity.ok(productService.getPricesAt(requests));
+    }
+
+    /**
+     * Histórico de mudanças de preço, paginado por cursor.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param filters filtros opcionais, cursor e tamanho da página
+     * @return página de mudanças (mais recentes primeiro) e cursor da próxima (200 OK)
+     */
+    @GetMapping("/prices/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Histórico de preços",
+            description = "Mudanças de preço mais recentes primeiro, com filtros por produto, período, usuário, " +
+                    "aumento/redução e palavras do motivo. Para a próxima página, envie o nextCursor recebido " +
+                    "em cursor. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<PriceHistoryPageResponse> getPriceHistory(@ParameterObject PriceHistoryFilterRequest filters) {
+        return ResponseEntity.ok(productPriceHistoryService.findHistory(filters));
+    }
+
+    /**
+     * Exporta o histórico de preços em NDJSON (intervalos grandes).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param filters filtros opcionais (size é ignorado)
+     * @throws IOException falha ao escrever a resposta
+     */
+    @GetMapping(value = "/prices/history/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Exportar histórico de preços",
+            description = "Todas as mudanças que atendem aos filtros, uma por linha (NDJSON), escritas à medida " +
+                    "que são lidas. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public void exportPriceHistory(@ParameterObject PriceHistoryFilterRequest filters,
+                                   HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"price-history.ndjson\"");
+        productPriceHistoryService.export(filters, response.getOutputStream());
+    }
+
+    /**
+     * Produtos com mais mudanças de preço num período.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param from       início do período (ISO)
+     * @param to         fim do período (ISO, exclusivo)
+     * @param minChanges mínimo de mudanças (padrão 2)
+     * @param limit      máximo de produtos
+     * @return produtos mais voláteis primeiro (200 OK)
+     */
+    @GetMapping("/prices/volatility")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Volatilidade de preço",
+            description = "Produtos com pelo menos minChanges mudanças de preço no período, mais voláteis primeiro. " +
+                    "Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<List<PriceVolatilityResponse>> getPriceVolatility(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "2") long minChanges,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(productPriceHistoryService.findHighVolatility(from, to, minChanges, limit));
+    }
+
+    /**
+     * Produtos mais vistos na última hora ou no último dia.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param window HOUR ou DAY (padrão HOUR)
+     * @param limit  máximo de produtos (padrão e teto: catalog.views.top-k)
+     * @return mais vistos primeiro, com visualizações estimadas (200 OK)
+     */
+    @GetMapping("/views/top")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Produtos mais vistos",
+            description = "Ranking de GET /api/products/{id} na janela deslizante (HOUR = última hora, DAY = " +
+                    "último dia). Contagens estimadas em memória (Count-Min Sketch), nunca abaixo do real. " +
+                    "Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<List<MostViewedProductResponse>> getMostViewedProducts(
+            @RequestParam(defaultValue = "HOUR") ViewWindow window,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(productViewService.getMostViewed(window, limit));
+    }
+
+    /**
+     * Produtos mais vendidos nas últimas 24 horas, 7 dias ou 30 dias.
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param window     DAY, WEEK ou MONTH (padrão DAY)
+     * @param categoryId categoria (opcional; sem ela, ranking geral)
+     * @param limit      máximo de produtos (padrão e teto: catalog.best-sellers.top-k)
+     * @return mais vendidos primeiro, com unidades vendidas na janela (200 OK)
+     */
+    @GetMapping("/best-sellers")
+    @Operation(
+            summary = "Produtos mais vendidos",
+            description = "Ranking de unidades vendidas em pedidos aprovados na janela deslizante (DAY = 24h, " +
+                    "WEEK = 7 dias, MONTH = 30 dias), geral ou por categoria. Servido de contadores em memória " +
+                    "atualizados a cada aprovação de pagamento. Acesso público."
+    )
+    public ResponseEntity<List<BestSellerResponse>> getBestSellers(
+            @RequestParam(defaultValue = "DAY") SalesWindow window,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(bestSellerService.getBestSellers(window, categoryId, limit));
+    }
+
+    /**
+     * Produtos frequentemente comprados junto com o produto informado.
+     * PERMISSÃO: Público (sem autenticação)
+     *
+     * @param id    ID do produto
+     * @param limit máximo de produtos (padrão e teto: catalog.recommendations.neighbours)
+     * @return mais comprados junto primeiro (200 OK); lista vazia se não houver pares suficientes
+     */
+    @GetMapping("/{id}/frequently-bought-together")
+    @Operation(
+            summary = "Comprados juntos",
+            description = "Produtos que mais aparecem nos mesmos pedidos aprovados, servidos de um índice em memória " +
+                    "atualizado a cada aprovação de pagamento. Acesso público."
+    )
+    public ResponseEntity<List<FrequentlyBoughtTogetherResponse>> getFrequentlyBoughtTogether(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(productRecommendationService.getFrequentlyBoughtTogether(id, limit));
+    }
+
+    /**
+     * Histórico de mudanças de preço de um produto, paginado por cursor.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param id      ID do produto
+     * @param filters filtros opcionais, cursor e tamanho da página
+     * @return página de mudanças do produto (200 OK)
+     */
+    @GetMapping("/{id}/price-history")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Histórico de preços do produto",
+            description = "Mudanças de preço do produto, mais recentes primeiro, paginadas por cursor. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<PriceHistoryPageResponse> getProductPriceHistory(
+            @PathVariable Long id,
+            @ParameterObject PriceHistoryFilterRequest filters
+    ) {
+        return ResponseEntity.ok(productPriceHistoryService.findProductHistory(id, filters));
+    }
+
     /**
      * Atualiza um produto existente.
      * PERMISSÃO: ADMIN only
@@ -116,6 +574,30 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Atualiza parcialmente um produto (JSON Merge Patch).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param id    ID do produto
+     * @param patch campos a alterar (null remove: description, supplierId, sku, chaves de metadata)
+     * @return produto atualizado (200 OK)
+     */
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Atualizar produto parcialmente",
+            description = "JSON Merge Patch (RFC 7386): só os campos enviados são alterados e só as colunas que " +
+                    "mudaram vão para o UPDATE. metadata é mesclada chave a chave. Requer role ADMIN.",
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    public ResponseEntity<ProductResponse> patchProduct(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch
+    ) {
+        ProductResponse response = productService.patchProduct(id, patch);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Deleta um produto (SOFT DELETE).
      * PERMISSÃO: ADMIN only
@@ -0,0 +1,83 @@
+package com.danrley.ecommerce.products.controller;
+
+import com.danrley.ecommerce.products.dto.MetadataFilter;
+import com.danrley.ecommerce.products.dto.ProductFilterRequest;
+import com.danrley.ecommerce.products.dto.ProductResponse;
+import com.danrley.ecommerce.products.reactive.ReactiveProductReader;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Leitura não bloqueante do catálogo (opcional, {@code catalog.reactive.enabled}).
+ * <p>
+ * Mesmas respostas de {@code GET /api/products} e {@code GET /api/products/{id}}, mas via R2DBC
+ * ({@link ReactiveProductReader}). O {@link Mono} devolvido faz o Spring MVC liberar a thread do
+ * Tomcat enquanto a consulta está no banco (processamento assíncrono do Servlet); a thread só é
+ * ocupada de novo para serializar a resposta. Sem ETag e sem o cache de respostas do catálogo.
+ * </p>
+ * <p>
+ * PERMISSÃO: Público (sem autenticação)
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@RestController
+@RequestMapping("/api/reactive/products")
+@RequiredArgsConstructor
+@Tag(name = "Products (reativo)", description = "Leitura não bloqueante do catálogo (R2DBC)")
+public class ReactiveProductController {
+
+    private final ReactiveProductReader reactiveProductReader;
+
+    /**
+     * Busca produto por ID sem bloquear a thread da requisição.
+     *
+     * @param id ID do produto
+     * @return produto encontrado (200 OK)
+     */
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Buscar produto por ID (reativo)",
+            description = "Igual a GET /api/products/{id}, via R2DBC. Requer catalog.reactive.enabled. Acesso público."
+    )
+    public Mono<ProductResponse> getProductById(@PathVariable Long id) {
+        return reactiveProductReader.findById(id);
+    }
+
+    /**
+     * Lista produtos com filtros e paginação sem bloquear a thread da requisição.
+     *
+     * @param filters filtros opcionais (query params, sem filtros de metadata)
+     * @param pageable paginação (page, size, sort)
+     * @return página de produtos (200 OK)
+     */
+    @GetMapping
+    @Operation(
+            summary = "Listar produtos (reativo)",
+            description = "Igual a GET /api/products, via R2DBC, exceto filtros de metadata (UNSUPPORTED_FILTER). " +
+                    "Requer catalog.reactive.enabled. Acesso público."
+    )
+    public Mono<Page<ProductResponse>> getAllProducts(
+            @ParameterObject ProductFilterRequest filters,
+            @ParameterObject @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            @Parameter(hidden = true) @RequestParam Map<String, String> params
+    ) {
+        filters.setMetadataFilters(MetadataFilter.fromQueryParams(params));
+        return reactiveProductReader.findAll(filters, pageable);
+    }
+}
@@ -0,0 +1,36 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Produto do ranking de mais vendidos, com as unidades vendidas na janela.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestSellerResponse {
+
+    private Long productId;
+
+    private String name;
+
+    private String sku;
+
+    private Long categoryId;
+
+    private BigDecimal price;
+
+    /**
+     * Unidades vendidas em pedidos aprovados na janela.
+     */
+    private long unitsSold;
+}
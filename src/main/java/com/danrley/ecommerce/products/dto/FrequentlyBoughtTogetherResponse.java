@@ -0,0 +1,39 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Produto frequentemente comprado junto com outro, com o número de pedidos em comum.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrequentlyBoughtTogetherResponse {
+
+    private Long productId;
+
+    private String name;
+
+    private String sku;
+
+    private BigDecimal price;
+
+    /**
+     * Estoque disponível (estoque - reservado).
+     */
+    private Integer availableQuantity;
+
+    /**
+     * Pedidos aprovados com os dois produtos.
+     */
+    private int orders;
+}
@@ -0,0 +1,99 @@
+package com.danrley.ecommerce.products.dto;
+
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro sobre uma chave de {@code product.metadata}.
+ * <p>
+ * Formato nos query params:
+ * <ul>
+ *   <li>{@code metadata.brand=Logitech} - igualdade (case insensitive)</li>
+ *   <li>{@code metadata.dpi.min=800} / {@code metadata.dpi.max=16000} - faixa numérica (inclusiva)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetadataFilter {
+
+    public static final String PARAM_PREFIX = "metadata.";
+
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9_\\-]{1,64}");
+
+    private String key;
+
+    /**
+     * Valor exato (null = sem filtro de igualdade)
+     */
+    private String value;
+
+    private BigDecimal min;
+
+    private BigDecimal max;
+
+    public boolean isRange() {
+        return min != null || max != null;
+    }
+
+    /**
+     * Extrai os filtros de metadata dos query params da requisição.
+     *
+     * @param params todos os query params
+     * @return filtros (vazio se não houver params metadata.*)
+     * @throws BusinessException se a chave for inválida, min/max não for numérico ou min for maior que max
+     */
+    public static List<MetadataFilter> fromQueryParams(Map<String, String> params) {
+        Map<String, MetadataFilter> byKey = new LinkedHashMap<>();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            String name = param.getKey();
+            String value = param.getValue();
+            if (!name.startsWith(PARAM_PREFIX) || value == null || value.isBlank()) {
+                continue;
+            }
+            String key = name.substring(PARAM_PREFIX.length());
+            if (key.endsWith(".min")) {
+                filterFor(byKey, key.substring(0, key.length() - 4)).setMin(parseNumber(name, value));
+            } else if (key.endsWith(".max")) {
+                filterFor(byKey, key.substring(0, key.length() - 4)).setMax(parseNumber(name, value));
+            } else {
+                filterFor(byKey, key).setValue(value.trim());
+            }
+        }
+        for (MetadataFilter filter : byKey.values()) {
+            if (filter.getMin() != null && filter.getMax() != null && filter.getMin().compareTo(filter.getMax()) > 0) {
+                throw new BusinessException("Faixa inválida para " + PARAM_PREFIX + filter.getKey()
+                        + ": min maior que max", "INVALID_METADATA_FILTER");
+            }
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static MetadataFilter filterFor(Map<String, MetadataFilter> byKey, String key) {
+        if (!VALID_KEY.matcher(key).matches()) {
+            throw new BusinessException("Chave de metadata inválida: " + key, "INVALID_METADATA_FILTER");
+        }
+        return byKey.computeIfAbsent(key, k -> new MetadataFilter(k, null, null, null));
+    }
+
+    private static BigDecimal parseNumber(String name, String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Valor numérico inválido para " + name + ": " + value, "INVALID_METADATA_FILTER");
+        }
+    }
+}
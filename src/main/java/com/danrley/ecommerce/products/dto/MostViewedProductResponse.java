@@ -0,0 +1,32 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Produto do ranking de mais vistos, com visualizações estimadas na janela.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MostViewedProductResponse {
+
+    private Long productId;
+
+    private String name;
+
+    private String sku;
+
+    private Boolean active;
+
+    /**
+     * Estimativa do Count-Min Sketch (nunca abaixo do valor real).
+     */
+    private long views;
+}
@@ -0,0 +1,45 @@
+package com.danrley.ecommerce.products.dto;
+
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do feed de catálogo para parceiros (marketplaces, comparadores de preço).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartnerFeedItem {
+
+    private Long id;
+
+    private String sku;
+
+    private String name;
+
+    private String description;
+
+    private BigDecimal price;
+
+    private Integer availableQuantity;
+
+    private Boolean inStock;
+
+    private String category;
+
+    private String supplier;
+
+    private RawJsonMetadata metadata;
+
+    private LocalDateTime updatedAt;
+}
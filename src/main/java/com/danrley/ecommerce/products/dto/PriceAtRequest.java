@@ -0,0 +1,26 @@
+package com.danrley.ecommerce.products.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um par (produto, instante) na consulta de preço em lote.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAtRequest {
+
+    @NotNull(message = "Produto é obrigatório")
+    private Long productId;
+
+    @NotNull(message = "Instante é obrigatório")
+    private LocalDateTime at;
+}
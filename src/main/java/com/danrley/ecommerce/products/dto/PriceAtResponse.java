@@ -0,0 +1,41 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta da consulta "qual era o preço do produto em T?".
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAtResponse {
+
+    private Long productId;
+
+    private LocalDateTime at;
+
+    /**
+     * false se o produto não existe ou ainda não tinha sido criado em {@code at}
+     */
+    private boolean found;
+
+    /**
+     * Preço vigente em {@code at}
+     */
+    private BigDecimal price;
+
+    /**
+     * Desde quando o preço estava vigente (mudança de preço ou criação do produto)
+     */
+    private LocalDateTime validSince;
+}
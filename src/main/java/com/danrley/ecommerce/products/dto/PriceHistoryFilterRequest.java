@@ -0,0 +1,71 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para filtros da consulta de histórico de preços.
+ * Todos os campos são OPCIONAIS.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryFilterRequest {
+
+    /**
+     * Direção da mudança de preço.
+     */
+    public enum Direction {
+        INCREASE,
+        DECREASE
+    }
+
+    /**
+     * Filtro por produto
+     */
+    private Long productId;
+
+    /**
+     * Mudanças a partir deste instante (inclusivo)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /**
+     * Mudanças antes deste instante (exclusivo)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    /**
+     * Apenas aumentos ou apenas reduções
+     */
+    private Direction direction;
+
+    /**
+     * Usuário que alterou (email exato)
+     */
+    private String changedBy;
+
+    /**
+     * Palavras do motivo (busca full-text; todas as palavras devem aparecer, por prefixo)
+     */
+    private String reason;
+
+    /**
+     * Cursor devolvido em {@code nextCursor} pela página anterior
+     */
+    private String cursor;
+
+    /**
+     * Tamanho da página (limitado por catalog.price-history.max-page-size)
+     */
+    private Integer size;
+}
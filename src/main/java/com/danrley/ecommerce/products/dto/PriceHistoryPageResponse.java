@@ -0,0 +1,33 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do histórico de preços (mais recentes primeiro), paginada por cursor.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryPageResponse {
+
+    private List<PriceHistoryResponse> items;
+
+    /**
+     * Cursor da próxima página (null = última página)
+     */
+    private String nextCursor;
+
+    /**
+     * Tamanho de página efetivamente aplicado
+     */
+    private int size;
+}
@@ -0,0 +1,36 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta de uma mudança de preço.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryResponse {
+
+    private Long id;
+
+    private Long productId;
+
+    private BigDecimal oldPrice;
+
+    private BigDecimal newPrice;
+
+    private String changedBy;
+
+    private LocalDateTime changedAt;
+
+    private String reason;
+}
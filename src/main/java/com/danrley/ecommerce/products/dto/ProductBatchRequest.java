@@ -0,0 +1,38 @@
+package com.danrley.ecommerce.products.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de requisição da busca de produtos em lote (carrinho, wishlist).
+ * Aceita {@code ids} e/ou {@code skus}; a resposta segue a ordem da requisição
+ * (primeiro os IDs, depois os SKUs).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    public static final int MAX_KEYS = 500;
+
+    private List<@NotNull(message = "ID não pode ser nulo") Long> ids;
+
+    private List<@NotNull(message = "SKU não pode ser nulo") @Size(max = 50, message = "SKU deve ter no máximo 50 caracteres") String> skus;
+
+    @AssertTrue(message = "Informe de 1 a " + MAX_KEYS + " IDs/SKUs")
+    private boolean isSizeValid() {
+        int total = (ids != null ? ids.size() : 0) + (skus != null ? skus.size() : 0);
+        return total > 0 && total <= MAX_KEYS;
+    }
+}
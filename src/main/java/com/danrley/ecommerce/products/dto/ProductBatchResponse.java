@@ -0,0 +1,47 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da busca de produtos em lote: um resultado por chave da requisição,
+ * na mesma ordem, com {@code found = false} para chaves inexistentes.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    private int requested;
+
+    private int found;
+
+    private List<Result> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        /**
+         * ID solicitado (null se a chave foi um SKU)
+         */
+        private Long id;
+        /**
+         * SKU solicitado (null se a chave foi um ID)
+         */
+        private String sku;
+        private boolean found;
+        /**
+         * Produto (null quando found = false)
+         */
+        private ProductResponse product;
+    }
+}
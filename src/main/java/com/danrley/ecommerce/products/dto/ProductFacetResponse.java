@@ -0,0 +1,67 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de resposta com as contagens de facetas do catálogo para um conjunto de filtros.
+ * <p>
+ * As contagens de cada dimensão ignoram o filtro da própria dimensão
+ * (facetas disjuntivas), para que o front possa exibir as alternativas.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetResponse {
+
+    /**
+     * Total de produtos que atendem a TODOS os filtros
+     */
+    private long total;
+
+    /**
+     * Dos produtos filtrados, quantos têm estoque disponível
+     */
+    private long inStock;
+
+    /**
+     * Quantos produtos ativos existem com os demais filtros
+     */
+    private long active;
+
+    private List<FacetCount> categories;
+
+    private List<FacetCount> suppliers;
+
+    private List<PriceBandCount> priceBands;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private Long id;
+        private long count;
+    }
+
+    /**
+     * Faixa de preço [min, max). max = null indica faixa aberta.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBandCount {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+    }
+}
@@ -1,10 +1,12 @@
 package com.danrley.ecommerce.products.dto;
 
+import io.swagger.v3.oas.annotations.Parameter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * DTO para filtros de busca de produtos.
@@ -47,4 +49,21 @@ public class ProductFilterRequest {
      * Filtrar apenas ativos ou inativos
      */
     private Boolean active;
-}
\ No newline at end of file
+
+    /**
+     * true = apenas com estoque disponível (estoque - reservado > 0); false = apenas esgotados
+     */
+    private Boolean inStock;
+
+    /**
+     * Quantidade disponível mínima (estoque - reservado)
+     */
+    private Integer minAvailable;
+
+    /**
+     * Filtros por atributos de metadata (query params metadata.chave, metadata.chave.min/.max).
+     * Preenchido pelo controller a partir dos query params, ver {@link MetadataFilter}.
+     */
+    @Parameter(hidden = true)
+    private List<MetadataFilter> metadataFilters;
+}
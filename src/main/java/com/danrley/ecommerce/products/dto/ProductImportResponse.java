@@ -0,0 +1,58 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da importação em massa de produtos.
+ * Linhas com erro não interrompem a importação: são reportadas em {@code errors}.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+
+    /**
+     * Registros lidos (sem contar o cabeçalho do CSV)
+     */
+    private long totalRows;
+
+    private long imported;
+
+    private long failed;
+
+    private long durationMs;
+
+    /**
+     * true se houve mais erros do que o limite reportado (catalog.import.max-reported-errors)
+     */
+    private boolean errorsTruncated;
+
+    private List<RowError> errors;
+
+    /**
+     * Falha de leitura que interrompeu a importação (null = arquivo lido até o fim).
+     * As linhas anteriores a ela foram processadas normalmente.
+     */
+    private String readError;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        /**
+         * Linha do arquivo (1-based)
+         */
+        private long line;
+        private String sku;
+        private String message;
+    }
+}
@@ -1,5 +1,7 @@
 package com.danrley.ecommerce.products.dto;
 
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,7 +9,6 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Map;
 
 /**
  * DTO de resposta para produtos.
@@ -38,7 +39,12 @@ public class ProductResponse {
     private SupplierResponse supplier; // PODE SER NULL
     private String sku;
     private Boolean active;
-    private Map<String, Object> metadata;
+
+    /**
+     * JSON bruto do banco, escrito verbatim na resposta (sem Map intermediário).
+     */
+    @Schema(type = "object", example = "{\"brand\": \"Logitech\", \"dpi\": 8000}")
+    private RawJsonMetadata metadata;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,67 @@
+package com.danrley.ecommerce.products.dto;
+
+import com.danrley.ecommerce.products.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção enxuta de um produto (sem description/metadata).
+ * <p>
+ * Usada para carregar os índices em memória do catálogo no startup
+ * e como payload de {@link com.danrley.ecommerce.products.event.ProductChangedEvent},
+ * evitando que os listeners precisem voltar ao banco.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public record ProductSnapshot(
+        Long id,
+        String name,
+        String sku,
+        Long categoryId,
+        Long supplierId,
+        BigDecimal price,
+        int stockQuantity,
+        int reservedQuantity,
+        boolean active
+) {
+
+    /**
+     * Construtor usado pela projeção JPQL (colunas podem vir como wrapper).
+     */
+    public ProductSnapshot(Long id, String name, String sku, Long categoryId, Long supplierId,
+                           BigDecimal price, Integer stockQuantity, Integer reservedQuantity, Boolean active) {
+        this(id, name, sku, categoryId, supplierId, price,
+                stockQuantity != null ? stockQuantity : 0,
+                reservedQuantity != null ? reservedQuantity : 0,
+                Boolean.TRUE.equals(active));
+    }
+
+    /**
+     * Cria snapshot a partir da entidade (não inicializa proxies de category/supplier).
+     *
+     * @param product entidade
+     * @return snapshot
+     */
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(
+                product.getId(),
+                product.getName(),
+                product.getSku(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getSupplier() != null ? product.getSupplier().getId() : null,
+                product.getPrice(),
+                product.getStockQuantity(),
+                product.getReservedQuantity(),
+                product.getActive()
+        );
+    }
+
+    /**
+     * @return estoque disponível (stock - reserved)
+     */
+    public int availableQuantity() {
+        return stockQuantity - reservedQuantity;
+    }
+}
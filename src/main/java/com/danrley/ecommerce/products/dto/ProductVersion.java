@@ -0,0 +1,18 @@
+package com.danrley.ecommerce.products.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção mínima de um produto para requisições condicionais (ETag).
+ * Inclui a última alteração da categoria e do fornecedor, cujos dados vão embutidos na resposta.
+ *
+ * @param id                 ID do produto
+ * @param updatedAt          última alteração do produto
+ * @param categoryUpdatedAt  última alteração da categoria
+ * @param supplierUpdatedAt  última alteração do fornecedor (null se não houver)
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public record ProductVersion(Long id, LocalDateTime updatedAt, LocalDateTime categoryUpdatedAt,
+                             LocalDateTime supplierUpdatedAt) {
+}
@@ -0,0 +1,99 @@
+package com.danrley.ecommerce.products.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de requisição do reajuste de preços em massa (promoções sazonais, reajuste de fornecedor).
+ * <p>
+ * Seleciona os produtos ativos por {@code categoryId}, {@code supplierId} e/ou {@code ids}
+ * (combinados com AND) e aplica a mesma {@link Rule} a todos.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingRequest {
+
+    private Long categoryId;
+
+    private Long supplierId;
+
+    @Size(max = 10000, message = "Máximo de 10000 IDs por reajuste")
+    private List<Long> ids;
+
+    @Valid
+    @NotNull(message = "Regra de preço é obrigatória")
+    private Rule rule;
+
+    /**
+     * Arredondamento do preço calculado (padrão: centavos)
+     */
+    @Builder.Default
+    private Rounding rounding = Rounding.CENTS;
+
+    @NotBlank(message = "Motivo é obrigatório")
+    @Size(max = 255, message = "Motivo deve ter no máximo 255 caracteres")
+    private String reason;
+
+    /**
+     * true: apenas calcula o impacto, sem gravar nada
+     */
+    private boolean dryRun;
+
+    @AssertTrue(message = "Informe ao menos um seletor: categoryId, supplierId ou ids")
+    private boolean isSelectorValid() {
+        return categoryId != null || supplierId != null || (ids != null && !ids.isEmpty());
+    }
+
+    public enum RuleType {
+        /** Variação percentual (ex: -20 = 20% de desconto) */
+        PERCENTAGE,
+        /** Variação absoluta (ex: -10.00) */
+        ABSOLUTE,
+        /** Preço fixo */
+        SET
+    }
+
+    public enum Rounding {
+        /** 2 casas, HALF_UP */
+        CENTS,
+        /** Reais inteiros (ex: 89.60 → 90.00) */
+        WHOLE,
+        /** Inteiro mais próximo menos 0.01 (ex: 89.60 → 89.99) */
+        ENDING_99,
+        /** Inteiro mais próximo menos 0.10 (ex: 89.60 → 89.90) */
+        ENDING_90
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        @NotNull(message = "Tipo da regra é obrigatório")
+        private RuleType type;
+
+        @NotNull(message = "Valor da regra é obrigatório")
+        private BigDecimal value;
+
+        @AssertTrue(message = "Percentual deve ser maior que -100")
+        private boolean isPercentageValid() {
+            return type != RuleType.PERCENTAGE || value == null || value.compareTo(BigDecimal.valueOf(-100)) > 0;
+        }
+    }
+}
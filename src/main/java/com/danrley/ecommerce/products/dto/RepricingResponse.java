@@ -0,0 +1,69 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de resposta do reajuste de preços em massa (também usado no dry-run).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingResponse {
+
+    private boolean dryRun;
+
+    /**
+     * Produtos ativos que atendem ao seletor
+     */
+    private long matched;
+
+    /**
+     * Produtos com preço alterado (ou que seriam alterados, no dry-run)
+     */
+    private long changed;
+
+    /**
+     * Produtos cujo preço calculado é igual ao atual
+     */
+    private long unchanged;
+
+    /**
+     * Produtos cujo preço calculado ficaria fora da faixa válida (0.01 a 99999999.99)
+     */
+    private long rejected;
+
+    /**
+     * Soma dos preços atuais dos produtos alterados
+     */
+    private BigDecimal oldTotal;
+
+    /**
+     * Soma dos novos preços dos produtos alterados
+     */
+    private BigDecimal newTotal;
+
+    /**
+     * Primeiras mudanças (limitado a catalog.repricing.sample-size)
+     */
+    private List<PriceChange> sample;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceChange {
+        private Long id;
+        private String sku;
+        private BigDecimal oldPrice;
+        private BigDecimal newPrice;
+    }
+}
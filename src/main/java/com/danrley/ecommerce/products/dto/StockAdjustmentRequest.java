@@ -0,0 +1,55 @@
+package com.danrley.ecommerce.products.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de uma linha do ajuste de estoque em massa (sincronização com o WMS).
+ * <p>
+ * Identifica o produto por {@code id} OU {@code sku} e informa {@code delta}
+ * (incremento/decremento) OU {@code quantity} (contagem absoluta).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequest {
+
+    private Long id;
+
+    @Size(max = 50, message = "SKU deve ter no máximo 50 caracteres")
+    private String sku;
+
+    /**
+     * Variação relativa do estoque (ex: +10, -3)
+     */
+    private Integer delta;
+
+    /**
+     * Estoque absoluto (contagem do inventário)
+     */
+    @Min(value = 0, message = "Estoque não pode ser negativo")
+    private Integer quantity;
+
+    @NotBlank(message = "Motivo é obrigatório")
+    @Size(max = 255, message = "Motivo deve ter no máximo 255 caracteres")
+    private String reason;
+
+    @AssertTrue(message = "Informe id OU sku")
+    private boolean isTargetValid() {
+        return (id == null) != (sku == null || sku.isBlank());
+    }
+
+    @AssertTrue(message = "Informe delta OU quantity")
+    private boolean isAmountValid() {
+        return (delta == null) != (quantity == null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta do ajuste de estoque em massa, com o resultado de cada linha.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResponse {
+
+    private long total;
+
+    private long applied;
+
+    private long failed;
+
+    private List<LineResult> results;
+
+    public enum Status {
+        APPLIED,
+        /** Produto não encontrado (id/sku) */
+        NOT_FOUND,
+        /** Estoque resultante ficaria abaixo do reservado */
+        REJECTED,
+        /** Linha mal formada */
+        INVALID
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+        /**
+         * Posição da linha na requisição (1-based)
+         */
+        private long line;
+        private Long id;
+        private String sku;
+        private Status status;
+        /**
+         * Estoque após o lote em que a linha foi aplicada
+         */
+        private Integer stockQuantity;
+        private Integer reservedQuantity;
+        private String message;
+    }
+}
@@ -0,0 +1,36 @@
+package com.danrley.ecommerce.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Disponibilidade de estoque de um produto (evento do stream SSE).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityResponse {
+
+    private Long productId;
+
+    /**
+     * stockQuantity - reservedQuantity
+     */
+    private int availableQuantity;
+
+    private boolean active;
+
+    public static StockAvailabilityResponse of(ProductSnapshot snapshot) {
+        return StockAvailabilityResponse.builder()
+                .productId(snapshot.id())
+                .availableQuantity(Math.max(0, snapshot.stockQuantity() - snapshot.reservedQuantity()))
+                .active(snapshot.active())
+                .build();
+    }
+}
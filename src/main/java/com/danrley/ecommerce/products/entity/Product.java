@@ -1,29 +1,39 @@
 package com.danrley.ecommerce.products.entity;
 
-import com.danrley.ecommerce.shared.converter.JsonConverter;
+import com.danrley.ecommerce.shared.converter.RawJsonMetadataConverter;
 import com.danrley.ecommerce.shared.entity.BaseEntity;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.LazyGroup;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Representa um produto no catálogo do e-commerce.
  * Usa JSON para armazenar specs técnicas flexíveis (marca, modelo, etc).
  * Controla estoque real e reservado para evitar overselling (ADR-003).
+ * UPDATE dinâmico: só as colunas alteradas são gravadas (description TEXT e metadata JSON
+ * não são reescritas numa mudança de preço ou status).
  */
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @Table(name = "products")
 public class Product extends BaseEntity {
 
     @Column(nullable = false, length = 200)
     private String name;
 
+    /**
+     * Carregada sob demanda (grupo "description"): pedidos e pagamentos não leem a descrição.
+     */
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("description")
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -43,6 +53,16 @@ public class Product extends BaseEntity {
     @Column(name = "reserved_quantity", nullable = false)
     private Integer reservedQuantity = 0;
 
+    /**
+     * Estoque disponível calculado pelo banco (coluna gerada {@code stock_quantity - reserved_quantity}).
+     * Somente leitura: existe para os filtros {@code inStock}/{@code minAvailable} e a ordenação
+     * {@code sort=availableQuantity} usarem o índice. Em memória vale {@link #getAvailableQuantity()}.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "available_quantity", insertable = false, updatable = false,
+            columnDefinition = "INT GENERATED ALWAYS AS (stock_quantity - reserved_quantity)")
+    private Integer availableQuantity;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -63,10 +83,14 @@ public class Product extends BaseEntity {
     /**
      * Specs técnicas flexíveis armazenadas como JSON.
      * Exemplo: {"brand": "Logitech", "dpi": 8000}
+     * Mantido como JSON bruto: parse só quando uma chave é lida.
+     * Carregado sob demanda (grupo "metadata").
      */
-    @Convert(converter = JsonConverter.class)  // ✅ USA ISSO
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("metadata")
+    @Convert(converter = RawJsonMetadataConverter.class)
     @Column(columnDefinition = "json")
-    private Map<String, Object> metadata = new HashMap<>();
+    private RawJsonMetadata metadata = RawJsonMetadata.EMPTY;
 
     /**
      * Calcula quanto estoque está disponível para venda.
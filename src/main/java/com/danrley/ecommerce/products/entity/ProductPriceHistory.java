@@ -43,7 +43,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "product_price_history", indexes = {
-        @Index(name = "idx_product_price_product", columnList = "product_id"),
+        @Index(name = "idx_product_price_product_date", columnList = "product_id, changed_at"),
         @Index(name = "idx_product_price_date", columnList = "changed_at")
 })
 public class ProductPriceHistory {
@@ -3,8 +3,11 @@ package com.danrley.ecommerce.products.entity;
 
 import com.danrley.ecommerce.shared.entity.BaseEntity;
 import com.danrley.ecommerce.shared.entity.BaseEntitySimple;
+import com.danrley.ecommerce.shared.reference.ReferenceDataChangeListener;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.*;
 
@@ -26,6 +29,8 @@ import jakarta.persistence.*;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ReferenceDataChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference-data")
 @Table(name = "suppliers")
 public class Supplier extends BaseEntitySimple {
 
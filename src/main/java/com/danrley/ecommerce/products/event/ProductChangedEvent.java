@@ -0,0 +1,38 @@
+package com.danrley.ecommerce.products.event;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+
+/**
+ * Evento de domínio publicado quando um produto muda (cadastro, estoque, preço...).
+ * <p>
+ * Consumido pelos índices/caches em memória do catálogo via
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}: só é aplicado
+ * se a transação que alterou o produto confirmar.
+ * </p>
+ *
+ * @param snapshot estado do produto após a mudança
+ * @param type     tipo da mudança
+ * @param metadata metadados após a mudança (null = não mudaram, ex: eventos de estoque)
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ * @see ProductEventPublisher
+ */
+public record ProductChangedEvent(ProductSnapshot snapshot, ChangeType type, RawJsonMetadata metadata) {
+
+    public ProductChangedEvent(ProductSnapshot snapshot, ChangeType type) {
+        this(snapshot, type, null);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DEACTIVATED,
+        /** Apenas stock_quantity/reserved_quantity mudaram (reserva, pagamento, expiração) */
+        STOCK
+    }
+
+    public Long productId() {
+        return snapshot.id();
+    }
+}
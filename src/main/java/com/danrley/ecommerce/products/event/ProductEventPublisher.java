@@ -0,0 +1,43 @@
+package com.danrley.ecommerce.products.event;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.entity.Product;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica {@link ProductChangedEvent} a partir das entidades alteradas.
+ * <p>
+ * Usado pelo ProductService, pela importação em massa e pelo módulo de pedidos
+ * (reserva/liberação/baixa de estoque).
+ * Deve ser chamado DEPOIS de aplicar as mudanças na entidade, dentro da transação.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public void publish(Product product, ProductChangedEvent.ChangeType type) {
+        RawJsonMetadata metadata = type == ProductChangedEvent.ChangeType.STOCK ? null : product.getMetadata();
+        applicationEventPublisher.publishEvent(new ProductChangedEvent(ProductSnapshot.of(product), type, metadata));
+    }
+
+    public void stockChanged(Product product) {
+        publish(product, ProductChangedEvent.ChangeType.STOCK);
+    }
+
+    /**
+     * Produto inserido sem entidade (importação via JDBC batch).
+     */
+    public void created(ProductSnapshot snapshot, RawJsonMetadata metadata) {
+        applicationEventPublisher.publishEvent(
+                new ProductChangedEvent(snapshot, ProductChangedEvent.ChangeType.CREATED, metadata));
+    }
+}
@@ -0,0 +1,100 @@
+package com.danrley.ecommerce.products.feed;
+
+import com.danrley.ecommerce.products.dto.PartnerFeedItem;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Formatos do feed de parceiros. Cada formato define o cabeçalho do arquivo e a escrita de uma linha.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public enum PartnerFeedFormat {
+
+    /**
+     * Um objeto JSON por linha (metadata incluída como objeto).
+     */
+    NDJSON("ndjson", "") {
+        @Override
+        void writeRow(Writer out, PartnerFeedItem item, ObjectWriter json) throws IOException {
+            out.write(json.writeValueAsString(item));
+            out.write('\n');
+        }
+    },
+
+    /**
+     * CSV (RFC 4180) com cabeçalho; metadata como texto JSON.
+     */
+    CSV("csv", "id,sku,name,description,price,available_quantity,in_stock,category,supplier,metadata,updated_at\n") {
+        @Override
+        void writeRow(Writer out, PartnerFeedItem item, ObjectWriter json) throws IOException {
+            out.write(String.valueOf(item.getId()));
+            writeField(out, item.getSku());
+            writeField(out, item.getName());
+            writeField(out, item.getDescription());
+            writeField(out, item.getPrice() != null ? item.getPrice().toPlainString() : null);
+            writeField(out, String.valueOf(item.getAvailableQuantity()));
+            writeField(out, String.valueOf(item.getInStock()));
+            writeField(out, item.getCategory());
+            writeField(out, item.getSupplier());
+            writeField(out, item.getMetadata() != null ? item.getMetadata().toJson() : null);
+            writeField(out, item.getUpdatedAt() != null ? item.getUpdatedAt().toString() : null);
+            out.write('\n');
+        }
+    };
+
+    private final String extension;
+    private final String header;
+
+    PartnerFeedFormat(String extension, String header) {
+        this.extension = extension;
+        this.header = header;
+    }
+
+    /**
+     * @param extension extensão pedida na URL (ex: "csv")
+     * @return formato correspondente
+     * @throws BusinessException se o formato não for suportado
+     */
+    public static PartnerFeedFormat fromExtension(String extension) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(extension))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(
+                        "Formato de feed não suportado: " + extension + " (use ndjson ou csv)",
+                        "INVALID_FEED_FORMAT"));
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    String header() {
+        return header;
+    }
+
+    abstract void writeRow(Writer out, PartnerFeedItem item, ObjectWriter json) throws IOException;
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static void writeField(Writer out, String value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,457 @@
+package com.danrley.ecommerce.products.feed;
+
+import com.danrley.ecommerce.products.dto.PartnerFeedItem;
+import com.danrley.ecommerce.products.entity.Category;
+import com.danrley.ecommerce.products.entity.Supplier;
+import com.danrley.ecommerce.products.repository.CategoryRepository;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.repository.SupplierRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import com.danrley.ecommerce.shared.reference.ReferenceDataChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Feed do catálogo para parceiros (marketplaces, comparadores de preço), mantido em disco.
+ * <p>
+ * Parceiros baixam o catálogo inteiro várias vezes por hora; paginar {@code GET /api/products}
+ * para isso custa consultas e serialização a cada download. Aqui o feed é gerado uma vez e
+ * servido como arquivo ({@link com.danrley.ecommerce.shared.web.ZeroCopyFileSender}):
+ * </p>
+ * <ul>
+ *   <li>Produtos ativos divididos em segmentos por faixa de ID ({@code catalog.feed.segment-size});
+ *       cada segmento é um membro gzip independente, por formato (NDJSON e CSV)</li>
+ *   <li>A cada atualização só os segmentos com produtos de {@code updated_at} posterior ao último
+ *       build (menos {@code overlap-ms}, para transações lentas e diferença de relógio) são regravados</li>
+ *   <li>Nome de categoria e fornecedor vão embutidos em cada item: alteração numa dessas tabelas
+ *       ({@link ReferenceDataChangedEvent} ou {@code updated_at} posterior ao último build, para
+ *       escritas de outras instâncias) regrava todos os segmentos</li>
+ *   <li>O arquivo final é a concatenação dos segmentos ({@link FileChannel#transferTo}, sem passar pelo heap);
+ *       membros gzip concatenados formam um gzip válido (RFC 1952)</li>
+ *   <li>Cada build gera um arquivo novo ({@code products-<build>.<formato>.gz}) com ETag próprio;
+ *       o build anterior é mantido para downloads em andamento</li>
+ *   <li>O manifesto ({@code manifest.json}) permite continuar incrementalmente após um restart</li>
+ * </ul>
+ * <p>
+ * As atualizações rodam no {@code applicationTaskExecutor}, nunca na thread do scheduler.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class PartnerFeedService {
+
+    static final int MANIFEST_VERSION = 1;
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String FEED_PREFIX = "products-";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemWriter;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long overlapMillis;
+
+    private final AtomicBoolean building = new AtomicBoolean(false);
+    private final AtomicBoolean referenceDataChanged = new AtomicBoolean(false);
+    private volatile Manifest manifest;
+    private volatile Map<PartnerFeedFormat, FeedFile> current = Map.of();
+
+    public PartnerFeedService(ProductRepository productRepository,
+                              CategoryRepository categoryRepository,
+                              SupplierRepository supplierRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                              ObjectMapper objectMapper,
+                              @Value("${catalog.feed.enabled:true}") boolean enabled,
+                              @Value("${catalog.feed.directory:./data/feed}") String directory,
+                              @Value("${catalog.feed.segment-size:5000}") int segmentSize,
+                              @Value("${catalog.feed.overlap-ms:60000}") long overlapMillis) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writerFor(PartnerFeedItem.class);
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.overlapMillis = overlapMillis;
+    }
+
+    /**
+     * Arquivo de feed pronto para download.
+     *
+     * @param path         arquivo gzip
+     * @param length       tamanho em bytes
+     * @param etag         strong ETag (com aspas)
+     * @param lastModified instante do build (epoch millis)
+     * @param products     produtos no arquivo
+     */
+    public record FeedFile(Path path, long length, String etag, long lastModified, int products) {
+    }
+
+    /**
+     * Estado persistido entre builds.
+     *
+     * @param version         versão do layout (mudança força build completo)
+     * @param segmentSize     tamanho do segmento usado (mudança força build completo)
+     * @param buildId         instante do build que gerou os arquivos atuais
+     * @param watermarkMillis início da última verificação de alterações
+     * @param segments        segmento -> produtos ativos
+     */
+    record Manifest(int version, int segmentSize, long buildId, long watermarkMillis,
+                    TreeMap<Integer, Integer> segments) {
+    }
+
+    /**
+     * Retoma o feed do build anterior (se compatível), servindo-o até a primeira atualização.
+     */
+    @PostConstruct
+    public void load() {
+        Path manifestPath = directory.resolve(MANIFEST_FILE);
+        if (!enabled || !Files.exists(manifestPath)) {
+            return;
+        }
+        try {
+            Manifest stored = objectMapper.readValue(manifestPath.toFile(), Manifest.class);
+            if (stored.version() != MANIFEST_VERSION || stored.segmentSize() != segmentSize) {
+                log.info("Manifesto do feed incompatível; o feed será gerado do zero");
+                return;
+            }
+            Map<PartnerFeedFormat, FeedFile> files = new EnumMap<>(PartnerFeedFormat.class);
+            for (PartnerFeedFormat format : PartnerFeedFormat.values()) {
+                Path path = feedPath(format, stored.buildId());
+                if (!Files.exists(path)) {
+                    log.info("Arquivo {} do feed ausente; o feed será gerado do zero", path);
+                    return;
+                }
+                files.put(format, feedFile(format, path, stored));
+            }
+            this.current = files;
+            this.manifest = stored;
+        } catch (IOException e) {
+            log.warn("Manifesto do feed ignorado: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Atualização inicial em background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshAsync();
+    }
+
+    /**
+     * Atualiza o feed periodicamente.
+     */
+    @Scheduled(fixedDelayString = "${catalog.feed.refresh-interval-ms:300000}",
+            initialDelayString = "${catalog.feed.refresh-interval-ms:300000}")
+    public void refreshPeriodically() {
+        refreshAsync();
+    }
+
+    /**
+     * Categoria ou fornecedor alterado: o próximo build regrava todos os segmentos.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.type() == Category.class || event.type() == Supplier.class) {
+            referenceDataChanged.set(true);
+            refreshAsync();
+        }
+    }
+
+    /**
+     * Agenda uma atualização em background (ignorada se já houver uma em andamento).
+     */
+    public void refreshAsync() {
+        if (enabled && !building.get()) {
+            taskExecutor.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Regrava os segmentos alterados desde o último build e monta novos arquivos
+     * (no máximo uma atualização por vez).
+     */
+    public void refresh() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        boolean referenceDataDirty = referenceDataChanged.getAndSet(false);
+        try {
+            Manifest previous = manifest;
+            Long maxId = productRepository.findMaxId();
+            int segmentCount = maxId == null ? 0 : (int) (maxId / segmentSize) + 1;
+
+            SortedSet<Integer> dirty = new TreeSet<>();
+            TreeMap<Integer, Integer> segments = new TreeMap<>();
+            LocalDateTime since = previous == null ? null : LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(previous.watermarkMillis() - overlapMillis), ZoneId.systemDefault());
+            boolean full = previous == null || referenceDataDirty
+                    || categoryRepository.existsByUpdatedAtAfter(since)
+                    || supplierRepository.existsByUpdatedAtAfter(since);
+            if (full) {
+                for (int segment = 0; segment < segmentCount; segment++) {
+                    dirty.add(segment);
+                }
+            } else {
+                segments.putAll(previous.segments().headMap(segmentCount));
+                for (Long id : productRepository.findIdsUpdatedSince(since)) {
+                    dirty.add((int) (id / segmentSize));
+                }
+            }
+
+            if (previous != null && dirty.isEmpty() && segments.size() == previous.segments().size()) {
+                Manifest unchanged = new Manifest(MANIFEST_VERSION, segmentSize, previous.buildId(), start,
+                        previous.segments());
+                writeManifest(unchanged);
+                manifest = unchanged;
+                return;
+            }
+
+            for (int segment : dirty) {
+                int products = writeSegment(segment);
+                if (products > 0) {
+                    segments.put(segment, products);
+                } else {
+                    segments.remove(segment);
+                }
+            }
+
+            Manifest next = new Manifest(MANIFEST_VERSION, segmentSize, start, start, segments);
+            Map<PartnerFeedFormat, FeedFile> files = new EnumMap<>(PartnerFeedFormat.class);
+            for (PartnerFeedFormat format : PartnerFeedFormat.values()) {
+                files.put(format, assemble(format, next));
+            }
+            writeManifest(next);
+            current = files;
+            manifest = next;
+            deleteStale(next, previous);
+
+            log.info("Feed de parceiros atualizado: {} de {} segmentos regravados, {} produtos em {}ms",
+                    dirty.size(), segments.size(), files.get(PartnerFeedFormat.NDJSON).products(),
+                    System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            if (referenceDataDirty) {
+                referenceDataChanged.set(true);
+            }
+            log.warn("Falha ao atualizar o feed de parceiros: {}", e.getMessage());
+        } finally {
+            building.set(false);
+        }
+    }
+
+    /**
+     * @param format formato pedido
+     * @return arquivo atual do feed
+     * @throws BusinessException se o feed ainda não foi gerado
+     */
+    public FeedFile current(PartnerFeedFormat format) {
+        FeedFile file = current.get(format);
+        if (file == null) {
+            throw new BusinessException("Feed de produtos ainda não foi gerado, tente novamente em instantes",
+                    "FEED_NOT_READY");
+        }
+        return file;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Regrava o segmento em todos os formatos.
+     *
+     * @return produtos ativos no segmento (0 = segmento removido)
+     */
+    private int writeSegment(int segment) throws IOException {
+        long fromId = (long) segment * segmentSize;
+        List<Object[]> rows = readOnlyTransaction.execute(status ->
+                productRepository.findFeedRowsByIdRange(fromId, fromId + segmentSize));
+        List<PartnerFeedItem> items = rows.stream().map(PartnerFeedService::toItem).toList();
+
+        for (PartnerFeedFormat format : PartnerFeedFormat.values()) {
+            Path path = segmentPath(format, segment);
+            if (items.isEmpty()) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (Writer out = gzipWriter(Files.newOutputStream(temp))) {
+                for (PartnerFeedItem item : items) {
+                    format.writeRow(out, item, itemWriter);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return items.size();
+    }
+
+    /**
+     * Concatena cabeçalho + segmentos (na ordem dos IDs) num arquivo novo, sem copiar pelo heap.
+     */
+    private FeedFile assemble(PartnerFeedFormat format, Manifest next) throws IOException {
+        Files.createDirectories(directory);
+        Path target = feedPath(format, next.buildId());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (!format.header().isEmpty()) {
+                ByteArrayOutputStream header = new ByteArrayOutputStream();
+                try (Writer writer = gzipWriter(header)) {
+                    writer.write(format.header());
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(header.toByteArray());
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+            }
+            for (int segment : next.segments().keySet()) {
+                try (FileChannel in = FileChannel.open(segmentPath(format, segment), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return feedFile(format, target, next);
+    }
+
+    private FeedFile feedFile(PartnerFeedFormat format, Path path, Manifest source) throws IOException {
+        int products = source.segments().values().stream().mapToInt(Integer::intValue).sum();
+        String etag = "\"feed-" + format.extension() + "-" + Long.toHexString(source.buildId()) + "\"";
+        return new FeedFile(path, Files.size(path), etag, source.buildId(), products);
+    }
+
+    private void writeManifest(Manifest next) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(MANIFEST_FILE);
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), next);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Remove arquivos de builds antigos (mantém o atual e o anterior) e segmentos que deixaram de existir.
+     */
+    private void deleteStale(Manifest next, Manifest previous) throws IOException {
+        Set<Long> keep = previous != null ? Set.of(next.buildId(), previous.buildId()) : Set.of(next.buildId());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FEED_PREFIX + "*.gz")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String build = name.substring(FEED_PREFIX.length(), name.indexOf('.'));
+                if (!keep.contains(Long.parseLong(build))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Arquivo inesperado no diretório do feed: {}", e.getMessage());
+        }
+        for (PartnerFeedFormat format : PartnerFeedFormat.values()) {
+            Path segmentsDirectory = directory.resolve("segments").resolve(format.extension());
+            if (!Files.isDirectory(segmentsDirectory)) {
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(segmentsDirectory, "*.gz")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    int segment = Integer.parseInt(name.substring(0, name.indexOf('.')));
+                    if (!next.segments().containsKey(segment)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    private Path feedPath(PartnerFeedFormat format, long buildId) {
+        return directory.resolve(FEED_PREFIX + buildId + "." + format.extension() + ".gz");
+    }
+
+    private Path segmentPath(PartnerFeedFormat format, int segment) {
+        return directory.resolve("segments").resolve(format.extension()).resolve(String.format("%06d.gz", segment));
+    }
+
+    private static Writer gzipWriter(OutputStream target) throws IOException {
+        return new OutputStreamWriter(new GZIPOutputStream(target, 1 << 16), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * [id, sku, name, description, price, stockQuantity, reservedQuantity, categoria, fornecedor, metadata, updatedAt]
+     */
+    private static PartnerFeedItem toItem(Object[] row) {
+        int stock = row[5] != null ? (Integer) row[5] : 0;
+        int reserved = row[6] != null ? (Integer) row[6] : 0;
+        int available = Math.max(0, stock - reserved);
+        return PartnerFeedItem.builder()
+                .id((Long) row[0])
+                .sku((String) row[1])
+                .name((String) row[2])
+                .description((String) row[3])
+                .price((BigDecimal) row[4])
+                .availableQuantity(available)
+                .inStock(available > 0)
+                .category((String) row[7])
+                .supplier((String) row[8])
+                .metadata((RawJsonMetadata) row[9])
+                .updatedAt((LocalDateTime) row[10])
+                .build();
+    }
+}
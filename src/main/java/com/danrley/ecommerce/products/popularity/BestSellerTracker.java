@@ -0,0 +1,293 @@
+package com.danrley.ecommerce.products.popularity;
+
+import com.danrley.ecommerce.orders.event.OrderApprovedEvent;
+import com.danrley.ecommerce.orders.repository.OrderItemRepository;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Produtos mais vendidos (unidades) nas últimas 24h, 7 dias e 30 dias, geral e por categoria.
+ * <p>
+ * <strong>Fluxo:</strong>
+ * </p>
+ * <ul>
+ *   <li>No startup (e a cada {@code catalog.best-sellers.reload-interval-ms}) os contadores são
+ *       recarregados em background a partir das vendas APROVADO dos últimos 30 dias</li>
+ *   <li>Cada {@link OrderApprovedEvent} (após o commit) soma as unidades no {@link SoldUnitsCounter}
+ *       do produto; eventos recebidos durante a carga são aplicados nos contadores novos, exceto os
+ *       de pedidos que a própria carga já leu (pagamento comitado entre o início da carga e o stream)</li>
+ *   <li>A cada {@code catalog.best-sellers.refresh-interval-ms}, se houve venda ou virada de bucket,
+ *       o ranking de cada janela é recalculado e publicado como listas imutáveis; leituras não
+ *       consultam {@code order_items} nem disputam o lock</li>
+ * </ul>
+ * <p>
+ * A categoria de cada produto vem da venda e acompanha os {@link ProductChangedEvent}. A recarga
+ * periódica corrige vendas aprovadas por outras instâncias da aplicação.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class BestSellerTracker {
+
+    private static final Comparator<ProductSales> MOST_SOLD_FIRST =
+            Comparator.comparingLong(ProductSales::units).reversed().thenComparingLong(ProductSales::productId);
+
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final int topK;
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    // Guardados por this
+    private Map<Long, SoldUnitsCounter> counters;
+    private List<OrderApprovedEvent> pendingDuringLoad;
+    private boolean dirty;
+    private long publishedBucket = -1;
+
+    private volatile Ranking ranking;
+
+    public BestSellerTracker(OrderItemRepository orderItemRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${catalog.best-sellers.top-k:100}") int topK) {
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.topK = topK;
+    }
+
+    /**
+     * Unidades vendidas de um produto numa janela.
+     *
+     * @param productId  produto
+     * @param categoryId categoria do produto
+     * @param units      unidades vendidas na janela
+     */
+    public record ProductSales(long productId, long categoryId, long units) {
+    }
+
+    /**
+     * Carga inicial em background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadAsync();
+    }
+
+    /**
+     * Recarga periódica a partir do histórico.
+     */
+    @Scheduled(fixedDelayString = "${catalog.best-sellers.reload-interval-ms:21600000}",
+            initialDelayString = "${catalog.best-sellers.reload-interval-ms:21600000}")
+    public void reloadPeriodically() {
+        reloadAsync();
+    }
+
+    /**
+     * Recarrega os contadores em background (no máximo uma carga por vez).
+     */
+    public void reloadAsync() {
+        if (loading.compareAndSet(false, true)) {
+            taskExecutor.execute(this::reload);
+        }
+    }
+
+    /**
+     * @param window     janela
+     * @param categoryId categoria (null = todas)
+     * @param limit      máximo de itens (até {@code catalog.best-sellers.top-k})
+     * @return mais vendidos na janela, do mais vendido ao menos vendido
+     * @throws BusinessException se o ranking ainda estiver sendo carregado
+     */
+    public List<ProductSales> top(SalesWindow window, Long categoryId, int limit) {
+        Ranking current = ranking;
+        if (current == null) {
+            throw new BusinessException("Ranking de mais vendidos ainda em construção. Tente novamente em instantes.",
+                    "BEST_SELLERS_NOT_READY");
+        }
+        List<ProductSales> list = categoryId == null
+                ? current.overall.get(window)
+                : current.byCategory.get(window).getOrDefault(categoryId, List.of());
+        return list.subList(0, Math.min(Math.max(limit, 0), list.size()));
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOrderApproved(OrderApprovedEvent event) {
+        if (pendingDuringLoad != null) {
+            pendingDuringLoad.add(event);
+        }
+        if (counters != null) {
+            apply(counters, event, System.currentTimeMillis());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Long categoryId = event.snapshot().categoryId();
+        SoldUnitsCounter counter = counters != null ? counters.get(event.productId()) : null;
+        if (counter != null && categoryId != null && counter.getCategoryId() != categoryId) {
+            counter.setCategoryId(categoryId);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Publica o ranking se houve venda ou algum bucket virou desde a última publicação.
+     */
+    @Scheduled(fixedDelayString = "${catalog.best-sellers.refresh-interval-ms:10000}")
+    public synchronized void refresh() {
+        if (counters == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long bucket = Math.floorDiv(now, SalesWindow.DAY.getBucket().toMillis());
+        if (dirty || bucket != publishedBucket) {
+            publish(now);
+            publishedBucket = bucket;
+        }
+    }
+
+    public boolean isReady() {
+        return ranking != null;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void reload() {
+        try {
+            synchronized (this) {
+                pendingDuringLoad = new ArrayList<>();
+            }
+            long start = System.currentTimeMillis();
+            LocalDateTime until = LocalDateTime.now();
+            LocalDateTime from = until.minus(SalesWindow.MONTH.getSpan());
+            Map<Long, SoldUnitsCounter> fresh = new HashMap<>();
+            Roaring64Bitmap streamedOrders = new Roaring64Bitmap();
+            long[] rows = new long[1];
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> sales = orderItemRepository.streamApprovedSales(from, until)) {
+                    sales.forEach(row -> {
+                        streamedOrders.addLong((Long) row[0]);
+                        long productId = (Long) row[1];
+                        long categoryId = (Long) row[2];
+                        fresh.computeIfAbsent(productId, id -> new SoldUnitsCounter(categoryId, start))
+                                .add(toMillis((LocalDateTime) row[3]), ((Number) row[4]).intValue(), start);
+                        rows[0]++;
+                    });
+                }
+            });
+            int pending = 0;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                for (OrderApprovedEvent event : pendingDuringLoad) {
+                    if (event.orderId() == null || !streamedOrders.contains(event.orderId())) {
+                        apply(fresh, event, now);
+                        pending++;
+                    }
+                }
+                pendingDuringLoad = null;
+                counters = fresh;
+                publish(now);
+                publishedBucket = Math.floorDiv(now, SalesWindow.DAY.getBucket().toMillis());
+            }
+            log.info("Ranking de mais vendidos carregado: {} itens vendidos, {} produtos, {} pendentes aplicados em {}ms",
+                    rows[0], fresh.size(), pending, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringLoad = null;
+            }
+            log.warn("Falha ao carregar ranking de mais vendidos: {}", e.getMessage());
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    private void apply(Map<Long, SoldUnitsCounter> target, OrderApprovedEvent event, long now) {
+        long soldAt = event.approvedAt() != null ? toMillis(event.approvedAt()) : now;
+        for (OrderApprovedEvent.Item item : event.items()) {
+            SoldUnitsCounter counter = target.computeIfAbsent(item.productId(),
+                    id -> new SoldUnitsCounter(item.categoryId(), now));
+            counter.add(soldAt, item.quantity(), now);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Recalcula o ranking de cada janela (descartando produtos sem vendas em 30 dias).
+     */
+    private void publish(long now) {
+        Map<SalesWindow, List<ProductSales>> overall = new EnumMap<>(SalesWindow.class);
+        Map<SalesWindow, Map<Long, List<ProductSales>>> byCategory = new EnumMap<>(SalesWindow.class);
+        for (SalesWindow window : SalesWindow.values()) {
+            List<ProductSales> sales = new ArrayList<>();
+            for (Iterator<Map.Entry<Long, SoldUnitsCounter>> it = counters.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Long, SoldUnitsCounter> entry = it.next();
+                SoldUnitsCounter counter = entry.getValue();
+                if (window == SalesWindow.MONTH && counter.isEmpty(now)) {
+                    it.remove();
+                    continue;
+                }
+                long units = counter.total(window, now);
+                if (units > 0) {
+                    sales.add(new ProductSales(entry.getKey(), counter.getCategoryId(), units));
+                }
+            }
+            sales.sort(MOST_SOLD_FIRST);
+
+            Map<Long, List<ProductSales>> categories = new HashMap<>();
+            for (ProductSales product : sales) {
+                List<ProductSales> category = categories.computeIfAbsent(product.categoryId(), k -> new ArrayList<>());
+                if (category.size() < topK) {
+                    category.add(product);
+                }
+            }
+            categories.replaceAll((categoryId, list) -> List.copyOf(list));
+            overall.put(window, List.copyOf(sales.subList(0, Math.min(topK, sales.size()))));
+            byCategory.put(window, Map.copyOf(categories));
+        }
+        ranking = new Ranking(overall, byCategory);
+        dirty = false;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Ranking(Map<SalesWindow, List<ProductSales>> overall,
+                           Map<SalesWindow, Map<Long, List<ProductSales>>> byCategory) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.danrley.ecommerce.products.popularity;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch de IDs de produto: contagem aproximada em memória fixa.
+ * <p>
+ * {@code depth} linhas de {@code width} contadores; cada ID incrementa um contador por linha
+ * e a estimativa é o menor deles. Nunca subestima; superestima no máximo
+ * {@code e / width × total} com probabilidade {@code 1 - e^-depth}. O hash é determinístico
+ * (sementes fixas), então sketches de mesmo tamanho podem ser somados, subtraídos e gravados
+ * em disco. Não é thread-safe.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x85EBCA77C2B2AE63L
+    };
+
+    private final int width;
+    private final int depth;
+    private final int[] counters;
+
+    /**
+     * @param width contadores por linha (potência de 2)
+     * @param depth linhas (funções de hash), até 8
+     */
+    CountMinSketch(int width, int depth) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width deve ser potência de 2: " + width);
+        }
+        if (depth <= 0 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth deve estar entre 1 e " + SEEDS.length + ": " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new int[width * depth];
+    }
+
+    void add(long key, int count) {
+        for (int row = 0; row < depth; row++) {
+            counters[index(key, row)] += count;
+        }
+    }
+
+    long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(key, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Soma os contadores de outro sketch do mesmo tamanho.
+     */
+    void add(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+    }
+
+    /**
+     * Subtrai os contadores de outro sketch do mesmo tamanho (previamente somado a este).
+     */
+    void subtract(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] -= other.counters[i];
+        }
+    }
+
+    void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        for (int counter : counters) {
+            out.writeInt(counter);
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = in.readInt();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private int index(long key, int row) {
+        return row * width + (int) (mix(key ^ SEEDS[row]) & (width - 1));
+    }
+
+    /**
+     * Finalizador do MurmurHash3 (64 bits).
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,90 @@
+package com.danrley.ecommerce.products.popularity;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conta as visualizações de produto ({@code GET /api/products/{id}} e {@code /api/reactive/products/{id}})
+ * no {@link ProductViewTracker}.
+ * <p>
+ * Fica antes do {@code ProductResponseCache}, então respostas servidas do cache também contam.
+ * Só respostas 200 e 304 contam (IDs inexistentes não entram no ranking). Nas rotas assíncronas
+ * (reativas) o status só é conhecido no fim da requisição, via {@link AsyncListener}.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class ProductViewFilter extends OncePerRequestFilter {
+
+    private static final Pattern PRODUCT_PATH = Pattern.compile("^/api/(?:reactive/)?products/(\\d{1,18})/?$");
+
+    private final ProductViewTracker tracker;
+
+    public ProductViewFilter(ProductViewTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Matcher matcher = PRODUCT_PATH.matcher(request.getRequestURI());
+        filterChain.doFilter(request, response);
+        if (!matcher.matches()) {
+            return;
+        }
+        long productId = Long.parseLong(matcher.group(1));
+        if (!request.isAsyncStarted()) {
+            recordIfViewed(productId, response);
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                recordIfViewed(productId, (HttpServletResponse) event.getSuppliedResponse());
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void recordIfViewed(long productId, HttpServletResponse response) {
+        int status = response.getStatus();
+        if (status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_NOT_MODIFIED) {
+            tracker.record(productId);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.danrley.ecommerce.products.popularity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produtos mais vistos na última hora/dia, em memória limitada e sem escrita no banco por visualização.
+ * <p>
+ * <strong>Fluxo:</strong>
+ * </p>
+ * <ul>
+ *   <li>{@link #record} roda na thread da requisição ({@link ProductViewFilter}): só enfileira o ID
+ *       numa fila lock-free limitada a {@code catalog.views.queue-capacity}; cheia, a visualização é
+ *       descartada ({@code product_views.dropped})</li>
+ *   <li>A cada {@code catalog.views.drain-interval-ms} a fila é drenada por uma única thread, agregada
+ *       por produto e aplicada em cada {@link ViewWindow} ({@link SlidingViewWindow}: Count-Min Sketch por
+ *       bucket + top-K)</li>
+ *   <li>O ranking de cada janela é publicado como lista imutável; leituras não disputam com a drenagem</li>
+ *   <li>O estado é gravado em disco periodicamente e no desligamento gracioso, e restaurado no startup
+ *       (buckets que saíram da janela durante o restart são expirados)</li>
+ * </ul>
+ * <p>
+ * Memória: {@code (12 + 24 + 2) × width × depth × 4} bytes de sketches (≈ 1,2 MB no padrão) mais
+ * {@code 4 × top-k} candidatos por janela. As contagens são estimativas que nunca subestimam.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ProductViewTracker {
+
+    static final int SNAPSHOT_MAGIC = 0x45435657; // "ECVW"
+    static final int SNAPSHOT_VERSION = 1;
+
+    private final int width;
+    private final int depth;
+    private final int topK;
+    private final int queueCapacity;
+    private final boolean snapshotEnabled;
+    private final Path snapshotPath;
+
+    private final ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<ViewWindow, SlidingViewWindow> windows = new EnumMap<>(ViewWindow.class);
+    private volatile Map<ViewWindow, List<ProductViewCount>> ranking;
+
+    private final Counter dropped;
+
+    public ProductViewTracker(MeterRegistry meterRegistry,
+                              @Value("${catalog.views.width:2048}") int width,
+                              @Value("${catalog.views.depth:4}") int depth,
+                              @Value("${catalog.views.top-k:100}") int topK,
+                              @Value("${catalog.views.queue-capacity:100000}") int queueCapacity,
+                              @Value("${catalog.views.snapshot.enabled:true}") boolean snapshotEnabled,
+                              @Value("${catalog.views.snapshot.path:./data/product-views.snapshot}") String snapshotPath) {
+        this.width = width;
+        this.depth = depth;
+        this.topK = topK;
+        this.queueCapacity = queueCapacity;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotPath = Path.of(snapshotPath);
+        for (ViewWindow window : ViewWindow.values()) {
+            windows.put(window, new SlidingViewWindow(window, width, depth, topK * 4));
+        }
+        this.ranking = emptyRanking();
+
+        this.dropped = meterRegistry.counter("product_views.dropped");
+        Gauge.builder("product_views.queue.depth", queued, AtomicInteger::get)
+                .description("Visualizações de produto aguardando drenagem")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Uma visualização do produto (sem lock; chamado na thread da requisição).
+     */
+    public void record(long productId) {
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        queue.offer(productId);
+    }
+
+    /**
+     * @param window janela
+     * @param limit  máximo de itens (até {@code catalog.views.top-k})
+     * @return produtos mais vistos na janela, do mais visto ao menos visto
+     */
+    public List<ProductViewCount> top(ViewWindow window, int limit) {
+        List<ProductViewCount> current = ranking.get(window);
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Visualizações estimadas de um produto numa janela.
+     *
+     * @param productId produto
+     * @param views     visualizações estimadas na janela
+     */
+    public record ProductViewCount(long productId, long views) {
+    }
+
+    /**
+     * Restaura o estado gravado no último desligamento.
+     */
+    @PostConstruct
+    public void load() {
+        if (!snapshotEnabled || !Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("formato desconhecido");
+            }
+            if (in.readInt() != width || in.readInt() != depth) {
+                throw new IOException("gravado com outro width/depth");
+            }
+            synchronized (this) {
+                for (SlidingViewWindow window : windows.values()) {
+                    window.readFrom(in);
+                }
+                publish(System.currentTimeMillis());
+            }
+            log.info("Ranking de visualizações restaurado de {}", snapshotPath);
+        } catch (IOException e) {
+            synchronized (this) {
+                for (ViewWindow window : ViewWindow.values()) {
+                    windows.put(window, new SlidingViewWindow(window, width, depth, topK * 4));
+                }
+                ranking = emptyRanking();
+            }
+            log.warn("Snapshot de visualizações ignorado ({}): {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica as visualizações enfileiradas nas janelas e publica o ranking.
+     */
+    @Scheduled(fixedDelayString = "${catalog.views.drain-interval-ms:1000}")
+    public synchronized void drain() {
+        Map<Long, Integer> counts = new HashMap<>();
+        Long productId;
+        while ((productId = queue.poll()) != null) {
+            queued.decrementAndGet();
+            counts.merge(productId, 1, Integer::sum);
+        }
+        long now = System.currentTimeMillis();
+        for (SlidingViewWindow window : windows.values()) {
+            window.advance(now);
+            counts.forEach(window::add);
+        }
+        publish(now);
+    }
+
+    /**
+     * Grava o estado periodicamente.
+     */
+    @Scheduled(fixedDelayString = "${catalog.views.snapshot.write-interval-ms:300000}",
+            initialDelayString = "${catalog.views.snapshot.write-interval-ms:300000}")
+    public void writePeriodically() {
+        writeSnapshot();
+    }
+
+    /**
+     * Drena a fila e grava o estado no desligamento gracioso.
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        drain();
+        writeSnapshot();
+    }
+
+    /**
+     * Grava as janelas em disco (arquivo temporário + move atômico).
+     */
+    public synchronized void writeSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(width);
+                out.writeInt(depth);
+                for (SlidingViewWindow window : windows.values()) {
+                    window.writeTo(out);
+                }
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Falha ao gravar snapshot de visualizações: {}", e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // arquivo temporário será sobrescrito na próxima gravação
+            }
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void publish(long now) {
+        Map<ViewWindow, List<ProductViewCount>> published = new EnumMap<>(ViewWindow.class);
+        for (SlidingViewWindow window : windows.values()) {
+            window.advance(now);
+            published.put(window.window(), window.top(topK).stream()
+                    .map(entry -> new ProductViewCount(entry[0], entry[1]))
+                    .toList());
+        }
+        ranking = published;
+    }
+
+    private static Map<ViewWindow, List<ProductViewCount>> emptyRanking() {
+        Map<ViewWindow, List<ProductViewCount>> empty = new EnumMap<>(ViewWindow.class);
+        for (ViewWindow window : ViewWindow.values()) {
+            empty.put(window, List.of());
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,43 @@
+package com.danrley.ecommerce.products.popularity;
+
+import java.time.Duration;
+
+/**
+ * Janelas deslizantes do ranking de mais vendidos.
+ * <p>
+ * Cada janela é um anel de {@code buckets} contadores de {@code bucket} de duração, incluindo o
+ * bucket corrente: DAY cobre de 23 a 24 horas, WEEK de 6d18h a 7 dias, MONTH de 29 a 30 dias.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public enum SalesWindow {
+
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofHours(6), 28),
+    MONTH(Duration.ofDays(1), 30);
+
+    private final Duration bucket;
+    private final int buckets;
+
+    SalesWindow(Duration bucket, int buckets) {
+        this.bucket = bucket;
+        this.buckets = buckets;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Maior período coberto pela janela.
+     */
+    public Duration getSpan() {
+        return bucket.multipliedBy(buckets);
+    }
+}
@@ -0,0 +1,194 @@
+package com.danrley.ecommerce.products.popularity;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Contagem de visualizações de uma {@link ViewWindow}: anel de Count-Min Sketches + top-K.
+ * <p>
+ * Cada bucket tem o próprio sketch e {@code total} é a soma dos buckets do anel (sketches são
+ * lineares): ao avançar o relógio, o bucket que sai da janela é subtraído do total e zerado.
+ * O top-K é um min-heap de candidatos ({@code capacity} IDs) com a estimativa do total: um ID
+ * novo só entra se superar o menor candidato. Quando buckets expiram as estimativas caem, então
+ * os candidatos são reavaliados e o heap reconstruído.
+ * </p>
+ * <p>
+ * Não é thread-safe: usado só pela thread que drena as visualizações ({@link ProductViewTracker}).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+final class SlidingViewWindow {
+
+    private final ViewWindow window;
+    private final long bucketMillis;
+    private final CountMinSketch[] buckets;
+    private final CountMinSketch total;
+    private final int capacity;
+
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(
+            Comparator.comparingLong(Candidate::views).thenComparing(Candidate::productId, Comparator.reverseOrder()));
+    private long currentBucket = -1;
+
+    /**
+     * @param window   janela
+     * @param width    contadores por linha de cada sketch
+     * @param depth    linhas de cada sketch
+     * @param capacity candidatos mantidos no heap
+     */
+    SlidingViewWindow(ViewWindow window, int width, int depth, int capacity) {
+        this.window = window;
+        this.bucketMillis = window.getBucket().toMillis();
+        this.buckets = new CountMinSketch[window.getBuckets()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new CountMinSketch(width, depth);
+        }
+        this.total = new CountMinSketch(width, depth);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Posiciona a janela no bucket do instante informado, expirando os buckets que saíram dela.
+     *
+     * @param nowMillis instante atual (epoch millis)
+     */
+    void advance(long nowMillis) {
+        long bucket = Math.floorDiv(nowMillis, bucketMillis);
+        if (currentBucket < 0) {
+            currentBucket = bucket;
+            return;
+        }
+        if (bucket <= currentBucket) {
+            return;
+        }
+        long expired = Math.min(bucket - currentBucket, buckets.length);
+        for (long i = 1; i <= expired; i++) {
+            CountMinSketch sketch = buckets[slot(currentBucket + i)];
+            total.subtract(sketch);
+            sketch.clear();
+        }
+        currentBucket = bucket;
+        rescoreCandidates();
+    }
+
+    /**
+     * @param productId produto
+     * @param views     visualizações no bucket corrente
+     */
+    void add(long productId, int views) {
+        buckets[slot(currentBucket)].add(productId, views);
+        total.add(productId, views);
+        offer(productId, total.estimate(productId));
+    }
+
+    long estimate(long productId) {
+        return total.estimate(productId);
+    }
+
+    /**
+     * @param limit máximo de itens
+     * @return [productId, visualizações estimadas], mais vistos primeiro
+     */
+    List<long[]> top(int limit) {
+        List<Candidate> sorted = new ArrayList<>(heap);
+        sorted.sort(heap.comparator().reversed());
+        List<long[]> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (Candidate candidate : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            result.add(new long[]{candidate.productId(), candidate.views()});
+        }
+        return result;
+    }
+
+    ViewWindow window() {
+        return window;
+    }
+
+    /**
+     * Grava bucket corrente, sketches dos buckets e IDs candidatos (o total é recalculado na leitura).
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(bucketMillis);
+        out.writeInt(buckets.length);
+        out.writeLong(currentBucket);
+        for (CountMinSketch sketch : buckets) {
+            sketch.writeTo(out);
+        }
+        out.writeInt(candidates.size());
+        for (Long productId : candidates.keySet()) {
+            out.writeLong(productId);
+        }
+    }
+
+    /**
+     * Restaura o estado gravado por {@link #writeTo}; chamar {@link #advance} em seguida.
+     *
+     * @throws IOException se a janela gravada tem outro formato (duração ou número de buckets)
+     */
+    void readFrom(DataInput in) throws IOException {
+        long storedBucketMillis = in.readLong();
+        int storedBuckets = in.readInt();
+        if (storedBucketMillis != bucketMillis || storedBuckets != buckets.length) {
+            throw new IOException("Janela " + window + " gravada com outro formato");
+        }
+        currentBucket = in.readLong();
+        total.clear();
+        for (CountMinSketch sketch : buckets) {
+            sketch.readFrom(in);
+            total.add(sketch);
+        }
+        candidates.clear();
+        heap.clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long productId = in.readLong();
+            offer(productId, total.estimate(productId));
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+
+    private void offer(long productId, long views) {
+        Candidate existing = candidates.get(productId);
+        if (existing != null) {
+            heap.remove(existing);
+        } else if (candidates.size() >= capacity) {
+            if (views <= heap.peek().views()) {
+                return;
+            }
+            candidates.remove(heap.poll().productId());
+        }
+        Candidate candidate = new Candidate(productId, views);
+        candidates.put(productId, candidate);
+        heap.add(candidate);
+    }
+
+    private void rescoreCandidates() {
+        List<Long> ids = new ArrayList<>(candidates.keySet());
+        candidates.clear();
+        heap.clear();
+        for (Long productId : ids) {
+            long views = total.estimate(productId);
+            if (views > 0) {
+                Candidate candidate = new Candidate(productId, views);
+                candidates.put(productId, candidate);
+                heap.add(candidate);
+            }
+        }
+    }
+
+    private record Candidate(long productId, long views) {
+    }
+}
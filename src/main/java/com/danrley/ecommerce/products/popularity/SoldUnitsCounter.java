@@ -0,0 +1,107 @@
+package com.danrley.ecommerce.products.popularity;
+
+/**
+ * Unidades vendidas de um produto em cada {@link SalesWindow}: um anel de contadores por janela.
+ * <p>
+ * {@code totals} é a soma do anel; ao avançar o relógio, os buckets que saíram da janela são
+ * subtraídos do total e zerados. Memória: {@code 24 + 28 + 30} ints por produto (~0,4 KB com
+ * cabeçalhos). Não é thread-safe: usado sob o lock do {@link BestSellerTracker}.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+final class SoldUnitsCounter {
+
+    private static final SalesWindow[] WINDOWS = SalesWindow.values();
+
+    private final int[][] buckets = new int[WINDOWS.length][];
+    private final long[] currentBucket = new long[WINDOWS.length];
+    private final long[] totals = new long[WINDOWS.length];
+    private long categoryId;
+
+    /**
+     * @param categoryId categoria do produto
+     * @param nowMillis  instante atual (epoch millis)
+     */
+    SoldUnitsCounter(long categoryId, long nowMillis) {
+        this.categoryId = categoryId;
+        for (SalesWindow window : WINDOWS) {
+            buckets[window.ordinal()] = new int[window.getBuckets()];
+            currentBucket[window.ordinal()] = bucketOf(window, nowMillis);
+        }
+    }
+
+    /**
+     * Soma uma venda no bucket do instante da venda (vendas fora da janela são ignoradas nela;
+     * vendas "no futuro", por diferença de relógio, contam no bucket corrente).
+     *
+     * @param soldAtMillis instante da venda (epoch millis)
+     * @param units        unidades vendidas
+     * @param nowMillis    instante atual (epoch millis)
+     */
+    void add(long soldAtMillis, int units, long nowMillis) {
+        for (SalesWindow window : WINDOWS) {
+            int w = window.ordinal();
+            advance(window, nowMillis);
+            long bucket = Math.min(bucketOf(window, soldAtMillis), currentBucket[w]);
+            if (bucket > currentBucket[w] - buckets[w].length) {
+                buckets[w][slot(w, bucket)] += units;
+                totals[w] += units;
+            }
+        }
+    }
+
+    /**
+     * @return unidades vendidas na janela terminando em {@code nowMillis}
+     */
+    long total(SalesWindow window, long nowMillis) {
+        advance(window, nowMillis);
+        return totals[window.ordinal()];
+    }
+
+    /**
+     * @return true se não há vendas em nenhuma janela (pode ser descartado)
+     */
+    boolean isEmpty(long nowMillis) {
+        for (SalesWindow window : WINDOWS) {
+            if (total(window, nowMillis) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getCategoryId() {
+        return categoryId;
+    }
+
+    void setCategoryId(long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void advance(SalesWindow window, long nowMillis) {
+        int w = window.ordinal();
+        long bucket = bucketOf(window, nowMillis);
+        if (bucket <= currentBucket[w]) {
+            return;
+        }
+        long expired = Math.min(bucket - currentBucket[w], buckets[w].length);
+        for (long i = 1; i <= expired; i++) {
+            int slot = slot(w, currentBucket[w] + i);
+            totals[w] -= buckets[w][slot];
+            buckets[w][slot] = 0;
+        }
+        currentBucket[w] = bucket;
+    }
+
+    private int slot(int window, long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets[window].length);
+    }
+
+    private static long bucketOf(SalesWindow window, long epochMillis) {
+        return Math.floorDiv(epochMillis, window.getBucket().toMillis());
+    }
+}
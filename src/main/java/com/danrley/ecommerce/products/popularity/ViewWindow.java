@@ -0,0 +1,35 @@
+package com.danrley.ecommerce.products.popularity;
+
+import java.time.Duration;
+
+/**
+ * Janelas deslizantes do ranking de produtos mais vistos.
+ * <p>
+ * Cada janela é um anel de {@code buckets} sketches de {@code bucket} de duração, incluindo o
+ * bucket corrente: HOUR cobre de 55 a 60 minutos, DAY de 23 a 24 horas.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public enum ViewWindow {
+
+    HOUR(Duration.ofMinutes(5), 12),
+    DAY(Duration.ofHours(1), 24);
+
+    private final Duration bucket;
+    private final int buckets;
+
+    ViewWindow(Duration bucket, int buckets) {
+        this.bucket = bucket;
+        this.buckets = buckets;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+}
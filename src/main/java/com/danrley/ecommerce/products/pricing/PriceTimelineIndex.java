@@ -0,0 +1,317 @@
+package com.danrley.ecommerce.products.pricing;
+
+import com.danrley.ecommerce.products.audit.PriceHistoryWriter;
+import com.danrley.ecommerce.products.entity.ProductPriceHistory;
+import com.danrley.ecommerce.products.repository.ProductPriceHistoryRepository;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Linhas do tempo de preço por produto, em memória, para consultas "qual era o preço em T?".
+ * <p>
+ * Cada produto vira um {@link Timeline} imutável com arrays primitivos ordenados
+ * (instante da mudança em epoch millis + novo preço em centavos). A consulta é uma
+ * busca binária - sem query no banco depois que a linha do tempo está carregada.
+ * </p>
+ * <p>
+ * <strong>Carga e atualização:</strong>
+ * <ul>
+ *   <li>Lazy: carregada na primeira consulta do produto (em lote para consultas batch)</li>
+ *   <li>Atualizada a cada novo {@link ProductPriceHistory} gravado (evento publicado pelo
+ *       PriceHistoryWriter, aplicado após o commit)</li>
+ *   <li>Limite de produtos em memória (catalog.price-timeline.max-products); ao exceder,
+ *       linhas do tempo são descartadas e recarregadas sob demanda</li>
+ * </ul>
+ * </p>
+ * <p>
+ * <strong>Carga x eventos:</strong> uma mudança confirmada entre a leitura do banco e a
+ * publicação da linha do tempo não pode se perder. Enquanto um produto está sendo carregado,
+ * os eventos dele são guardados e reaplicados na linha do tempo lida; no write-behind, os
+ * registros ainda no buffer do {@link PriceHistoryWriter} entram na carga. Duplicatas (registro
+ * lido do banco e também recebido como evento) são descartadas por (instante, preços).
+ * </p>
+ * <p>
+ * Datas são tratadas como horário local (LocalDateTime), como no restante da aplicação.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class PriceTimelineIndex {
+
+    private final ProductRepository productRepository;
+    private final ProductPriceHistoryRepository productPriceHistoryRepository;
+    private final PriceHistoryWriter priceHistoryWriter;
+    private final int maxProducts;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Object loadMonitor = new Object();
+    private final List<PendingLoad> loads = new ArrayList<>(); // guardado por loadMonitor
+
+    public PriceTimelineIndex(ProductRepository productRepository,
+                              ProductPriceHistoryRepository productPriceHistoryRepository,
+                              PriceHistoryWriter priceHistoryWriter,
+                              @Value("${catalog.price-timeline.max-products:100000}") int maxProducts) {
+        this.productRepository = productRepository;
+        this.productPriceHistoryRepository = productPriceHistoryRepository;
+        this.priceHistoryWriter = priceHistoryWriter;
+        this.maxProducts = maxProducts;
+    }
+
+    /**
+     * Preço de um produto num instante.
+     * Deve ser chamado dentro de uma transação (carga lazy).
+     *
+     * @param productId ID do produto
+     * @param at        instante consultado
+     * @return preço vigente, ou null se o produto não existe ou ainda não existia em {@code at}
+     */
+    public PricePoint priceAt(Long productId, LocalDateTime at) {
+        Timeline timeline = timelines.get(productId);
+        if (timeline == null) {
+            load(Set.of(productId));
+            timeline = timelines.get(productId);
+        }
+        return timeline != null ? timeline.priceAt(toMillis(at)) : null;
+    }
+
+    /**
+     * Preços de vários (produto, instante). Carrega as linhas do tempo ausentes em lote.
+     *
+     * @param productIds IDs dos produtos (mesma ordem de {@code instants})
+     * @param instants   instantes consultados
+     * @return preços na mesma ordem (null = não encontrado)
+     */
+    public List<PricePoint> pricesAt(List<Long> productIds, List<LocalDateTime> instants) {
+        Set<Long> missing = productIds.stream()
+                .filter(id -> !timelines.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+        List<PricePoint> result = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            Timeline timeline = timelines.get(productIds.get(i));
+            result.add(timeline != null ? timeline.priceAt(toMillis(instants.get(i))) : null);
+        }
+        return result;
+    }
+
+    /**
+     * Acrescenta uma mudança de preço à linha do tempo já carregada (após commit).
+     * Se o produto está sendo carregado, a mudança é guardada para a carga; se não foi
+     * carregado, nada a fazer: a carga lazy lerá do banco.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceRecorded(ProductPriceHistory history) {
+        synchronized (loadMonitor) {
+            for (PendingLoad load : loads) {
+                if (load.productIds().contains(history.getProductId())) {
+                    load.recorded().add(history);
+                }
+            }
+            timelines.computeIfPresent(history.getProductId(), (id, timeline) ->
+                    timeline.with(toMillis(history.getChangedAt()), toCents(history.getNewPrice())));
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void load(Collection<Long> productIds) {
+        PendingLoad pending = new PendingLoad(Set.copyOf(productIds), new ArrayList<>());
+        synchronized (loadMonitor) {
+            loads.add(pending);
+        }
+        try {
+            // Antes das consultas: o que sair do buffer depois disso já estará no banco
+            List<ProductPriceHistory> unflushed = priceHistoryWriter.unflushed(pending.productIds());
+
+            Map<Long, long[]> products = new HashMap<>();
+            for (Object[] row : productRepository.findPriceInfoByIdIn(productIds)) {
+                products.put((Long) row[0], new long[]{toCents((BigDecimal) row[1]), toMillis((LocalDateTime) row[2])});
+            }
+            Map<Long, List<ProductPriceHistory>> histories = productPriceHistoryRepository
+                    .findByProductIdInOrderByProductIdAscChangedAtAsc(products.keySet()).stream()
+                    .collect(Collectors.groupingBy(ProductPriceHistory::getProductId));
+
+            synchronized (loadMonitor) {
+                evictIfNeeded(products.size());
+                products.forEach((id, info) -> timelines.putIfAbsent(id, Timeline.of(info[0], info[1],
+                        merge(histories.getOrDefault(id, List.of()), unflushed, pending.recorded(), id))));
+            }
+        } finally {
+            synchronized (loadMonitor) {
+                loads.remove(pending);
+            }
+        }
+    }
+
+    /**
+     * Histórico do banco + registros pendentes/recebidos durante a carga, sem duplicatas e em ordem.
+     */
+    private static List<ProductPriceHistory> merge(List<ProductPriceHistory> stored, List<ProductPriceHistory> unflushed,
+                                                   List<ProductPriceHistory> recorded, Long productId) {
+        if (unflushed.isEmpty() && recorded.isEmpty()) {
+            return stored;
+        }
+        List<ProductPriceHistory> merged = new ArrayList<>(stored);
+        Set<List<Long>> seen = new HashSet<>();
+        stored.forEach(history -> seen.add(identity(history)));
+        for (List<ProductPriceHistory> source : List.of(unflushed, recorded)) {
+            for (ProductPriceHistory history : source) {
+                if (history.getProductId().equals(productId) && seen.add(identity(history))) {
+                    merged.add(history);
+                }
+            }
+        }
+        merged.sort(Comparator.comparing(ProductPriceHistory::getChangedAt));
+        return merged;
+    }
+
+    private static List<Long> identity(ProductPriceHistory history) {
+        return List.of(toMillis(history.getChangedAt()), toCents(history.getOldPrice()), toCents(history.getNewPrice()));
+    }
+
+    private void evictIfNeeded(int incoming) {
+        int excess = timelines.size() + incoming - maxProducts;
+        if (excess <= 0) {
+            return;
+        }
+        Iterator<Long> keys = timelines.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        log.debug("Linhas do tempo de preço descartadas para respeitar o limite de {} produtos", maxProducts);
+    }
+
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? Long.MIN_VALUE : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+
+    /**
+     * Carga em andamento: produtos e mudanças recebidas enquanto o banco era lido.
+     */
+    private record PendingLoad(Set<Long> productIds, List<ProductPriceHistory> recorded) {
+    }
+
+    /**
+     * Preço vigente num instante.
+     *
+     * @param price      preço
+     * @param validSince início da vigência (mudança de preço ou criação do produto)
+     */
+    public record PricePoint(BigDecimal price, LocalDateTime validSince) {
+    }
+
+    /**
+     * Linha do tempo imutável de um produto.
+     * <p>
+     * {@code changedAt[i]} → {@code priceCents[i]} (novo preço). Antes da primeira mudança
+     * vale {@code initialCents} (old_price da primeira mudança, ou o preço atual se nunca mudou),
+     * desde {@code createdAt}.
+     * </p>
+     */
+    static final class Timeline {
+
+        private final long createdAt;
+        private final long initialCents;
+        private final long[] changedAt;
+        private final long[] priceCents;
+
+        private Timeline(long createdAt, long initialCents, long[] changedAt, long[] priceCents) {
+            this.createdAt = createdAt;
+            this.initialCents = initialCents;
+            this.changedAt = changedAt;
+            this.priceCents = priceCents;
+        }
+
+        static Timeline of(long currentCents, long createdAt, List<ProductPriceHistory> history) {
+            if (history.isEmpty()) {
+                return new Timeline(createdAt, currentCents, new long[0], new long[0]);
+            }
+            long[] changedAt = new long[history.size()];
+            long[] priceCents = new long[history.size()];
+            for (int i = 0; i < history.size(); i++) {
+                changedAt[i] = toMillis(history.get(i).getChangedAt());
+                priceCents[i] = toCents(history.get(i).getNewPrice());
+            }
+            return new Timeline(createdAt, toCents(history.get(0).getOldPrice()), changedAt, priceCents);
+        }
+
+        /**
+         * Nova linha do tempo com a mudança inserida na posição ordenada.
+         */
+        Timeline with(long at, long cents) {
+            int pos = Arrays.binarySearch(changedAt, at);
+            int insertAt = pos >= 0 ? pos + 1 : -pos - 1;
+            while (insertAt < changedAt.length && changedAt[insertAt] == at) {
+                insertAt++;
+            }
+            long[] newChangedAt = new long[changedAt.length + 1];
+            long[] newPriceCents = new long[priceCents.length + 1];
+            System.arraycopy(changedAt, 0, newChangedAt, 0, insertAt);
+            System.arraycopy(priceCents, 0, newPriceCents, 0, insertAt);
+            newChangedAt[insertAt] = at;
+            newPriceCents[insertAt] = cents;
+            System.arraycopy(changedAt, insertAt, newChangedAt, insertAt + 1, changedAt.length - insertAt);
+            System.arraycopy(priceCents, insertAt, newPriceCents, insertAt + 1, priceCents.length - insertAt);
+            return new Timeline(createdAt, initialCents, newChangedAt, newPriceCents);
+        }
+
+        PricePoint priceAt(long at) {
+            if (at < createdAt) {
+                return null;
+            }
+            // Último índice com changedAt <= at
+            int low = 0;
+            int high = changedAt.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (changedAt[mid] <= at) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (found < 0) {
+                return new PricePoint(BigDecimal.valueOf(initialCents, 2), fromMillis(createdAt));
+            }
+            return new PricePoint(BigDecimal.valueOf(priceCents[found], 2), fromMillis(changedAt[found]));
+        }
+    }
+}
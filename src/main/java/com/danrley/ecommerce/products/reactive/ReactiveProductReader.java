@@ -0,0 +1,306 @@
+package com.danrley.ecommerce.products.reactive;
+
+import com.danrley.ecommerce.products.dto.ProductFilterRequest;
+import com.danrley.ecommerce.products.dto.ProductResponse;
+import com.danrley.ecommerce.products.entity.Category;
+import com.danrley.ecommerce.products.entity.Product;
+import com.danrley.ecommerce.products.entity.Supplier;
+import com.danrley.ecommerce.products.mapper.ProductMapper;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.danrley.ecommerce.shared.exception.ResourceNotFoundException;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura não bloqueante do catálogo (R2DBC), para {@code GET /api/reactive/products}.
+ * <p>
+ * Opcional ({@code catalog.reactive.enabled}): com a flag desligada nenhuma conexão é aberta e as
+ * consultas falham com {@code REACTIVE_CATALOG_DISABLED}. As escritas continuam no JPA; aqui só
+ * há SELECTs, com os mesmos filtros de {@code ProductService.getAllProducts} (exceto metadata) e o
+ * mesmo {@link ProductMapper}: cada linha vira um {@link Product} transiente (com categoria e
+ * fornecedor do JOIN), então a resposta é idêntica à do endpoint bloqueante.
+ * </p>
+ * <p>
+ * O pool R2DBC é criado aqui e não exposto como bean: um {@code ConnectionFactory} no contexto
+ * desligaria a auto-configuração do {@code DataSource} do JPA.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ReactiveProductReader {
+
+    private static final String SELECT_COLUMNS = """
+            SELECT p.id, p.name, p.description, p.price, p.stock_quantity, p.reserved_quantity, p.sku,
+                   p.active, p.metadata, p.created_at, p.updated_at,
+                   c.id AS category_id, c.name AS category_name, c.description AS category_description,
+                   s.id AS supplier_id, s.name AS supplier_name, s.cnpj AS supplier_cnpj,
+                   s.email AS supplier_email, s.phone AS supplier_phone
+            FROM products p
+            JOIN categories c ON c.id = p.category_id
+            LEFT JOIN suppliers s ON s.id = p.supplier_id
+            """;
+
+    /**
+     * Propriedades aceitas em {@code sort} -> coluna (também evita SQL injection na ordenação).
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "name", "p.name",
+            "price", "p.price",
+            "stockQuantity", "p.stock_quantity",
+            "availableQuantity", "p.available_quantity",
+            "sku", "p.sku",
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at"
+    );
+
+    private final ProductMapper productMapper;
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductReader(ProductMapper productMapper,
+                                 @Value("${catalog.reactive.enabled:false}") boolean enabled,
+                                 @Value("${catalog.reactive.url:}") String url,
+                                 @Value("${catalog.reactive.username:}") String username,
+                                 @Value("${catalog.reactive.password:}") String password,
+                                 @Value("${catalog.reactive.pool.initial-size:5}") int initialSize,
+                                 @Value("${catalog.reactive.pool.max-size:20}") int maxSize) {
+        this.productMapper = productMapper;
+        if (!enabled) {
+            this.pool = null;
+            this.databaseClient = null;
+            return;
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+        log.info("Leitura reativa do catálogo habilitada (pool R2DBC de até {} conexões)", maxSize);
+    }
+
+    /**
+     * @param id ID do produto
+     * @return produto, ou erro {@link ResourceNotFoundException}
+     */
+    public Mono<ProductResponse> findById(Long id) {
+        if (databaseClient == null) {
+            return Mono.error(disabled());
+        }
+        return databaseClient.sql(SELECT_COLUMNS + "WHERE p.id = :id")
+                .bind("id", id)
+                .map(this::toResponse)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id)));
+    }
+
+    /**
+     * Página de produtos: contagem e página em paralelo, em conexões distintas do pool.
+     *
+     * @param filters  filtros (sem filtros de metadata)
+     * @param pageable paginação e ordenação
+     * @return página no mesmo formato de {@code GET /api/products}
+     */
+    public Mono<Page<ProductResponse>> findAll(ProductFilterRequest filters, Pageable pageable) {
+        if (databaseClient == null) {
+            return Mono.error(disabled());
+        }
+        if (filters != null && filters.getMetadataFilters() != null && !filters.getMetadataFilters().isEmpty()) {
+            return Mono.error(new BusinessException(
+                    "Filtros de metadata não são suportados na leitura reativa; use GET /api/products",
+                    "UNSUPPORTED_FILTER"));
+        }
+        String orderBy;
+        try {
+            orderBy = orderBy(pageable.getSort());
+        } catch (BusinessException e) {
+            return Mono.error(e);
+        }
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = where(filters, params);
+
+        DatabaseClient.GenericExecuteSpec count = bindAll(
+                databaseClient.sql("SELECT COUNT(*) FROM products p" + where), params);
+        Mono<Long> total = count.map(row -> row.get(0, Long.class)).one();
+
+        String sql = SELECT_COLUMNS + where + orderBy;
+        if (pageable.isPaged()) {
+            sql += " LIMIT :limit OFFSET :offset";
+            params.put("limit", pageable.getPageSize());
+            params.put("offset", pageable.getOffset());
+        }
+        Mono<List<ProductResponse>> content = bindAll(databaseClient.sql(sql), params)
+                .map(this::toResponse)
+                .all()
+                .collectList();
+        return Mono.zip(content, total)
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static BusinessException disabled() {
+        return new BusinessException("Leitura reativa do catálogo desabilitada (catalog.reactive.enabled)",
+                "REACTIVE_CATALOG_DISABLED");
+    }
+
+    /**
+     * Mesmos filtros de {@code ProductService.buildSpecification}.
+     */
+    private static String where(ProductFilterRequest filters, Map<String, Object> params) {
+        if (filters == null) {
+            return "";
+        }
+        List<String> conditions = new ArrayList<>();
+        if (filters.getName() != null && !filters.getName().isBlank()) {
+            conditions.add("LOWER(p.name) LIKE :name");
+            params.put("name", "%" + filters.getName().toLowerCase() + "%");
+        }
+        if (filters.getCategoryId() != null) {
+            conditions.add("p.category_id = :categoryId");
+            params.put("categoryId", filters.getCategoryId());
+        }
+        if (filters.getSupplierId() != null) {
+            conditions.add("p.supplier_id = :supplierId");
+            params.put("supplierId", filters.getSupplierId());
+        }
+        if (filters.getMinPrice() != null) {
+            conditions.add("p.price >= :minPrice");
+            params.put("minPrice", filters.getMinPrice());
+        }
+        if (filters.getMaxPrice() != null) {
+            conditions.add("p.price <= :maxPrice");
+            params.put("maxPrice", filters.getMaxPrice());
+        }
+        if (filters.getActive() != null) {
+            conditions.add("p.active = :active");
+            params.put("active", filters.getActive());
+        }
+        if (filters.getInStock() != null) {
+            conditions.add(filters.getInStock() ? "p.available_quantity > 0" : "p.available_quantity <= 0");
+        }
+        if (filters.getMinAvailable() != null) {
+            conditions.add("p.available_quantity >= :minAvailable");
+            params.put("minAvailable", filters.getMinAvailable());
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /**
+     * ORDER BY a partir do {@link Sort}, com desempate por ID (paginação por OFFSET estável).
+     */
+    private static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BusinessException("Ordenação não suportada: " + order.getProperty(), "INVALID_SORT");
+            }
+            byId |= column.equals("p.id");
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (!byId) {
+            orders.add("p.id ASC");
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec,
+                                                             Map<String, Object> params) {
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec;
+    }
+
+    private ProductResponse toResponse(Readable row) {
+        Category category = new Category();
+        category.setId(row.get("category_id", Long.class));
+        category.setName(row.get("category_name", String.class));
+        category.setDescription(row.get("category_description", String.class));
+
+        Long supplierId = row.get("supplier_id", Long.class);
+        Supplier supplier = null;
+        if (supplierId != null) {
+            supplier = new Supplier();
+            supplier.setId(supplierId);
+            supplier.setName(row.get("supplier_name", String.class));
+            supplier.setCnpj(row.get("supplier_cnpj", String.class));
+            supplier.setEmail(row.get("supplier_email", String.class));
+            supplier.setPhone(row.get("supplier_phone", String.class));
+        }
+
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        product.setName(row.get("name", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setPrice(row.get("price", BigDecimal.class));
+        product.setStockQuantity(row.get("stock_quantity", Integer.class));
+        product.setReservedQuantity(row.get("reserved_quantity", Integer.class));
+        product.setSku(row.get("sku", String.class));
+        product.setActive(row.get("active", Boolean.class));
+        product.setMetadata(RawJsonMetadata.fromTrusted(json(row.get("metadata"))));
+        product.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        product.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        product.setCategory(category);
+        product.setSupplier(supplier);
+        return productMapper.toResponse(product);
+    }
+
+    /**
+     * Coluna JSON: o driver MySQL devolve String; outros (ex: H2) devolvem bytes.
+     */
+    private static String json(Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (value instanceof ByteBuffer buffer) {
+            return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+        }
+        return value.toString();
+    }
+}
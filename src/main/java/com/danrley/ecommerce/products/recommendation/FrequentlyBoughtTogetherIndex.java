@@ -0,0 +1,512 @@
+package com.danrley.ecommerce.products.recommendation;
+
+import com.danrley.ecommerce.orders.event.OrderApprovedEvent;
+import com.danrley.ecommerce.orders.repository.OrderItemRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * "Comprados juntos": para cada produto, os produtos que mais aparecem nos mesmos pedidos APROVADO.
+ * <p>
+ * <strong>Build</strong> (startup e a cada {@code catalog.recommendations.rebuild-interval-ms}):
+ * </p>
+ * <ul>
+ *   <li>Uma thread faz stream de {@code order_items} ordenado por pedido e monta as cestas (produtos
+ *       distintos do pedido); cestas com mais de {@code max-basket-size} produtos são ignoradas
+ *       (pedidos de atacado geram pares quadráticos e pouco sinal)</li>
+ *   <li>Lotes de cestas são entregues a {@code parallelism} workers; cada worker é dono dos produtos
+ *       do seu shard e conta os pares {@code (a, b)} com {@code a} no shard numa
+ *       {@link LongIntHashMap} (chave {@code a << 32 | b}, sem boxing)</li>
+ *   <li>Cada worker extrai o top-N ({@code neighbours}) dos seus produtos, só com pares vistos em
+ *       pelo menos {@code min-support} pedidos</li>
+ * </ul>
+ * <p>
+ * <strong>Memória:</strong> cada shard tem {@code max-heap-mb / parallelism} para a matriz. Um
+ * shard cheio descarta os pares de menor contagem (1, depois 2...) até liberar metade da
+ * tabela - pares raros, que dificilmente entrariam no top-N. A matriz da geração anterior é
+ * liberada no início do rebuild.
+ * </p>
+ * <p>
+ * <strong>Incremental:</strong> cada {@link OrderApprovedEvent} (após o commit) soma os pares
+ * do pedido na matriz e atualiza o top-N dos produtos afetados (copy-on-write; leituras sem lock).
+ * Durante o rebuild os eventos ficam pendentes e são aplicados na nova geração. Um pagamento
+ * pode comitar depois do início do rebuild mas antes da leitura do stream (entra nos dois); por
+ * isso os IDs dos pedidos lidos pelo stream são guardados ({@link Roaring64Bitmap}, IDs quase
+ * sequenciais ocupam poucos KB) e os pendentes já lidos são descartados.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class FrequentlyBoughtTogetherIndex {
+
+    private static final int BATCH_BASKETS = 1000;
+    private static final int QUEUED_BATCHES = 8;
+    private static final long MAX_PRODUCT_ID = 0xFFFFFFFFL;
+    private static final Neighbour[] NONE = new Neighbour[0];
+    private static final Comparator<Neighbour> MOST_ORDERS_FIRST =
+            Comparator.comparingInt(Neighbour::orders).reversed().thenComparingLong(Neighbour::productId);
+
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final int neighbours;
+    private final int minSupport;
+    private final int maxBasketSize;
+    private final int parallelism;
+    private final long maxHeapBytes;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final Object writeMonitor = new Object();
+
+    private volatile Generation generation;
+    private List<PendingBasket> pendingDuringRebuild;
+
+    public FrequentlyBoughtTogetherIndex(OrderItemRepository orderItemRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                         @Value("${catalog.recommendations.neighbours:10}") int neighbours,
+                                         @Value("${catalog.recommendations.min-support:2}") int minSupport,
+                                         @Value("${catalog.recommendations.max-basket-size:50}") int maxBasketSize,
+                                         @Value("${catalog.recommendations.parallelism:0}") int parallelism,
+                                         @Value("${catalog.recommendations.max-heap-mb:256}") long maxHeapMb) {
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.neighbours = neighbours;
+        this.minSupport = Math.max(1, minSupport);
+        this.maxBasketSize = maxBasketSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxHeapBytes = maxHeapMb * 1024 * 1024;
+    }
+
+    /**
+     * Produto comprado junto e em quantos pedidos.
+     *
+     * @param productId produto
+     * @param orders    pedidos APROVADO com os dois produtos (aproximado se houve descarte)
+     */
+    public record Neighbour(long productId, int orders) {
+    }
+
+    /**
+     * Pedido aprovado durante o rebuild, aplicado na nova geração se o stream não o leu.
+     */
+    private record PendingBasket(Long orderId, long[] productIds) {
+    }
+
+    /**
+     * Carga inicial em background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    /**
+     * Rebuild periódico (recupera os pares descartados por falta de memória).
+     */
+    @Scheduled(fixedDelayString = "${catalog.recommendations.rebuild-interval-ms:86400000}",
+            initialDelayString = "${catalog.recommendations.rebuild-interval-ms:86400000}")
+    public void rebuildPeriodically() {
+        rebuildAsync();
+    }
+
+    /**
+     * Reconstrói o índice em background (no máximo um rebuild por vez).
+     */
+    public void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * @param productId produto
+     * @param limit     máximo de itens
+     * @return produtos mais comprados junto com este, do mais frequente ao menos frequente
+     * @throws BusinessException se o índice ainda estiver sendo carregado
+     */
+    public List<Neighbour> neighbours(long productId, int limit) {
+        Generation current = generation;
+        if (current == null) {
+            throw new BusinessException("Recomendações ainda em construção. Tente novamente em instantes.",
+                    "RECOMMENDATIONS_NOT_READY");
+        }
+        Neighbour[] list = current.served.getOrDefault(productId, NONE);
+        return Arrays.asList(list).subList(0, Math.min(Math.max(limit, 0), list.length));
+    }
+
+    public int getNeighbours() {
+        return neighbours;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderApproved(OrderApprovedEvent event) {
+        long[] basket = basket(event.items().stream().mapToLong(OrderApprovedEvent.Item::productId).toArray());
+        if (basket == null) {
+            return;
+        }
+        synchronized (writeMonitor) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(new PendingBasket(event.orderId(), basket));
+                return;
+            }
+            Generation current = generation;
+            if (current != null) {
+                current.apply(basket);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return generation != null;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void rebuild() {
+        synchronized (writeMonitor) {
+            pendingDuringRebuild = new ArrayList<>();
+            Generation current = generation;
+            if (current != null) {
+                generation = new Generation(null, current.served); // libera a matriz; segue servindo
+            }
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime until = LocalDateTime.now();
+        int capacity = LongIntHashMap.capacityFor(maxHeapBytes / parallelism);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "fbt-build-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<BlockingQueue<List<long[]>>> queues = new ArrayList<>(parallelism);
+            List<Future<Shard>> futures = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                BlockingQueue<List<long[]>> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+                int shardIndex = i;
+                queues.add(queue);
+                futures.add(workers.submit(() -> countShard(shardIndex, queue, capacity)));
+            }
+            Roaring64Bitmap streamedOrders = new Roaring64Bitmap();
+            long[] stats = readOnlyTransaction.execute(status -> streamBaskets(until, queues, streamedOrders));
+
+            Shard[] shards = new Shard[parallelism];
+            Map<Long, Neighbour[]> served = new ConcurrentHashMap<>();
+            long pairs = 0;
+            int pruneFloor = 0;
+            for (int i = 0; i < parallelism; i++) {
+                shards[i] = futures.get(i).get();
+                served.putAll(shards[i].topNeighbours);
+                shards[i].topNeighbours = null;
+                pairs += shards[i].pairs.size();
+                pruneFloor = Math.max(pruneFloor, shards[i].pruneFloor);
+            }
+
+            Generation fresh = new Generation(shards, served);
+            int pending = 0;
+            int duplicated = 0;
+            synchronized (writeMonitor) {
+                for (PendingBasket basket : pendingDuringRebuild) {
+                    if (basket.orderId() != null && streamedOrders.contains(basket.orderId())) {
+                        duplicated++; // já contado pelo stream
+                    } else {
+                        fresh.apply(basket.productIds());
+                        pending++;
+                    }
+                }
+                generation = fresh;
+                pendingDuringRebuild = null;
+            }
+            log.info("Índice 'comprados juntos' carregado: {} pedidos ({} cestas ignoradas), {} pares, {} produtos, "
+                            + "{} workers, {} pendentes aplicados ({} já lidos) em {}ms{}",
+                    stats[0], stats[1], pairs, served.size(), parallelism, pending, duplicated,
+                    System.currentTimeMillis() - start,
+                    pruneFloor > 0 ? " (pares com até " + pruneFloor + " pedidos descartados por memória)" : "");
+        } catch (RuntimeException | ExecutionException e) {
+            abortRebuild(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortRebuild(e);
+        } finally {
+            workers.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    private void abortRebuild(Exception e) {
+        synchronized (writeMonitor) {
+            pendingDuringRebuild = null;
+        }
+        log.warn("Falha ao construir índice 'comprados juntos': {}", e.getMessage());
+    }
+
+    /**
+     * Lê as cestas e entrega lotes a todos os workers; sempre termina com o lote vazio (fim).
+     *
+     * @param streamedOrders recebe o ID de cada pedido lido
+     * @return [cestas entregues, cestas ignoradas por tamanho]
+     */
+    private long[] streamBaskets(LocalDateTime until, List<BlockingQueue<List<long[]>>> queues,
+                                 Roaring64Bitmap streamedOrders) {
+        long[] stats = new long[2];
+        try (Stream<Object[]> rows = orderItemRepository.streamApprovedBasketItems(until)) {
+            List<long[]> batch = new ArrayList<>(BATCH_BASKETS);
+            long[] items = new long[16];
+            int itemCount = 0;
+            long currentOrder = Long.MIN_VALUE;
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                long orderId = (Long) row[0];
+                if (orderId != currentOrder) {
+                    batch = addBasket(batch, Arrays.copyOf(items, itemCount), stats, queues);
+                    itemCount = 0;
+                    currentOrder = orderId;
+                    streamedOrders.addLong(orderId);
+                }
+                if (itemCount == items.length) {
+                    items = Arrays.copyOf(items, itemCount * 2);
+                }
+                items[itemCount++] = (Long) row[1];
+            }
+            batch = addBasket(batch, Arrays.copyOf(items, itemCount), stats, queues);
+            if (!batch.isEmpty()) {
+                publish(batch, queues);
+            }
+        } finally {
+            publish(List.of(), queues);
+        }
+        return stats;
+    }
+
+    private List<long[]> addBasket(List<long[]> batch, long[] productIds, long[] stats,
+                                   List<BlockingQueue<List<long[]>>> queues) {
+        if (productIds.length == 0) {
+            return batch;
+        }
+        long[] basket = basket(productIds);
+        if (basket == null) {
+            stats[1] += productIds.length > 1 ? 1 : 0;
+            return batch;
+        }
+        stats[0]++;
+        batch.add(basket);
+        if (batch.size() < BATCH_BASKETS) {
+            return batch;
+        }
+        publish(batch, queues);
+        return new ArrayList<>(BATCH_BASKETS);
+    }
+
+    private static void publish(List<long[]> batch, List<BlockingQueue<List<long[]>>> queues) {
+        try {
+            for (BlockingQueue<List<long[]>> queue : queues) {
+                queue.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rebuild interrompido", e);
+        }
+    }
+
+    /**
+     * Worker: conta os pares dos produtos do shard até o lote vazio e extrai o top-N.
+     * Em caso de erro continua consumindo (o leitor nunca fica bloqueado) e falha no fim.
+     */
+    private Shard countShard(int shardIndex, BlockingQueue<List<long[]>> queue, int capacity) throws InterruptedException {
+        Shard shard = new Shard(capacity);
+        RuntimeException failure = null;
+        for (List<long[]> batch = queue.take(); !batch.isEmpty(); batch = queue.take()) {
+            if (failure != null) {
+                continue;
+            }
+            try {
+                for (long[] basket : batch) {
+                    for (long a : basket) {
+                        if (shardOf(a) == shardIndex) {
+                            for (long b : basket) {
+                                if (b != a) {
+                                    shard.increment(a, b);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        shard.topNeighbours = topNeighbours(shard.pairs);
+        return shard;
+    }
+
+    private Map<Long, Neighbour[]> topNeighbours(LongIntHashMap pairs) {
+        Map<Long, List<Neighbour>> candidates = new HashMap<>();
+        pairs.forEach((key, orders) -> {
+            if (orders >= minSupport) {
+                List<Neighbour> list = candidates.computeIfAbsent(key >>> 32, k -> new ArrayList<>());
+                list.add(new Neighbour(key & MAX_PRODUCT_ID, orders));
+                if (list.size() > neighbours * 4) {
+                    list.sort(MOST_ORDERS_FIRST);
+                    list.subList(neighbours, list.size()).clear();
+                }
+            }
+        });
+        Map<Long, Neighbour[]> top = new HashMap<>(candidates.size() * 2);
+        candidates.forEach((productId, list) -> {
+            list.sort(MOST_ORDERS_FIRST);
+            top.put(productId, list.subList(0, Math.min(neighbours, list.size())).toArray(NONE));
+        });
+        return top;
+    }
+
+    /**
+     * Produtos distintos e ordenados da cesta; null se não formam pares ou a cesta é grande demais.
+     */
+    private long[] basket(long[] productIds) {
+        long[] basket = Arrays.stream(productIds)
+                .filter(id -> id > 0 && id <= MAX_PRODUCT_ID)
+                .sorted()
+                .distinct()
+                .toArray();
+        return basket.length < 2 || basket.length > maxBasketSize ? null : basket;
+    }
+
+    private int shardOf(long productId) {
+        return Math.floorMod(Long.hashCode(productId * 0x9E3779B97F4A7C15L), parallelism);
+    }
+
+    /**
+     * Pares {@code (a, b)} dos produtos {@code a} de um shard.
+     */
+    private static final class Shard {
+
+        final LongIntHashMap pairs;
+        final int capacity;
+        int pruneFloor;
+        Map<Long, Neighbour[]> topNeighbours;
+
+        Shard(int capacity) {
+            this.pairs = new LongIntHashMap(1024, capacity);
+            this.capacity = capacity;
+        }
+
+        /**
+         * @return pedidos em comum de {@code a} e {@code b} após o incremento
+         */
+        int increment(long a, long b) {
+            long key = a << 32 | b;
+            int orders = pairs.addTo(key, 1);
+            while (orders == LongIntHashMap.FULL) {
+                prune();
+                orders = pairs.addTo(key, 1);
+            }
+            return orders;
+        }
+
+        /**
+         * Descarta os pares de menor contagem até a tabela ficar com no máximo metade da carga máxima.
+         */
+        private void prune() {
+            do {
+                pairs.removeIf(++pruneFloor);
+            } while (pairs.size() > capacity * 3 / 8);
+        }
+    }
+
+    /**
+     * Matriz (null durante o rebuild) + top-N servido.
+     */
+    private final class Generation {
+
+        final Shard[] shards;
+        final Map<Long, Neighbour[]> served;
+
+        Generation(Shard[] shards, Map<Long, Neighbour[]> served) {
+            this.shards = shards;
+            this.served = served;
+        }
+
+        /**
+         * Soma os pares de uma cesta e atualiza o top-N dos produtos dela (chamado com writeMonitor).
+         */
+        void apply(long[] basket) {
+            if (shards == null) {
+                return;
+            }
+            for (long a : basket) {
+                Shard shard = shards[shardOf(a)];
+                for (long b : basket) {
+                    if (b != a) {
+                        update(a, b, shard.increment(a, b));
+                    }
+                }
+            }
+        }
+
+        private void update(long a, long b, int orders) {
+            Neighbour[] current = served.getOrDefault(a, NONE);
+            int listed = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].productId() == b) {
+                    listed = i;
+                    orders = Math.max(orders, current[i].orders() + 1); // par pode ter sido descartado da matriz
+                    break;
+                }
+            }
+            if (orders < minSupport) {
+                return;
+            }
+            if (listed < 0 && current.length >= neighbours && orders <= current[current.length - 1].orders()) {
+                return;
+            }
+            List<Neighbour> updated = new ArrayList<>(current.length + 1);
+            for (int i = 0; i < current.length; i++) {
+                if (i != listed) {
+                    updated.add(current[i]);
+                }
+            }
+            updated.add(new Neighbour(b, orders));
+            updated.sort(MOST_ORDERS_FIRST);
+            served.put(a, updated.subList(0, Math.min(neighbours, updated.size())).toArray(NONE));
+        }
+    }
+}
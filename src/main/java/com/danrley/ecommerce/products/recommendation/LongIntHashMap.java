@@ -0,0 +1,167 @@
+package com.danrley.ecommerce.products.recommendation;
+
+/**
+ * Mapa {@code long -> int} com endereçamento aberto (sondagem linear), sem boxing.
+ * <p>
+ * Um {@code HashMap<Long, Integer>} gasta ~80 bytes por entrada (nó, Long, Integer); aqui são
+ * 12 bytes por posição da tabela, com fator de carga máximo de 0,75. A tabela cresce até
+ * {@code maxCapacity}; cheia, {@link #addTo} devolve {@link #FULL} e o chamador decide o que
+ * descartar ({@link #removeIf}). A chave {@code 0} é reservada (posição vazia). Não é thread-safe.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+final class LongIntHashMap {
+
+    /**
+     * Retorno de {@link #addTo} quando a chave é nova e a tabela atingiu {@code maxCapacity}.
+     */
+    static final int FULL = -1;
+
+    private static final int BYTES_PER_SLOT = Long.BYTES + Integer.BYTES;
+
+    private final int maxCapacity;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * @param initialCapacity posições iniciais (arredondado para potência de 2)
+     * @param maxCapacity     máximo de posições (potência de 2)
+     */
+    LongIntHashMap(int initialCapacity, int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        allocate(Math.min(Integer.highestOneBit(Math.max(initialCapacity, 16) - 1) << 1, maxCapacity));
+    }
+
+    /**
+     * Maior capacidade (potência de 2) que cabe no orçamento mesmo no pico de {@link #removeIf},
+     * quando a tabela antiga e a nova (do mesmo tamanho) coexistem.
+     *
+     * @param bytes orçamento em bytes
+     */
+    static int capacityFor(long bytes) {
+        long slots = bytes / (2L * BYTES_PER_SLOT);
+        return (int) Math.max(16, Long.highestOneBit(Math.min(slots, 1 << 30)));
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave (0 se ausente).
+     *
+     * @return novo valor, ou {@link #FULL} se a chave é nova e não cabe (nada é alterado)
+     * @throws IllegalArgumentException se a chave for {@code 0} (reservada)
+     */
+    int addTo(long key, int delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Chave 0 é reservada para posições vazias");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return values[slot];
+        }
+        if (size >= resizeAt) {
+            if (keys.length >= maxCapacity) {
+                return FULL;
+            }
+            rehash(keys.length << 1);
+            slot = find(key);
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        size++;
+        return delta;
+    }
+
+    int get(long key) {
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Remove as entradas com valor menor ou igual a {@code maxValue}.
+     *
+     * @return entradas removidas
+     */
+    int removeIf(int maxValue) {
+        int before = size;
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldValues[i] > maxValue) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+        return before - size;
+    }
+
+    /**
+     * Percorre as entradas (ordem da tabela).
+     */
+    void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, int value);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 0.75f);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void put(long key, int value) {
+        int slot = find(key);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Posição da chave, ou a posição vazia onde ela entraria.
+     */
+    private int find(long key) {
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -4,6 +4,7 @@ import com.danrley.ecommerce.products.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 /**
  * Repositório JPA para acesso aos dados de {@link Category}.
@@ -22,4 +23,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return lista de categorias com active=true
      */
     List<Category> findByActiveTrue();
+
+    /**
+     * @param since instante de referência
+     * @return true se alguma categoria foi alterada depois de {@code since}
+     */
+    boolean existsByUpdatedAtAfter(LocalDateTime since);
 }
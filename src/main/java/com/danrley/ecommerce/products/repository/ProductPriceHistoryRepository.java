@@ -1,12 +1,15 @@
 package com.danrley.ecommerce.products.repository;
 
 import com.danrley.ecommerce.products.entity.ProductPriceHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,24 +21,18 @@ import java.util.List;
  * - Mudanças em um período específico
  * - Última mudança de preço
  *
+ * Consultas de histórico (por produto, período, usuário, aumento/redução) são paginadas
+ * por keyset via Specification (ver ProductPriceHistoryService); nenhuma retorna a
+ * tabela inteira.
+ *
  * Relacionado ao ADR-004: Auditoria Seletiva
  *
  * @author Danrley Brasil dos Santos
  * @since 1.0
  */
 @Repository
-public interface ProductPriceHistoryRepository extends JpaRepository<ProductPriceHistory, Long> {
-
-    /**
-     * Busca histórico de mudanças de preço de um produto específico.
-     * Ordenado por data (mais recente primeiro).
-     *
-     * Caso de uso: "Mostrar histórico de preços do produto X"
-     *
-     * @param productId ID do produto
-     * @return Lista de mudanças de preço do produto
-     */
-    List<ProductPriceHistory> findByProductIdOrderByChangedAtDesc(Long productId);
+public interface ProductPriceHistoryRepository extends JpaRepository<ProductPriceHistory, Long>,
+        JpaSpecificationExecutor<ProductPriceHistory> {
 
     /**
      * Busca a última mudança de preço de um produto.
@@ -48,21 +45,6 @@ public interface ProductPriceHistoryRepository extends JpaRepository<ProductPric
     @Query("SELECT pph FROM ProductPriceHistory pph WHERE pph.productId = :productId ORDER BY pph.changedAt DESC LIMIT 1")
     ProductPriceHistory findLatestByProductId(@Param("productId") Long productId);
 
-    /**
-     * Busca mudanças de preço em um período específico.
-     *
-     * Caso de uso: "Quais produtos tiveram mudança de preço em outubro?"
-     *
-     * @param startDate Data inicial
-     * @param endDate Data final
-     * @return Lista de mudanças no período
-     */
-    @Query("SELECT pph FROM ProductPriceHistory pph WHERE pph.changedAt BETWEEN :startDate AND :endDate ORDER BY pph.changedAt DESC")
-    List<ProductPriceHistory> findByChangedAtBetween(
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
-    );
-
     /**
      * Conta quantas mudanças de preço um produto teve.
      *
@@ -79,65 +61,80 @@ public interface ProductPriceHistoryRepository extends JpaRepository<ProductPric
      *
      * Caso de uso: "Produtos em promoção constante (possível problema de margem)"
      *
-     * @param startDate Data inicial
-     * @param endDate Data final
+     * @param startDate Data inicial (inclusiva)
+     * @param endDate Data final (exclusiva)
      * @param minChanges Número mínimo de mudanças
-     * @return Lista de productIds com alta volatilidade
+     * @param pageable limite de produtos retornados (sem contagem total)
+     * @return Linhas [productId, quantidade de mudanças], mais voláteis primeiro
      */
     @Query("""
-        SELECT pph.productId 
+        SELECT pph.productId, COUNT(pph.id)
         FROM ProductPriceHistory pph 
-        WHERE pph.changedAt BETWEEN :startDate AND :endDate 
+        WHERE pph.changedAt >= :startDate AND pph.changedAt < :endDate
         GROUP BY pph.productId 
         HAVING COUNT(pph.id) >= :minChanges
         ORDER BY COUNT(pph.id) DESC
         """)
-    List<Long> findHighVolatilityProducts(
+    List<Object[]> findHighVolatilityProducts(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
-            @Param("minChanges") Long minChanges
+            @Param("minChanges") Long minChanges,
+            Pageable pageable
     );
 
     /**
-     * Busca mudanças realizadas por um usuário específico.
-     *
-     * Caso de uso: Auditoria - "Quais mudanças de preço o admin X fez?"
-     *
-     * @param changedBy Email do usuário
-     * @return Lista de mudanças realizadas pelo usuário
-     */
-    List<ProductPriceHistory> findByChangedByOrderByChangedAtDesc(String changedBy);
-
-    /**
-     * Busca mudanças de preço com um motivo específico.
+     * Busca mudanças de preço pelo motivo (full-text), uma página por vez.
+     * <p>
+     * Usa o índice FULLTEXT {@code ft_product_price_reason} (MySQL, modo booleano) no lugar do
+     * {@code LIKE '%...%'}, que não usa índice. Paginação por keyset em {@code (changed_at, id)}:
+     * a primeira página recebe um cursor sentinela maior que qualquer registro.
+     * </p>
      *
      * Caso de uso: "Quais produtos estão em promoção?"
      *
-     * @param reason Motivo (ex: "Promoção", "Black Friday")
-     * @return Lista de mudanças com o motivo especificado
+     * @param terms expressão booleana (ex: "+promo* +novembro*")
+     * @param productId produto (null = todos)
+     * @param changedBy usuário (null = todos)
+     * @param direction INCREASE, DECREASE ou null
+     * @param from início do período (inclusivo)
+     * @param to fim do período (exclusivo)
+     * @param cursorAt changed_at do último item da página anterior
+     * @param cursorId id do último item da página anterior
+     * @param limit tamanho da página
+     * @return Mudanças ordenadas por data (mais recente primeiro)
      */
-    @Query("SELECT pph FROM ProductPriceHistory pph WHERE LOWER(pph.reason) LIKE LOWER(CONCAT('%', :reason, '%')) ORDER BY pph.changedAt DESC")
-    List<ProductPriceHistory> findByReasonContaining(@Param("reason") String reason);
-
-    /**
-     * Busca mudanças de preço que foram aumentos (new > old).
-     *
-     * Caso de uso: "Produtos que tiveram aumento de preço no último mês"
-     *
-     * @param startDate Data inicial
-     * @return Lista de aumentos de preço
-     */
-    @Query("SELECT pph FROM ProductPriceHistory pph WHERE pph.newPrice > pph.oldPrice AND pph.changedAt >= :startDate ORDER BY pph.changedAt DESC")
-    List<ProductPriceHistory> findPriceIncreases(@Param("startDate") LocalDateTime startDate);
+    @Query(value = """
+        SELECT * FROM product_price_history
+        WHERE MATCH(reason) AGAINST (:terms IN BOOLEAN MODE)
+          AND (:productId IS NULL OR product_id = :productId)
+          AND (:changedBy IS NULL OR changed_by = :changedBy)
+          AND (:direction IS NULL
+               OR (:direction = 'INCREASE' AND new_price > old_price)
+               OR (:direction = 'DECREASE' AND new_price < old_price))
+          AND changed_at >= :from AND changed_at < :to
+          AND (changed_at < :cursorAt OR (changed_at = :cursorAt AND id < :cursorId))
+        ORDER BY changed_at DESC, id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ProductPriceHistory> searchByReason(
+            @Param("terms") String terms,
+            @Param("productId") Long productId,
+            @Param("changedBy") String changedBy,
+            @Param("direction") String direction,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
 
     /**
-     * Busca mudanças de preço que foram reduções (new < old).
+     * Histórico completo de vários produtos, em ordem cronológica por produto.
      *
-     * Caso de uso: "Produtos que entraram em promoção no último mês"
+     * Caso de uso: carga em lote das linhas do tempo de preço (PriceTimelineIndex)
      *
-     * @param startDate Data inicial
-     * @return Lista de reduções de preço
+     * @param productIds IDs dos produtos
+     * @return Mudanças ordenadas por produto e data (mais antiga primeiro)
      */
-    @Query("SELECT pph FROM ProductPriceHistory pph WHERE pph.newPrice < pph.oldPrice AND pph.changedAt >= :startDate ORDER BY pph.changedAt DESC")
-    List<ProductPriceHistory> findPriceDecreases(@Param("startDate") LocalDateTime startDate);
-}
\ No newline at end of file
+    List<ProductPriceHistory> findByProductIdInOrderByProductIdAscChangedAtAsc(Collection<Long> productIds);
+}
@@ -1,19 +1,30 @@
 package com.danrley.ecommerce.products.repository;
 
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.dto.ProductVersion;
 import com.danrley.ecommerce.products.entity.Category;
 import com.danrley.ecommerce.products.entity.Product;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repositório de produtos com suporte a lock pessimista para controle de estoque.
@@ -26,6 +37,57 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     Optional<Product> findBySku(String sku);
 
+    /**
+     * Busca vários produtos pelo SKU numa única consulta (IN), com categoria, fornecedor,
+     * descrição e metadata.
+     *
+     * @param skus SKUs (o chamador limita o tamanho do IN)
+     * @return produtos encontrados (sem ordem definida)
+     */
+    @EntityGraph(attributePaths = {"category", "supplier", "description", "metadata"})
+    @Query("SELECT p FROM Product p WHERE p.sku IN :skus")
+    List<Product> findBySkuIn(@Param("skus") Collection<String> skus);
+
+    /**
+     * Busca vários produtos pelo ID numa única consulta (IN), com categoria e fornecedor.
+     * Descrição e metadata ficam por carregar (pedidos e pagamentos não as leem).
+     *
+     * @param ids IDs (o chamador limita o tamanho do IN)
+     * @return produtos encontrados (sem ordem definida)
+     */
+    @EntityGraph(attributePaths = {"category", "supplier"})
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Como {@link #findWithDetailsByIdIn}, mas já com descrição e metadata (mesmo SELECT),
+     * para montar o {@code ProductResponse} completo.
+     *
+     * @param ids IDs (o chamador limita o tamanho do IN)
+     * @return produtos encontrados (sem ordem definida)
+     */
+    @EntityGraph(attributePaths = {"category", "supplier", "description", "metadata"})
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findWithContentByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca um produto com categoria, fornecedor, descrição e metadata num único SELECT.
+     *
+     * @param id identificador do produto
+     * @return produto completo
+     */
+    @EntityGraph(attributePaths = {"category", "supplier", "description", "metadata"})
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findWithContentById(@Param("id") Long id);
+
+    /**
+     * Listagem com filtros: categoria, fornecedor, descrição e metadata vêm no mesmo SELECT
+     * da página (sem um SELECT por produto para os atributos lazy).
+     */
+    @Override
+    @EntityGraph(attributePaths = {"category", "supplier", "description", "metadata"})
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
     /**
      * Lista produtos ativos de uma categoria com paginação.
      */
@@ -50,4 +112,150 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      * @return true se o SKU já existir, false caso contrário.
      */
     boolean existsBySku(String sku); // <--- ADICIONE ESTA LINHA
-}
\ No newline at end of file
+
+    /**
+     * Stream de todos os produtos como projeção enxuta (sem description/metadata).
+     * Usado para carregar os índices em memória do catálogo no startup.
+     * Precisa ser consumido dentro de uma transação e fechado (try-with-resources).
+     *
+     * @return stream de snapshots
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.danrley.ecommerce.products.dto.ProductSnapshot(" +
+            "p.id, p.name, p.sku, p.category.id, s.id, p.price, p.stockQuantity, p.reservedQuantity, p.active) " +
+            "FROM Product p LEFT JOIN p.supplier s")
+    Stream<ProductSnapshot> streamAllSnapshots();
+
+    /**
+     * Stream de todos os produtos no formato do snapshot do catálogo:
+     * [id, name, sku, categoryId, supplierId, price, stockQuantity, reservedQuantity, active, metadata, updatedAt].
+     * Precisa ser consumido dentro de uma transação e fechado (try-with-resources).
+     *
+     * @return stream de linhas
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p.id, p.name, p.sku, p.category.id, s.id, p.price, p.stockQuantity, p.reservedQuantity, " +
+            "p.active, p.metadata, p.updatedAt FROM Product p LEFT JOIN p.supplier s")
+    Stream<Object[]> streamAllForSnapshot();
+
+    /**
+     * Produtos alterados a partir de um instante, no formato de {@link #streamAllForSnapshot()}.
+     * Usado para reconciliar o snapshot do catálogo com o banco no warm start.
+     *
+     * @param since instante (inclusive) da última alteração contida no snapshot
+     * @return linhas alteradas
+     */
+    @Query("SELECT p.id, p.name, p.sku, p.category.id, s.id, p.price, p.stockQuantity, p.reservedQuantity, " +
+            "p.active, p.metadata, p.updatedAt FROM Product p LEFT JOIN p.supplier s WHERE p.updatedAt >= :since")
+    List<Object[]> findForSnapshotUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * IDs dos produtos alterados a partir de um instante (segmentos do feed a regravar).
+     *
+     * @param since instante (inclusive)
+     * @return IDs alterados
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Maior ID de produto (quantidade de segmentos do feed).
+     *
+     * @return maior ID ou null se não houver produtos
+     */
+    @Query("SELECT MAX(p.id) FROM Product p")
+    Long findMaxId();
+
+    /**
+     * Produtos ativos de uma faixa de IDs, no formato do feed de parceiros:
+     * [id, sku, name, description, price, stockQuantity, reservedQuantity, categoria, fornecedor, metadata, updatedAt].
+     *
+     * @param fromId primeiro ID (inclusive)
+     * @param toId   último ID (exclusive)
+     * @return linhas ordenadas por ID
+     */
+    @Query("SELECT p.id, p.sku, p.name, p.description, p.price, p.stockQuantity, p.reservedQuantity, " +
+            "c.name, s.name, p.metadata, p.updatedAt FROM Product p LEFT JOIN p.category c LEFT JOIN p.supplier s " +
+            "WHERE p.active = true AND p.id >= :fromId AND p.id < :toId ORDER BY p.id")
+    List<Object[]> findFeedRowsByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * IDs dos produtos cujo nome contém o termo (case insensitive).
+     * Combinado com o índice de facetas quando há filtro por nome.
+     *
+     * @param name termo de busca
+     * @return IDs encontrados
+     */
+    @Query("SELECT p.id FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<Long> findIdsByNameContaining(@Param("name") String name);
+
+    /**
+     * Stream de todos os SKUs cadastrados (dedupe da importação em massa).
+     * Precisa ser consumido dentro de uma transação e fechado.
+     *
+     * @return stream de SKUs não nulos
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IS NOT NULL")
+    Stream<String> streamAllSkus();
+
+    /**
+     * SKUs, dentre os informados, que já estão cadastrados.
+     *
+     * @param skus SKUs candidatos
+     * @return SKUs existentes
+     */
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    /**
+     * Snapshots (projeção enxuta) dos produtos pelos IDs.
+     *
+     * @param ids IDs dos produtos
+     * @return snapshots encontrados (sem ordem garantida)
+     */
+    @Query("SELECT new com.danrley.ecommerce.products.dto.ProductSnapshot(" +
+            "p.id, p.name, p.sku, p.category.id, s.id, p.price, p.stockQuantity, p.reservedQuantity, p.active) " +
+            "FROM Product p LEFT JOIN p.supplier s WHERE p.id IN :ids")
+    List<ProductSnapshot> findSnapshotsByIdIn(@Param("ids") Set<Long> ids);
+
+    /**
+     * Snapshots (projeção enxuta) dos produtos pelos SKUs.
+     *
+     * @param skus SKUs dos produtos
+     * @return snapshots encontrados (sem ordem garantida)
+     */
+    @Query("SELECT new com.danrley.ecommerce.products.dto.ProductSnapshot(" +
+            "p.id, p.name, p.sku, p.category.id, s.id, p.price, p.stockQuantity, p.reservedQuantity, p.active) " +
+            "FROM Product p LEFT JOIN p.supplier s WHERE p.sku IN :skus")
+    List<ProductSnapshot> findSnapshotsBySkuIn(@Param("skus") Set<String> skus);
+
+    /**
+     * Consulta leve de versão para ETag / If-None-Match (não carrega a entidade).
+     *
+     * @param id ID do produto
+     * @return updatedAt do produto, da categoria e do fornecedor
+     */
+    @Query("SELECT new com.danrley.ecommerce.products.dto.ProductVersion(p.id, p.updatedAt, c.updatedAt, s.updatedAt) " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.supplier s WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Preço atual e data de criação dos produtos (carga das linhas do tempo de preço).
+     *
+     * @param ids IDs dos produtos
+     * @return linhas [id, price, createdAt]
+     */
+    @Query("SELECT p.id, p.price, p.createdAt FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findPriceInfoByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream de (id, metadata) de todos os produtos para o índice de atributos de metadata.
+     * Precisa ser consumido dentro de uma transação e fechado.
+     *
+     * @return linhas [id, metadata]
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p.id, p.metadata FROM Product p")
+    Stream<Object[]> streamAllMetadata();
+}
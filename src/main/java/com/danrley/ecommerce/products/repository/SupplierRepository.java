@@ -3,6 +3,8 @@ package com.danrley.ecommerce.products.repository;
 import com.danrley.ecommerce.products.entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 /**
  * Repositório JPA para acesso aos dados de {@link Supplier}.
  * <p>
@@ -18,5 +20,9 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
-    // Read-only por enquanto - sem métodos customizados
+    /**
+     * @param since instante de referência
+     * @return true se algum fornecedor foi alterado depois de {@code since}
+     */
+    boolean existsByUpdatedAtAfter(LocalDateTime since);
 }
\ No newline at end of file
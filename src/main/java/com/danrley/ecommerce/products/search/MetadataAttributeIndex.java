@@ -0,0 +1,295 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.products.dto.MetadataFilter;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotStore;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória dos atributos de {@code product.metadata}.
+ * <p>
+ * Para cada chave indexada (valores escalares no primeiro nível do JSON):
+ * <ul>
+ *   <li>valor normalizado (lowercase) → bitmap de IDs (filtro de igualdade)</li>
+ *   <li>valor numérico → bitmap de IDs num TreeMap ordenado (filtro de faixa)</li>
+ * </ul>
+ * Chaves indexadas: {@code catalog.metadata-index.keys} (vazio = todas).
+ * </p>
+ * <p>
+ * Mesmo ciclo de vida do {@link ProductFacetIndex}: carga assíncrona no startup,
+ * atualização incremental por {@link ProductChangedEvent} após o commit e replay
+ * dos eventos recebidos durante o rebuild.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class MetadataAttributeIndex {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CatalogSnapshotStore snapshotStore;
+    private final Set<String> indexedKeys;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private AttributeBitmaps bitmaps;
+    private ConcurrentLinkedQueue<Object[]> pendingDuringRebuild;
+
+    public MetadataAttributeIndex(ProductRepository productRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  CatalogSnapshotStore snapshotStore,
+                                  @Value("${catalog.metadata-index.keys:}") Set<String> indexedKeys) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotStore = snapshotStore;
+        this.indexedKeys = indexedKeys.stream()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * (Re)constrói o índice a partir do banco em background.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            AttributeBitmaps fresh = readOnlyTransaction.execute(status -> {
+                AttributeBitmaps loaded = new AttributeBitmaps();
+                if (snapshotStore.warmStart("metadata",
+                        row -> loaded.put(row.product().id(), CatalogSnapshotStore.metadataOf(row)))) {
+                    return loaded;
+                }
+                try (Stream<Object[]> rows = productRepository.streamAllMetadata()) {
+                    rows.forEach(row -> loaded.put((Long) row[0], (RawJsonMetadata) row[1]));
+                }
+                return loaded;
+            });
+
+            lock.writeLock().lock();
+            try {
+                Object[] pending;
+                while ((pending = pendingDuringRebuild.poll()) != null) {
+                    fresh.put((Long) pending[0], (RawJsonMetadata) pending[1]);
+                }
+                bitmaps = fresh;
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de metadata carregado: {} chaves em {}ms", fresh.byValue.size(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Falha ao construir índice de metadata: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reindexa o produto quando os metadados mudam (somente após commit).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.metadata() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(new Object[]{event.productId(), event.metadata()});
+            }
+            if (bitmaps != null) {
+                bitmaps.put(event.productId(), event.metadata());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return bitmaps != null;
+    }
+
+    /**
+     * Verifica se a chave é atendida pelo índice.
+     */
+    public boolean isIndexed(String key) {
+        return indexedKeys.isEmpty() || indexedKeys.contains(key);
+    }
+
+    /**
+     * IDs dos produtos que atendem a TODOS os filtros.
+     *
+     * @param filters filtros de metadata (chaves indexadas)
+     * @return bitmap com os IDs, ou null se o índice ainda não está pronto
+     */
+    public RoaringBitmap match(List<MetadataFilter> filters) {
+        lock.readLock().lock();
+        try {
+            if (bitmaps == null) {
+                return null;
+            }
+            RoaringBitmap result = null;
+            for (MetadataFilter filter : filters) {
+                RoaringBitmap matched = bitmaps.match(filter);
+                result = result == null ? matched : RoaringBitmap.and(result, matched);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result != null ? result : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forma em que os valores são indexados e comparados (o filtro pelo banco usa a mesma).
+     */
+    public static String normalize(Object value) {
+        return String.valueOf(value).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estado do índice. NÃO é thread-safe: acesso protegido pelo lock do MetadataAttributeIndex.
+     */
+    final class AttributeBitmaps {
+
+        final Map<String, Map<String, RoaringBitmap>> byValue = new HashMap<>();
+        final Map<String, NavigableMap<BigDecimal, RoaringBitmap>> byNumber = new HashMap<>();
+
+        /**
+         * Atributos indexados de cada ID (para remover os valores antigos em atualizações).
+         */
+        private final Map<Integer, List<Map.Entry<String, Object>>> indexedOf = new HashMap<>();
+
+        void put(Long productId, RawJsonMetadata metadata) {
+            if (productId == null || productId > Integer.MAX_VALUE) {
+                return;
+            }
+            int id = productId.intValue();
+            remove(id);
+            if (metadata == null || metadata.isEmpty()) {
+                return;
+            }
+
+            List<Map.Entry<String, Object>> indexed = new ArrayList<>();
+            for (Map.Entry<String, Object> attribute : metadata.asMap().entrySet()) {
+                Object value = attribute.getValue();
+                if (!isIndexed(attribute.getKey()) || value == null || value instanceof Map || value instanceof List) {
+                    continue;
+                }
+                String key = attribute.getKey();
+                byValue.computeIfAbsent(key, k -> new HashMap<>())
+                        .computeIfAbsent(normalize(value), v -> new RoaringBitmap())
+                        .add(id);
+                if (value instanceof Number number) {
+                    byNumber.computeIfAbsent(key, k -> new TreeMap<>())
+                            .computeIfAbsent(new BigDecimal(number.toString()).stripTrailingZeros(), v -> new RoaringBitmap())
+                            .add(id);
+                }
+                indexed.add(Map.entry(key, value));
+            }
+            if (!indexed.isEmpty()) {
+                indexedOf.put(id, indexed);
+            }
+        }
+
+        private void remove(int id) {
+            List<Map.Entry<String, Object>> previous = indexedOf.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (Map.Entry<String, Object> attribute : previous) {
+                Map<String, RoaringBitmap> values = byValue.get(attribute.getKey());
+                String normalized = normalize(attribute.getValue());
+                if (values != null && values.containsKey(normalized)) {
+                    values.get(normalized).remove(id);
+                    if (values.get(normalized).isEmpty()) {
+                        values.remove(normalized);
+                    }
+                }
+                if (attribute.getValue() instanceof Number number) {
+                    NavigableMap<BigDecimal, RoaringBitmap> numbers = byNumber.get(attribute.getKey());
+                    BigDecimal key = new BigDecimal(number.toString()).stripTrailingZeros();
+                    if (numbers != null && numbers.containsKey(key)) {
+                        numbers.get(key).remove(id);
+                        if (numbers.get(key).isEmpty()) {
+                            numbers.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+
+        RoaringBitmap match(MetadataFilter filter) {
+            RoaringBitmap result;
+            if (filter.getValue() != null) {
+                RoaringBitmap ids = byValue.getOrDefault(filter.getKey(), Map.of()).get(normalize(filter.getValue()));
+                result = ids != null ? ids.clone() : new RoaringBitmap();
+            } else {
+                result = null;
+            }
+            if (filter.isRange()) {
+                if (filter.getMin() != null && filter.getMax() != null && filter.getMin().compareTo(filter.getMax()) > 0) {
+                    // Faixa vazia: subMap com min > max lançaria IllegalArgumentException
+                    return new RoaringBitmap();
+                }
+                NavigableMap<BigDecimal, RoaringBitmap> numbers = byNumber.getOrDefault(filter.getKey(), new TreeMap<>());
+                if (filter.getMin() != null) {
+                    numbers = numbers.tailMap(filter.getMin(), true);
+                }
+                if (filter.getMax() != null) {
+                    numbers = numbers.headMap(filter.getMax(), true);
+                }
+                RoaringBitmap inRange = RoaringBitmap.or(numbers.values().iterator());
+                result = result == null ? inRange : RoaringBitmap.and(result, inRange);
+            }
+            return result != null ? result : new RoaringBitmap();
+        }
+    }
+}
@@ -0,0 +1,622 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.orders.repository.OrderItemRepository;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.dto.ProductSuggestionResponse;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.event.ProductChangedEvent.ChangeType;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotStore;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Autocomplete de nomes de produto em memória (array ordenado + busca binária).
+ * <p>
+ * Nomes são normalizados (minúsculas, sem acento, só letras/dígitos) e cada início de
+ * palavra vira uma entrada ordenada: "Mouse Gamer" é encontrado por "mou" e por "gam".
+ * Uma consulta é uma busca binária pelo intervalo de entradas com o prefixo e um top-N
+ * por peso (unidades vendidas em pedidos APROVADO) - sem LIKE no banco.
+ * Para prefixos com intervalos grandes (mais de {@value #PRECOMPUTED_RANGE} entradas, ex: "m",
+ * "mou") o top-N é pré-calculado no build; a consulta nunca varre mais que isso na base.
+ * Se produtos removidos/renomeados esvaziarem a lista de um prefixo, a primeira consulta varre o
+ * intervalo e grava uma lista reparada (válida até o próximo build: removidos só aumentam).
+ * </p>
+ * <p>
+ * <strong>Memória:</strong> uma entrada é um {@code long} (índice do produto + posição da
+ * palavra no nome normalizado); os sufixos não são materializados.
+ * </p>
+ * <p>
+ * <strong>Ciclo de vida:</strong>
+ * <ul>
+ *   <li>Construído em background no startup e a cada {@code catalog.autocomplete.rebuild-interval-ms}
+ *       (atualiza os pesos de vendas); o novo {@link Snapshot} é trocado numa escrita volátil</li>
+ *   <li>Produtos criados/renomeados/desativados entram num delta pequeno (copy-on-write)
+ *       consultado junto com a base; acima de {@code max-delta} um rebuild é disparado</li>
+ *   <li>Eventos recebidos durante o rebuild são reaplicados no swap</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Latência medida em {@code autocomplete.latency} (p50/p99).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ProductAutocompleteIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int PRECOMPUTED_RANGE = 256;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CatalogSnapshotStore snapshotStore;
+    private final TaskExecutor taskExecutor;
+    private final int maxDelta;
+    private final Timer latency;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final Object writeMonitor = new Object();
+
+    private volatile Snapshot snapshot;
+    private List<ProductSnapshot> pendingDuringRebuild;
+
+    public ProductAutocompleteIndex(ProductRepository productRepository,
+                                    OrderItemRepository orderItemRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    CatalogSnapshotStore snapshotStore,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${catalog.autocomplete.max-delta:1000}") int maxDelta) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotStore = snapshotStore;
+        this.taskExecutor = taskExecutor;
+        this.maxDelta = maxDelta;
+        this.latency = Timer.builder("autocomplete.latency")
+                .description("Tempo de uma consulta de autocomplete em memória")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga inicial em background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    /**
+     * Rebuild periódico (pesos de vendas).
+     */
+    @Scheduled(fixedDelayString = "${catalog.autocomplete.rebuild-interval-ms:600000}",
+            initialDelayString = "${catalog.autocomplete.rebuild-interval-ms:600000}")
+    public void rebuildPeriodically() {
+        rebuildAsync();
+    }
+
+    /**
+     * Reconstrói o índice em background (no máximo um rebuild por vez).
+     */
+    public void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Top-N produtos ativos cujo nome tem uma palavra começando com {@code query}.
+     *
+     * @param query texto digitado (acentos e maiúsculas ignorados)
+     * @param limit máximo de sugestões (1..{@value #MAX_LIMIT})
+     * @return sugestões em ordem de peso decrescente
+     * @throws BusinessException se o índice ainda estiver sendo carregado
+     */
+    public List<ProductSuggestionResponse> suggest(String query, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new BusinessException("Índice de autocomplete ainda em construção. Tente novamente em instantes.",
+                    "AUTOCOMPLETE_NOT_READY");
+        }
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            return current.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ChangeType.STOCK) {
+            return;
+        }
+        boolean overflow;
+        synchronized (writeMonitor) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event.snapshot());
+            }
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Snapshot updated = current.with(event.snapshot());
+            snapshot = updated;
+            overflow = updated.delta.size() + updated.removed.size() > maxDelta;
+        }
+        if (overflow) {
+            rebuildAsync();
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Minúsculas, sem acentos, só [a-z0-9] separados por um espaço.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void rebuild() {
+        synchronized (writeMonitor) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Base base = readOnlyTransaction.execute(status -> {
+                Map<Long, Long> sold = new HashMap<>();
+                for (Object[] row : orderItemRepository.sumSoldUnitsByProduct()) {
+                    sold.put((Long) row[0], ((Number) row[1]).longValue());
+                }
+                List<ProductSnapshot> active = new ArrayList<>();
+                boolean warm = snapshotStore.warmStart("autocomplete", row -> {
+                    if (row.product().active()) {
+                        active.add(row.product());
+                    }
+                });
+                if (!warm) {
+                    try (Stream<ProductSnapshot> rows = productRepository.streamAllSnapshots()) {
+                        rows.filter(ProductSnapshot::active).forEach(active::add);
+                    }
+                }
+                return Base.build(active, sold);
+            });
+
+            synchronized (writeMonitor) {
+                Snapshot fresh = new Snapshot(base, List.of(), Set.of());
+                for (ProductSnapshot pending : pendingDuringRebuild) {
+                    fresh = fresh.with(pending);
+                }
+                snapshot = fresh;
+                pendingDuringRebuild = null;
+            }
+            log.info("Índice de autocomplete carregado: {} produtos, {} entradas em {}ms",
+                    base.ids.length, base.entries.length, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            synchronized (writeMonitor) {
+                pendingDuringRebuild = null;
+            }
+            log.warn("Falha ao construir índice de autocomplete: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Estado imutável consultado sem lock: base ordenada + delta desde o último build.
+     *
+     * @param base    entradas ordenadas do último build
+     * @param delta   produtos criados/renomeados depois do build
+     * @param removed IDs da base que não devem mais aparecer (desativados ou renomeados)
+     */
+    record Snapshot(Base base, List<DeltaEntry> delta, Set<Long> removed) {
+
+        Snapshot with(ProductSnapshot product) {
+            String normalized = normalize(product.name());
+            int baseIndex = Arrays.binarySearch(base.ids, product.id());
+            boolean unchangedInBase = baseIndex >= 0 && product.active()
+                    && base.normalizedNames[baseIndex].equals(normalized) && !removed.contains(product.id());
+            if (unchangedInBase) {
+                return this;
+            }
+
+            List<DeltaEntry> newDelta = new ArrayList<>(delta.size() + 1);
+            for (DeltaEntry entry : delta) {
+                if (entry.id() != product.id()) {
+                    newDelta.add(entry);
+                }
+            }
+            if (product.active() && !normalized.isEmpty()) {
+                long weight = baseIndex >= 0 ? base.weights[baseIndex] : 0L;
+                newDelta.add(new DeltaEntry(product.id(), product.name(), normalized, weight));
+            }
+            Set<Long> newRemoved = removed;
+            if (baseIndex >= 0 && !removed.contains(product.id())) {
+                newRemoved = new HashSet<>(removed);
+                newRemoved.add(product.id());
+            }
+            return new Snapshot(base, List.copyOf(newDelta), Set.copyOf(newRemoved));
+        }
+
+        List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+            TopN top = new TopN(limit);
+            int[] precomputed = base.precomputedTop(prefix);
+            boolean skipped = false;
+            if (precomputed != null) {
+                for (int product : precomputed) {
+                    if (removed.contains(base.ids[product])) {
+                        skipped = true;
+                    } else {
+                        top.offer(base.ids[product], base.names[product], base.weights[product]);
+                    }
+                }
+            }
+            if (precomputed == null || (skipped && top.size() < limit)) {
+                TopN repaired = precomputed != null ? new TopN(MAX_LIMIT * 2) : null;
+                int from = base.bound(prefix, false);
+                int to = base.bound(prefix, true);
+                for (int i = from; i < to; i++) {
+                    int product = Base.product(base.entries[i]);
+                    if (!removed.contains(base.ids[product])) {
+                        top.offer(base.ids[product], base.names[product], base.weights[product]);
+                        if (repaired != null) {
+                            repaired.offer(product, null, base.weights[product]);
+                        }
+                    }
+                }
+                if (repaired != null) {
+                    base.repairedTop.put(prefix, repaired.ids());
+                }
+            }
+            for (DeltaEntry entry : delta) {
+                if (entry.matches(prefix)) {
+                    top.offer(entry.id(), entry.name(), entry.weight());
+                }
+            }
+            return top.result();
+        }
+    }
+
+    /**
+     * Produto criado/renomeado depois do último build (varrido linearmente; o delta é pequeno).
+     */
+    record DeltaEntry(long id, String name, String normalizedName, long weight) {
+
+        boolean matches(String prefix) {
+            for (int offset = 0; offset < normalizedName.length(); offset++) {
+                if ((offset == 0 || normalizedName.charAt(offset - 1) == ' ')
+                        && normalizedName.startsWith(prefix, offset)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Base imutável: produtos ordenados por ID e entradas (início de palavra) ordenadas pelo sufixo.
+     */
+    static final class Base {
+
+        final long[] ids;
+        final String[] names;
+        final String[] normalizedNames;
+        final long[] weights;
+        /** (índice do produto << 16) | posição do início da palavra no nome normalizado */
+        final long[] entries;
+        final Map<String, int[]> topByPrefix;
+        /** Listas de {@link #topByPrefix} recalculadas sem os removidos (preenchido nas consultas) */
+        final Map<String, int[]> repairedTop = new ConcurrentHashMap<>();
+
+        private Base(long[] ids, String[] names, String[] normalizedNames, long[] weights, long[] entries) {
+            this.ids = ids;
+            this.names = names;
+            this.normalizedNames = normalizedNames;
+            this.weights = weights;
+            sortEntries(entries);
+            this.entries = entries;
+            this.topByPrefix = precomputeTop();
+        }
+
+        static Base build(List<ProductSnapshot> products, Map<Long, Long> sold) {
+            products.sort((a, b) -> Long.compare(a.id(), b.id()));
+            int n = products.size();
+            long[] ids = new long[n];
+            String[] names = new String[n];
+            String[] normalizedNames = new String[n];
+            long[] weights = new long[n];
+            int entryCount = 0;
+            for (int i = 0; i < n; i++) {
+                ProductSnapshot product = products.get(i);
+                ids[i] = product.id();
+                names[i] = product.name();
+                normalizedNames[i] = normalize(product.name());
+                if (normalizedNames[i].length() > 0xFFFF) {
+                    normalizedNames[i] = normalizedNames[i].substring(0, 0xFFFF);
+                }
+                weights[i] = sold.getOrDefault(product.id(), 0L);
+                entryCount += wordStarts(normalizedNames[i]).length;
+            }
+
+            long[] entries = new long[entryCount];
+            int next = 0;
+            for (int i = 0; i < n; i++) {
+                for (int offset : wordStarts(normalizedNames[i])) {
+                    entries[next++] = ((long) i << 16) | offset;
+                }
+            }
+            return new Base(ids, names, normalizedNames, weights, entries);
+        }
+
+        /**
+         * Top pré-calculado do prefixo (reparado, se houver), ou null se o intervalo é pequeno.
+         */
+        int[] precomputedTop(String prefix) {
+            int[] repaired = repairedTop.get(prefix);
+            return repaired != null ? repaired : topByPrefix.get(prefix);
+        }
+
+        static int product(long entry) {
+            return (int) (entry >>> 16);
+        }
+
+        static int offset(long entry) {
+            return (int) (entry & 0xFFFF);
+        }
+
+        /**
+         * Primeiro índice cujo sufixo é &gt;= prefix ({@code upper=false}) ou que não começa
+         * com prefix e é &gt; prefix ({@code upper=true}).
+         */
+        int bound(String prefix, boolean upper) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareToPrefix(entries[mid], prefix);
+                if (cmp < 0 || (upper && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 0 se o sufixo da entrada começa com prefix; senão a ordem lexicográfica.
+         */
+        private int compareToPrefix(long entry, String prefix) {
+            String name = normalizedNames[product(entry)];
+            int offset = offset(entry);
+            int length = Math.min(name.length() - offset, prefix.length());
+            for (int i = 0; i < length; i++) {
+                int diff = name.charAt(offset + i) - prefix.charAt(i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return name.length() - offset >= prefix.length() ? 0 : -1;
+        }
+
+        private int compareEntries(long a, long b) {
+            String nameA = normalizedNames[product(a)];
+            String nameB = normalizedNames[product(b)];
+            int offsetA = offset(a);
+            int offsetB = offset(b);
+            int length = Math.min(nameA.length() - offsetA, nameB.length() - offsetB);
+            for (int i = 0; i < length; i++) {
+                int diff = nameA.charAt(offsetA + i) - nameB.charAt(offsetB + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return (nameA.length() - offsetA) - (nameB.length() - offsetB);
+        }
+
+        /**
+         * Merge sort bottom-up sobre os longs (sem boxing).
+         */
+        private void sortEntries(long[] values) {
+            long[] buffer = new long[values.length];
+            long[] source = values;
+            long[] target = buffer;
+            for (int width = 1; width < values.length; width <<= 1) {
+                for (int from = 0; from < values.length; from += width << 1) {
+                    int mid = Math.min(from + width, values.length);
+                    int to = Math.min(from + (width << 1), values.length);
+                    int i = from;
+                    int j = mid;
+                    int k = from;
+                    while (i < mid && j < to) {
+                        target[k++] = compareEntries(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+                    }
+                    while (i < mid) {
+                        target[k++] = source[i++];
+                    }
+                    while (j < to) {
+                        target[k++] = source[j++];
+                    }
+                }
+                long[] swap = source;
+                source = target;
+                target = swap;
+            }
+            if (source != values) {
+                System.arraycopy(source, 0, values, 0, values.length);
+            }
+        }
+
+        /**
+         * Top-{@value #MAX_LIMIT}×2 (folga para removidos) de cada prefixo com mais de
+         * {@value #PRECOMPUTED_RANGE} entradas; intervalos menores são varridos na consulta.
+         */
+        private Map<String, int[]> precomputeTop() {
+            Map<String, int[]> top = new HashMap<>();
+            precomputeTop(top, 0, entries.length, 0);
+            return top;
+        }
+
+        /**
+         * Desce nos prefixos do intervalo [from, to) (todos com o mesmo prefixo de {@code depth}
+         * caracteres) agrupando pelo próximo caractere; só grupos grandes são expandidos.
+         */
+        private void precomputeTop(Map<String, int[]> top, int from, int to, int depth) {
+            int i = from;
+            while (i < to) {
+                String name = normalizedNames[product(entries[i])];
+                int offset = offset(entries[i]);
+                if (name.length() - offset <= depth) {
+                    i++;
+                    continue;
+                }
+                char next = name.charAt(offset + depth);
+                int groupEnd = i + 1;
+                while (groupEnd < to && charAt(entries[groupEnd], depth) == next) {
+                    groupEnd++;
+                }
+                if (groupEnd - i > PRECOMPUTED_RANGE) {
+                    TopN group = new TopN(MAX_LIMIT * 2);
+                    for (int j = i; j < groupEnd; j++) {
+                        int product = product(entries[j]);
+                        group.offer(product, null, weights[product]);
+                    }
+                    top.put(name.substring(offset, offset + depth + 1), group.ids());
+                    precomputeTop(top, i, groupEnd, depth + 1);
+                }
+                i = groupEnd;
+            }
+        }
+
+        private int charAt(long entry, int depth) {
+            String name = normalizedNames[product(entry)];
+            int position = offset(entry) + depth;
+            return position < name.length() ? name.charAt(position) : -1;
+        }
+
+        private static int[] wordStarts(String normalized) {
+            int count = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                    count++;
+                }
+            }
+            int[] starts = new int[count];
+            int next = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                    starts[next++] = i;
+                }
+            }
+            return starts;
+        }
+    }
+
+    /**
+     * Top-N por peso (desempate por ID), sem duplicar produtos.
+     */
+    private static final class TopN {
+
+        private record Candidate(long id, String name, long weight) {
+        }
+
+        private final int limit;
+        private final PriorityQueue<Candidate> heap;
+        private final Set<Long> seen = new HashSet<>();
+
+        TopN(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(limit + 1, (a, b) -> a.weight() != b.weight()
+                    ? Long.compare(a.weight(), b.weight())
+                    : Long.compare(b.id(), a.id()));
+        }
+
+        void offer(long id, String name, long weight) {
+            if (!seen.add(id)) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(new Candidate(id, name, weight));
+                return;
+            }
+            Candidate smallest = heap.peek();
+            if (weight > smallest.weight() || (weight == smallest.weight() && id < smallest.id())) {
+                heap.poll();
+                heap.add(new Candidate(id, name, weight));
+            }
+        }
+
+        int size() {
+            return heap.size();
+        }
+
+        private List<Candidate> sorted() {
+            List<Candidate> result = new ArrayList<>(heap);
+            result.sort((a, b) -> a.weight() != b.weight()
+                    ? Long.compare(b.weight(), a.weight())
+                    : Long.compare(a.id(), b.id()));
+            return result;
+        }
+
+        List<ProductSuggestionResponse> result() {
+            return sorted().stream()
+                    .map(c -> new ProductSuggestionResponse(c.id(), c.name()))
+                    .toList();
+        }
+
+        int[] ids() {
+            return sorted().stream().mapToInt(c -> (int) c.id()).toArray();
+        }
+    }
+}
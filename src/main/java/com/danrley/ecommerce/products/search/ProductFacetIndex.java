@@ -0,0 +1,500 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.products.dto.ProductFacetResponse;
+import com.danrley.ecommerce.products.dto.ProductFilterRequest;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotStore;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória (Roaring bitmaps) para filtros e contagem de facetas do catálogo.
+ * <p>
+ * Mantém um bitmap de IDs de produto por: categoria, fornecedor, faixa de preço,
+ * ativo e em estoque. Filtros do {@link ProductFilterRequest} viram interseções de
+ * bitmaps e cada contagem de faceta é a cardinalidade de uma interseção
+ * ({@code RoaringBitmap.andCardinality}) - sem GROUP BY no banco.
+ * </p>
+ * <p>
+ * A quantidade disponível é indexada em fatias de bits (bit-sliced index: um bitmap por bit
+ * da quantidade); {@code minAvailable} é resolvido com ~31 operações entre bitmaps,
+ * sem visitar cada ID do resultado.
+ * </p>
+ * <p>
+ * <strong>Ciclo de vida:</strong>
+ * <ul>
+ *   <li>Carregado em background no startup (stream da projeção {@link ProductSnapshot})</li>
+ *   <li>Atualizado incrementalmente a cada {@link ProductChangedEvent} (após commit)</li>
+ *   <li>Eventos recebidos durante o rebuild são enfileirados e reaplicados no swap</li>
+ * </ul>
+ * </p>
+ * <p>
+ * <strong>Facetas disjuntivas:</strong> a contagem de uma dimensão ignora o filtro da
+ * própria dimensão (ex: com categoryId=1, as contagens por categoria mostram quantos
+ * produtos cada categoria teria com os DEMAIS filtros).
+ * </p>
+ * <p>
+ * IDs de produto são indexados como int (limite ~2 bilhões de produtos).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ProductFacetIndex {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CatalogSnapshotStore snapshotStore;
+
+    /**
+     * Limites superiores (exclusivos) das faixas de preço, em centavos.
+     */
+    private final long[] priceBandLimitsCents;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FacetBitmaps bitmaps;
+    private Queue<ProductSnapshot> pendingDuringRebuild;
+    private volatile boolean ready = false;
+
+    public ProductFacetIndex(ProductRepository productRepository,
+                             PlatformTransactionManager transactionManager,
+                             CatalogSnapshotStore snapshotStore,
+                             @Value("${catalog.facets.price-bands:50,100,250,500,1000}") BigDecimal[] priceBands) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotStore = snapshotStore;
+        this.priceBandLimitsCents = Arrays.stream(priceBands)
+                .mapToLong(ProductFacetIndex::toCents)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * (Re)constrói o índice a partir do banco em background.
+     * O índice anterior continua atendendo até o swap.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            FacetBitmaps fresh = readOnlyTransaction.execute(status -> {
+                FacetBitmaps loaded = new FacetBitmaps(priceBandLimitsCents);
+                if (snapshotStore.warmStart("facets", row -> loaded.put(row.product()))) {
+                    return loaded;
+                }
+                try (Stream<ProductSnapshot> rows = productRepository.streamAllSnapshots()) {
+                    rows.forEach(loaded::put);
+                }
+                return loaded;
+            });
+            fresh.runOptimize();
+
+            lock.writeLock().lock();
+            try {
+                ProductSnapshot pending;
+                while ((pending = pendingDuringRebuild.poll()) != null) {
+                    fresh.put(pending);
+                }
+                bitmaps = fresh;
+                pendingDuringRebuild = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de facetas carregado: {} produtos em {}ms", fresh.all.getCardinality(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Falha ao construir índice de facetas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica a mudança de um produto ao índice (somente após commit).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event.snapshot());
+            }
+            if (bitmaps != null) {
+                bitmaps.put(event.snapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * IDs dos produtos que atendem aos filtros.
+     *
+     * @param filters    filtros (name é ignorado - ver restrictTo)
+     * @param restrictTo universo opcional de IDs (ex: resultado da busca por nome), null = todos
+     * @return bitmap com os IDs (cópia, pode ser modificado pelo chamador)
+     */
+    public RoaringBitmap match(ProductFilterRequest filters, RoaringBitmap restrictTo) {
+        lock.readLock().lock();
+        try {
+            return requireBitmaps().match(filters, restrictTo, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula as contagens de facetas para os filtros informados.
+     *
+     * @param filters    filtros (name é ignorado - ver restrictTo)
+     * @param restrictTo universo opcional de IDs, null = todos
+     * @return contagens por categoria, fornecedor, faixa de preço, ativos e em estoque
+     */
+    public ProductFacetResponse facets(ProductFilterRequest filters, RoaringBitmap restrictTo) {
+        lock.readLock().lock();
+        try {
+            FacetBitmaps index = requireBitmaps();
+            RoaringBitmap matched = index.match(filters, restrictTo, null);
+
+            RoaringBitmap byCategoryBase = index.match(filters, restrictTo, Dimension.CATEGORY);
+            RoaringBitmap bySupplierBase = index.match(filters, restrictTo, Dimension.SUPPLIER);
+            RoaringBitmap byPriceBase = index.match(filters, restrictTo, Dimension.PRICE);
+
+            return ProductFacetResponse.builder()
+                    .total(matched.getLongCardinality())
+                    .inStock(RoaringBitmap.andCardinality(index.match(filters, restrictTo, Dimension.STOCK), index.inStock))
+                    .active(RoaringBitmap.andCardinality(index.match(filters, restrictTo, Dimension.ACTIVE), index.active))
+                    .categories(countBy(index.byCategory, byCategoryBase))
+                    .suppliers(countBy(index.bySupplier, bySupplierBase))
+                    .priceBands(countPriceBands(index, byPriceBase))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private FacetBitmaps requireBitmaps() {
+        if (bitmaps == null) {
+            throw new BusinessException("Índice de facetas ainda em construção. Tente novamente em instantes.",
+                    "FACET_INDEX_NOT_READY");
+        }
+        return bitmaps;
+    }
+
+    private static List<ProductFacetResponse.FacetCount> countBy(Map<Long, RoaringBitmap> dimension, RoaringBitmap base) {
+        List<ProductFacetResponse.FacetCount> counts = new ArrayList<>();
+        for (Map.Entry<Long, RoaringBitmap> entry : dimension.entrySet()) {
+            int count = RoaringBitmap.andCardinality(base, entry.getValue());
+            if (count > 0) {
+                counts.add(new ProductFacetResponse.FacetCount(entry.getKey(), count));
+            }
+        }
+        counts.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return counts;
+    }
+
+    private List<ProductFacetResponse.PriceBandCount> countPriceBands(FacetBitmaps index, RoaringBitmap base) {
+        List<ProductFacetResponse.PriceBandCount> counts = new ArrayList<>(index.priceBands.length);
+        for (int band = 0; band < index.priceBands.length; band++) {
+            BigDecimal min = band == 0 ? BigDecimal.ZERO : fromCents(priceBandLimitsCents[band - 1]);
+            BigDecimal max = band < priceBandLimitsCents.length ? fromCents(priceBandLimitsCents[band]) : null;
+            counts.add(new ProductFacetResponse.PriceBandCount(min, max,
+                    RoaringBitmap.andCardinality(base, index.priceBands[band])));
+        }
+        return counts;
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Dimensões filtráveis (usadas para excluir a própria dimensão nas facetas disjuntivas).
+     */
+    enum Dimension {
+        CATEGORY, SUPPLIER, PRICE, ACTIVE, STOCK
+    }
+
+    /**
+     * Estado do índice. NÃO é thread-safe: acesso protegido pelo lock do ProductFacetIndex.
+     * <p>
+     * Guarda também os atributos indexados de cada ID em arrays primitivos
+     * (indexados pelo próprio ID) para remover o produto dos bitmaps antigos
+     * em atualizações e para checar preço exato nas faixas de borda.
+     * </p>
+     */
+    static final class FacetBitmaps {
+
+        private static final long NONE = 0L;
+
+        final long[] bandLimits;
+        final RoaringBitmap all = new RoaringBitmap();
+        final RoaringBitmap active = new RoaringBitmap();
+        final RoaringBitmap inStock = new RoaringBitmap();
+        final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+        final Map<Long, RoaringBitmap> bySupplier = new HashMap<>();
+        final RoaringBitmap[] priceBands;
+        /** Fatia {@code i}: IDs cuja quantidade disponível tem o bit {@code i} ligado */
+        final RoaringBitmap[] availableSlices = new RoaringBitmap[Integer.SIZE - 1];
+        /** IDs com disponível negativo (reservado acima do estoque): ficam fora das fatias */
+        final RoaringBitmap negativeAvailable = new RoaringBitmap();
+
+        private long[] categoryOf = new long[1024];
+        private long[] supplierOf = new long[1024];
+        private long[] priceCentsOf = new long[1024];
+        private int[] availableOf = new int[1024];
+
+        FacetBitmaps(long[] bandLimits) {
+            this.bandLimits = bandLimits;
+            this.priceBands = new RoaringBitmap[bandLimits.length + 1];
+            for (int i = 0; i < priceBands.length; i++) {
+                priceBands[i] = new RoaringBitmap();
+            }
+            for (int i = 0; i < availableSlices.length; i++) {
+                availableSlices[i] = new RoaringBitmap();
+            }
+        }
+
+        void put(ProductSnapshot snapshot) {
+            if (snapshot.id() == null || snapshot.id() > Integer.MAX_VALUE) {
+                return;
+            }
+            int id = snapshot.id().intValue();
+            remove(id);
+            ensureCapacity(id);
+
+            all.add(id);
+            if (snapshot.active()) {
+                active.add(id);
+            }
+            if (snapshot.availableQuantity() > 0) {
+                inStock.add(id);
+            }
+            long category = snapshot.categoryId() != null ? snapshot.categoryId() : NONE;
+            long supplier = snapshot.supplierId() != null ? snapshot.supplierId() : NONE;
+            long cents = snapshot.price() != null ? toCents(snapshot.price()) : 0L;
+
+            categoryOf[id] = category;
+            supplierOf[id] = supplier;
+            priceCentsOf[id] = cents;
+            int available = snapshot.availableQuantity();
+            availableOf[id] = available;
+            if (available < 0) {
+                negativeAvailable.add(id);
+            }
+            for (int bits = Math.max(0, available); bits != 0; bits &= bits - 1) {
+                availableSlices[Integer.numberOfTrailingZeros(bits)].add(id);
+            }
+
+            if (category != NONE) {
+                byCategory.computeIfAbsent(category, k -> new RoaringBitmap()).add(id);
+            }
+            if (supplier != NONE) {
+                bySupplier.computeIfAbsent(supplier, k -> new RoaringBitmap()).add(id);
+            }
+            priceBands[bandOf(cents)].add(id);
+        }
+
+        private void remove(int id) {
+            if (!all.contains(id)) {
+                return;
+            }
+            all.remove(id);
+            active.remove(id);
+            inStock.remove(id);
+            removeFrom(byCategory, categoryOf[id], id);
+            removeFrom(bySupplier, supplierOf[id], id);
+            priceBands[bandOf(priceCentsOf[id])].remove(id);
+            negativeAvailable.remove(id);
+            for (int bits = Math.max(0, availableOf[id]); bits != 0; bits &= bits - 1) {
+                availableSlices[Integer.numberOfTrailingZeros(bits)].remove(id);
+            }
+        }
+
+        private static void removeFrom(Map<Long, RoaringBitmap> dimension, long key, int id) {
+            RoaringBitmap bitmap = dimension.get(key);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    dimension.remove(key);
+                }
+            }
+        }
+
+        private void ensureCapacity(int id) {
+            if (id < categoryOf.length) {
+                return;
+            }
+            int newLength = Math.max(id + 1, categoryOf.length + (categoryOf.length >> 1));
+            categoryOf = Arrays.copyOf(categoryOf, newLength);
+            supplierOf = Arrays.copyOf(supplierOf, newLength);
+            priceCentsOf = Arrays.copyOf(priceCentsOf, newLength);
+            availableOf = Arrays.copyOf(availableOf, newLength);
+        }
+
+        int bandOf(long cents) {
+            int band = 0;
+            while (band < bandLimits.length && cents >= bandLimits[band]) {
+                band++;
+            }
+            return band;
+        }
+
+        void runOptimize() {
+            all.runOptimize();
+            active.runOptimize();
+            inStock.runOptimize();
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            bySupplier.values().forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(priceBands).forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(availableSlices).forEach(RoaringBitmap::runOptimize);
+            negativeAvailable.runOptimize();
+        }
+
+        /**
+         * Interseção de todos os filtros, exceto a dimensão {@code exclude} (pode ser null).
+         */
+        RoaringBitmap match(ProductFilterRequest filters, RoaringBitmap restrictTo, Dimension exclude) {
+            RoaringBitmap result = restrictTo != null ? RoaringBitmap.and(all, restrictTo) : all.clone();
+            if (filters == null) {
+                return result;
+            }
+            if (exclude != Dimension.CATEGORY && filters.getCategoryId() != null) {
+                result.and(byCategory.getOrDefault(filters.getCategoryId(), new RoaringBitmap()));
+            }
+            if (exclude != Dimension.SUPPLIER && filters.getSupplierId() != null) {
+                result.and(bySupplier.getOrDefault(filters.getSupplierId(), new RoaringBitmap()));
+            }
+            if (exclude != Dimension.ACTIVE && filters.getActive() != null) {
+                if (filters.getActive()) {
+                    result.and(active);
+                } else {
+                    result.andNot(active);
+                }
+            }
+            if (exclude != Dimension.PRICE && (filters.getMinPrice() != null || filters.getMaxPrice() != null)) {
+                long min = filters.getMinPrice() != null ? toCents(filters.getMinPrice()) : Long.MIN_VALUE;
+                long max = filters.getMaxPrice() != null ? toCents(filters.getMaxPrice()) : Long.MAX_VALUE;
+                result.and(priceRange(min, max));
+            }
+            if (exclude != Dimension.STOCK && filters.getInStock() != null) {
+                if (filters.getInStock()) {
+                    result.and(inStock);
+                } else {
+                    result.andNot(inStock);
+                }
+            }
+            if (exclude != Dimension.STOCK && filters.getMinAvailable() != null) {
+                result = atLeastAvailable(result, filters.getMinAvailable());
+            }
+            return result;
+        }
+
+        /**
+         * IDs de {@code candidates} com quantidade disponível {@code >= minAvailable}, comparando
+         * fatia a fatia do bit mais alto ao mais baixo: {@code greater} acumula os IDs já maiores
+         * que o limite e {@code equal} os que empatam até o bit atual.
+         * Disponíveis negativos não estão nas fatias: com limite {@code <= 0} são conferidos
+         * um a um, como faz o {@code available_quantity >= :minAvailable} do banco.
+         */
+        RoaringBitmap atLeastAvailable(RoaringBitmap candidates, int minAvailable) {
+            if (minAvailable <= 0) {
+                RoaringBitmap result = RoaringBitmap.andNot(candidates, negativeAvailable);
+                RoaringBitmap.and(candidates, negativeAvailable).forEach((int id) -> {
+                    if (availableOf[id] >= minAvailable) {
+                        result.add(id);
+                    }
+                });
+                return result;
+            }
+            RoaringBitmap greater = new RoaringBitmap();
+            RoaringBitmap equal = candidates;
+            for (int bit = availableSlices.length - 1; bit >= 0 && !equal.isEmpty(); bit--) {
+                RoaringBitmap slice = availableSlices[bit];
+                if ((minAvailable & (1 << bit)) != 0) {
+                    equal.and(slice);
+                } else {
+                    greater.or(RoaringBitmap.and(equal, slice));
+                    equal.andNot(slice);
+                }
+            }
+            greater.or(equal);
+            return greater;
+        }
+
+        /**
+         * Faixas totalmente dentro de [min, max] entram inteiras; faixas de borda
+         * são filtradas pelo preço exato de cada ID.
+         */
+        private RoaringBitmap priceRange(long minCents, long maxCents) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (int band = 0; band < priceBands.length; band++) {
+                long bandMin = band == 0 ? Long.MIN_VALUE : bandLimits[band - 1];
+                long bandMax = band < bandLimits.length ? bandLimits[band] - 1 : Long.MAX_VALUE;
+                if (bandMax < minCents || bandMin > maxCents) {
+                    continue;
+                }
+                if (bandMin >= minCents && bandMax <= maxCents) {
+                    result.or(priceBands[band]);
+                } else {
+                    priceBands[band].forEach((int id) -> {
+                        long cents = priceCentsOf[id];
+                        if (cents >= minCents && cents <= maxCents) {
+                            result.add(id);
+                        }
+                    });
+                }
+            }
+            return result;
+        }
+    }
+}
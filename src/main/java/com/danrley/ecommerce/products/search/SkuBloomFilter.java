@@ -0,0 +1,360 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.event.ProductChangedEvent.ChangeType;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom em memória sobre todos os SKUs cadastrados.
+ * <p>
+ * Evita o {@code existsBySku} antes de cada insert: SKUs novos quase nunca existem,
+ * e um "não" do filtro é definitivo (sem ida ao banco). Um "talvez" cai no
+ * {@code existsBySku}. A constraint UNIQUE de {@code products.sku} continua sendo a
+ * garantia final (ex: dois inserts concorrentes do mesmo SKU novo).
+ * </p>
+ * <p>
+ * <strong>Ciclo de vida:</strong>
+ * <ul>
+ *   <li>Construído em background no startup (stream de SKUs), dimensionado para
+ *       {@code max(catalog.sku-filter.expected-skus, 2 × SKUs atuais)} com taxa de falso
+ *       positivo alvo {@code catalog.sku-filter.fpp}</li>
+ *   <li>SKUs gravados são adicionados após o commit ({@link ProductChangedEvent}) ou pela importação</li>
+ *   <li>Bloom não remove: SKUs alterados continuam "talvez" até o próximo rebuild, que é
+ *       disparado automaticamente quando as inserções passam da capacidade</li>
+ *   <li>Enquanto não está pronto, toda consulta vai ao banco</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Métricas: {@code sku_filter.checks{result=negative|positive}}, {@code sku_filter.false_positives},
+ * {@code sku_filter.fpp.expected} (estimada pela ocupação dos bits) e
+ * {@code sku_filter.fpp.observed} (falsos positivos / consultas de SKUs inexistentes).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class SkuBloomFilter {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CatalogSnapshotStore snapshotStore;
+    private final TaskExecutor taskExecutor;
+    private final long expectedSkus;
+    private final double targetFpp;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private volatile Bits bits;
+    private ConcurrentLinkedQueue<String> pendingDuringRebuild;
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    public SkuBloomFilter(ProductRepository productRepository,
+                          PlatformTransactionManager transactionManager,
+                          CatalogSnapshotStore snapshotStore,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                          MeterRegistry meterRegistry,
+                          @Value("${catalog.sku-filter.expected-skus:1000000}") long expectedSkus,
+                          @Value("${catalog.sku-filter.fpp:0.01}") double targetFpp) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotStore = snapshotStore;
+        this.taskExecutor = taskExecutor;
+        this.expectedSkus = expectedSkus;
+        this.targetFpp = targetFpp;
+
+        this.negatives = meterRegistry.counter("sku_filter.checks", "result", "negative");
+        this.positives = meterRegistry.counter("sku_filter.checks", "result", "positive");
+        this.falsePositives = meterRegistry.counter("sku_filter.false_positives");
+        Gauge.builder("sku_filter.fpp.expected", this, SkuBloomFilter::expectedFpp)
+                .description("Taxa de falso positivo estimada pela ocupação do filtro de SKUs")
+                .register(meterRegistry);
+        Gauge.builder("sku_filter.fpp.observed", this, SkuBloomFilter::observedFpp)
+                .description("Falsos positivos / consultas de SKUs inexistentes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga inicial em background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    /**
+     * Reconstrói o filtro a partir do banco em background (no máximo um rebuild por vez).
+     */
+    public void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Verifica se o SKU existe: sem ida ao banco quando o filtro responde "não".
+     *
+     * @param sku      SKU
+     * @param database consulta definitiva (ex: {@code productRepository::existsBySku})
+     * @return true se o SKU existe
+     */
+    public boolean exists(String sku, Predicate<String> database) {
+        Bits current = bits;
+        if (current == null) {
+            return database.test(sku);
+        }
+        if (!current.mightContain(sku)) {
+            negatives.increment();
+            return false;
+        }
+        positives.increment();
+        boolean exists = database.test(sku);
+        if (!exists) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * "Talvez exista" (true também enquanto o filtro não está pronto).
+     * Para verificações em lote: o chamador confirma os positivos no banco e
+     * informa os falsos positivos em {@link #recordFalsePositives(int)}.
+     */
+    public boolean mightContain(String sku) {
+        Bits current = bits;
+        if (current == null) {
+            return true;
+        }
+        boolean maybe = current.mightContain(sku);
+        (maybe ? positives : negatives).increment();
+        return maybe;
+    }
+
+    public void recordFalsePositives(int count) {
+        if (bits != null && count > 0) {
+            falsePositives.increment(count);
+        }
+    }
+
+    /**
+     * Adiciona um SKU gravado.
+     */
+    public void put(String sku) {
+        if (sku == null) {
+            return;
+        }
+        Bits current;
+        lock.readLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(sku);
+            }
+            current = bits;
+            if (current != null) {
+                current.put(sku);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (current != null && current.insertions.get() > current.capacity && rebuilding.compareAndSet(false, true)) {
+            log.info("Filtro de SKUs acima da capacidade ({}), reconstruindo", current.capacity);
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ChangeType.CREATED || event.type() == ChangeType.UPDATED) {
+            put(event.snapshot().sku());
+        }
+    }
+
+    public boolean isReady() {
+        return bits != null;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            Bits fresh = readOnlyTransaction.execute(status -> {
+                long count = productRepository.count();
+                Bits loaded = Bits.create(Math.max(expectedSkus, 2 * count), targetFpp);
+                if (snapshotStore.warmStart("sku-filter", row -> loaded.put(row.product().sku()))) {
+                    return loaded;
+                }
+                try (Stream<String> skus = productRepository.streamAllSkus()) {
+                    skus.forEach(loaded::put);
+                }
+                return loaded;
+            });
+
+            lock.writeLock().lock();
+            try {
+                String pending;
+                while ((pending = pendingDuringRebuild.poll()) != null) {
+                    fresh.put(pending);
+                }
+                bits = fresh;
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Filtro de SKUs carregado: {} SKUs, {} bits, {} hashes em {}ms",
+                    fresh.insertions.get(), fresh.bitCount, fresh.hashes, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Falha ao construir filtro de SKUs: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private double expectedFpp() {
+        Bits current = bits;
+        return current != null ? current.expectedFpp() : Double.NaN;
+    }
+
+    private double observedFpp() {
+        double fp = falsePositives.count();
+        double absent = fp + negatives.count();
+        return absent > 0 ? fp / absent : 0.0;
+    }
+
+    /**
+     * Vetor de bits do filtro (tamanho fixo). Thread-safe: bits setados com operações atômicas.
+     */
+    static final class Bits {
+
+        final long capacity;
+        final long bitCount;
+        final int hashes;
+        final AtomicLongArray words;
+        final AtomicLong insertions = new AtomicLong();
+
+        private Bits(long capacity, long bitCount, int hashes) {
+            this.capacity = capacity;
+            this.bitCount = bitCount;
+            this.hashes = hashes;
+            this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        /**
+         * m = -n·ln(p) / ln(2)², k = (m/n)·ln(2)
+         */
+        static Bits create(long capacity, double fpp) {
+            long n = Math.max(capacity, 1);
+            long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            m = Math.max(64, Math.min(m, (long) Integer.MAX_VALUE * 64));
+            int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+            return new Bits(n, m, k);
+        }
+
+        void put(String sku) {
+            long hash = hash(sku);
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, old, old | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String sku) {
+            long hash = hash(sku);
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * (bits setados / m)^k
+         */
+        double expectedFpp() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return Math.pow((double) set / bitCount, hashes);
+        }
+
+        /**
+         * FNV-1a 64 bits sobre os chars do SKU em minúsculas (a collation de {@code products.sku}
+         * é case insensitive: "abc-1" e "ABC-1" são o mesmo SKU), finalizado com {@link #mix(long)}.
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= Character.toLowerCase(value.charAt(i));
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        /**
+         * Finalizador do SplitMix64 (espalha os bits; usado como segundo hash no double hashing).
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.dto.BestSellerResponse;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.popularity.BestSellerTracker;
+import com.danrley.ecommerce.products.popularity.BestSellerTracker.ProductSales;
+import com.danrley.ecommerce.products.popularity.SalesWindow;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking de mais vendidos ({@link BestSellerTracker}) com os dados básicos de cada produto.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Service
+@RequiredArgsConstructor
+public class BestSellerService {
+
+    private final BestSellerTracker bestSellerTracker;
+    private final ProductRepository productRepository;
+
+    /**
+     * @param window     janela (24h, 7 dias ou 30 dias)
+     * @param categoryId categoria (null = todas)
+     * @param limit      máximo de produtos (padrão e teto: {@code catalog.best-sellers.top-k})
+     * @return mais vendidos primeiro; produtos inativos ou removidos são omitidos
+     */
+    @Transactional(readOnly = true)
+    public List<BestSellerResponse> getBestSellers(SalesWindow window, Long categoryId, Integer limit) {
+        int max = bestSellerTracker.getTopK();
+        int size = limit != null ? limit : max;
+        if (size < 1 || size > max) {
+            throw new BusinessException("limit deve estar entre 1 e " + max, "INVALID_LIMIT");
+        }
+        List<ProductSales> ranking = bestSellerTracker.top(window, categoryId, max);
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = ranking.stream().map(ProductSales::productId).collect(Collectors.toSet());
+        Map<Long, ProductSnapshot> products = productRepository.findSnapshotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductSnapshot::id, Function.identity()));
+
+        List<BestSellerResponse> response = new ArrayList<>(size);
+        for (ProductSales sales : ranking) {
+            ProductSnapshot product = products.get(sales.productId());
+            if (product == null || !product.active()) {
+                continue;
+            }
+            response.add(BestSellerResponse.builder()
+                    .productId(product.id())
+                    .name(product.name())
+                    .sku(product.sku())
+                    .categoryId(product.categoryId())
+                    .price(product.price())
+                    .unitsSold(sales.units())
+                    .build());
+            if (response.size() == size) {
+                break;
+            }
+        }
+        return response;
+    }
+}
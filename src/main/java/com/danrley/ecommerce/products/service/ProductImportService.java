@@ -0,0 +1,474 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.dto.ProductImportResponse;
+import com.danrley.ecommerce.products.dto.ProductRequest;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.entity.Category;
+import com.danrley.ecommerce.products.entity.Supplier;
+import com.danrley.ecommerce.products.event.ProductEventPublisher;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.search.SkuBloomFilter;
+import com.danrley.ecommerce.shared.csv.CsvRecordReader;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.danrley.ecommerce.shared.reference.ReferenceDataCache;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de produtos a partir de CSV ou NDJSON (streaming).
+ * <p>
+ * Diferente de N chamadas a {@code POST /api/products}:
+ * <ul>
+ *   <li>O arquivo é lido registro a registro (nunca inteiro em memória)</li>
+ *   <li>Categorias e fornecedores são carregados UMA vez em mapas (id → ativo)</li>
+ *   <li>SKUs existentes: o filtro de Bloom descarta os novos; só os "talvez" de cada chunk
+ *       são confirmados no banco (um IN por chunk). Dedupe dentro do arquivo via Set</li>
+ *   <li>Inserts via JDBC batch, com commit a cada chunk (catalog.import.chunk-size)</li>
+ *   <li>Cada linha gravada publica um {@code ProductChangedEvent} CREATED na transação do chunk
+ *       (IDs gerados do batch): índices, cache de respostas e SSE aplicam só o que entrou,
+ *       após o commit, como num cadastro individual</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Linhas inválidas não interrompem a importação: viram entradas no relatório de erros.
+ * Se um lote falhar no banco, suas linhas são regravadas uma a uma para isolar o erro.
+ * Se a leitura do arquivo falhar no meio, os chunks anteriores já estão commitados: o
+ * relatório parcial é devolvido com {@code readError} preenchido em vez de uma exceção.
+ * </p>
+ * <p>
+ * Para throughput no MySQL, a URL do datasource deve ter {@code rewriteBatchedStatements=true}.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, stock_quantity, reserved_quantity, category_id, " +
+            "supplier_id, sku, active, metadata, created_at, updated_at, created_by, updated_by) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("name", "price", "stockquantity", "categoryid");
+
+    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final SkuBloomFilter skuBloomFilter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(ProductRepository productRepository,
+                                ReferenceDataCache referenceDataCache,
+                                ProductEventPublisher productEventPublisher,
+                                SkuBloomFilter skuBloomFilter,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Value("${catalog.import.chunk-size:1000}") int chunkSize,
+                                @Value("${catalog.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.productEventPublisher = productEventPublisher;
+        this.skuBloomFilter = skuBloomFilter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importa produtos de um CSV com cabeçalho.
+     * <p>
+     * Colunas (case insensitive, aceita snake_case): name, description, price, stockQuantity,
+     * categoryId, supplierId, sku, active, metadata (objeto JSON em texto).
+     * </p>
+     *
+     * @param input corpo da requisição (UTF-8)
+     * @return relatório da importação
+     */
+    public ProductImportResponse importCsv(InputStream input) {
+        ImportRun run = startRun();
+        long line = 0;
+        try (CsvRecordReader csv = new CsvRecordReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new BusinessException("Arquivo CSV vazio", "EMPTY_IMPORT");
+            }
+            Map<String, Integer> columns = mapHeader(header);
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                line = csv.getRecordLine();
+                run.totalRows++;
+                try {
+                    run.accept(line, fromCsv(record, columns));
+                } catch (IllegalArgumentException e) {
+                    run.reject(line, column(record, columns, "sku"), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            run.interrupt(line, e);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Importa produtos de NDJSON: um {@link ProductRequest} JSON por linha.
+     *
+     * @param input corpo da requisição (UTF-8)
+     * @return relatório da importação
+     */
+    public ProductImportResponse importNdjson(InputStream input) {
+        ImportRun run = startRun();
+        long line = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                run.totalRows++;
+                try {
+                    ProductRequest request = objectMapper.readValue(text, ProductRequest.class);
+                    run.accept(line, new ImportRow(request, RawJsonMetadata.of(request.getMetadata())));
+                } catch (JsonProcessingException e) {
+                    run.reject(line, null, "JSON inválido: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    run.reject(line, null, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            run.interrupt(line, e);
+        }
+        return run.finish();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Lê os dados de referência (em memória) e prepara a execução.
+     */
+    private ImportRun startRun() {
+        Map<Long, Boolean> categories = referenceDataCache.categories().values().stream()
+                .collect(Collectors.toMap(Category::getId, Category::getActive));
+        Map<Long, Boolean> suppliers = referenceDataCache.suppliers().values().stream()
+                .collect(Collectors.toMap(Supplier::getId, Supplier::getActive));
+
+        String user = SecurityContextHolder.getContext().getAuthentication() != null
+                ? SecurityContextHolder.getContext().getAuthentication().getName()
+                : null;
+        return new ImportRun(categories, suppliers, user);
+    }
+
+    private static Map<String, Integer> mapHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeColumn(header.get(i)), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new BusinessException("Coluna obrigatória ausente no CSV: " + required, "INVALID_IMPORT_HEADER");
+            }
+        }
+        return columns;
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static ImportRow fromCsv(List<String> record, Map<String, Integer> columns) {
+        ProductRequest request = new ProductRequest();
+        request.setName(column(record, columns, "name"));
+        request.setDescription(column(record, columns, "description"));
+        request.setPrice(parse(column(record, columns, "price"), "price", BigDecimal::new));
+        request.setStockQuantity(parse(column(record, columns, "stockquantity"), "stockQuantity", Integer::valueOf));
+        request.setCategoryId(parse(column(record, columns, "categoryid"), "categoryId", Long::valueOf));
+        request.setSupplierId(parse(column(record, columns, "supplierid"), "supplierId", Long::valueOf));
+        request.setSku(column(record, columns, "sku"));
+        String active = column(record, columns, "active");
+        request.setActive(active == null || Boolean.parseBoolean(active) || "1".equals(active));
+        return new ImportRow(request, RawJsonMetadata.of(column(record, columns, "metadata")));
+    }
+
+    private static <T> T parse(String value, String field, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + field + ": " + value);
+        }
+    }
+
+    private record ImportRow(ProductRequest request, RawJsonMetadata metadata) {
+    }
+
+    private record PendingRow(long line, String sku, boolean skuMaybeExists, Object[] params,
+                              ProductRequest request, RawJsonMetadata metadata) {
+
+        ProductSnapshot snapshot(Long id) {
+            return new ProductSnapshot(id, request.getName(), sku, request.getCategoryId(), request.getSupplierId(),
+                    request.getPrice(), request.getStockQuantity().intValue(), 0, (boolean) params[7]);
+        }
+    }
+
+    /**
+     * Estado de uma importação: validação, buffer do chunk atual e relatório.
+     */
+    private final class ImportRun {
+
+        private final Map<Long, Boolean> categories;
+        private final Map<Long, Boolean> suppliers;
+        /** SKUs já vistos neste arquivo (case insensitive, como a collation do banco) */
+        private final Set<String> skus = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        private final String user;
+        private final List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        private final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+        private final long start = System.currentTimeMillis();
+
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private String readError;
+
+        ImportRun(Map<Long, Boolean> categories, Map<Long, Boolean> suppliers, String user) {
+            this.categories = categories;
+            this.suppliers = suppliers;
+            this.user = user;
+        }
+
+        void accept(long line, ImportRow row) {
+            ProductRequest request = row.request();
+            String error = validate(request);
+            if (error != null) {
+                reject(line, request.getSku(), error);
+                return;
+            }
+            if (request.getSku() != null && !skus.add(request.getSku())) {
+                reject(line, request.getSku(), "SKU já cadastrado: " + request.getSku());
+                return;
+            }
+            boolean skuMaybeExists = request.getSku() != null && skuBloomFilter.mightContain(request.getSku());
+            LocalDateTime now = LocalDateTime.now();
+            chunk.add(new PendingRow(line, request.getSku(), skuMaybeExists, new Object[]{
+                    request.getName(),
+                    request.getDescription(),
+                    request.getPrice(),
+                    request.getStockQuantity(),
+                    request.getCategoryId(),
+                    request.getSupplierId(),
+                    request.getSku(),
+                    request.getActive() != null ? request.getActive() : true,
+                    row.metadata().toJson(),
+                    now,
+                    now,
+                    user,
+                    user
+            }, request, row.metadata()));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private String validate(ProductRequest request) {
+            Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+            Boolean categoryActive = categories.get(request.getCategoryId());
+            if (categoryActive == null) {
+                return "Categoria não encontrada com ID: " + request.getCategoryId();
+            }
+            if (!categoryActive) {
+                return "Categoria está inativa";
+            }
+            if (request.getSupplierId() != null) {
+                Boolean supplierActive = suppliers.get(request.getSupplierId());
+                if (supplierActive == null) {
+                    return "Fornecedor não encontrado com ID: " + request.getSupplierId();
+                }
+                if (!supplierActive) {
+                    return "Fornecedor está inativo";
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Falha de leitura no meio do arquivo: encerra a leitura, mas o que já foi lido segue para o relatório.
+         */
+        void interrupt(long line, IOException e) {
+            readError = "Erro ao ler arquivo de importação após a linha " + line + ": " + e.getMessage();
+            log.warn("Importação de produtos interrompida: {}", readError);
+        }
+
+        void reject(long line, String sku, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResponse.RowError(line, sku, message));
+            }
+        }
+
+        /**
+         * Grava o chunk atual numa transação (JDBC batch) e publica um CREATED por linha
+         * (aplicado após o commit). Em falha, regrava linha a linha.
+         */
+        private void flush() {
+            rejectExistingSkus();
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                chunkTransaction.executeWithoutResult(status -> insertAndPublish(chunk));
+                imported += chunk.size();
+            } catch (DataAccessException e) {
+                log.warn("Lote de importação falhou ({} linhas), regravando individualmente: {}",
+                        chunk.size(), e.getMostSpecificCause().getMessage());
+                for (PendingRow row : chunk) {
+                    try {
+                        chunkTransaction.executeWithoutResult(status -> insertAndPublish(List.of(row)));
+                        imported++;
+                    } catch (DataAccessException rowError) {
+                        if (row.sku() != null) {
+                            skus.remove(row.sku());
+                        }
+                        reject(row.line(), row.sku(), "Erro ao gravar: " + rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+        }
+
+        /**
+         * JDBC batch com as chaves geradas; um evento CREATED por linha, na transação corrente.
+         */
+        private void insertAndPublish(List<PendingRow> rows) {
+            long[] ids = jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (PendingRow row : rows) {
+                        new ArgumentPreparedStatementSetter(row.params()).setValues(ps);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    long[] generated = new long[rows.size()];
+                    int count = 0;
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next() && count < generated.length) {
+                            generated[count++] = keys.getLong(1);
+                        }
+                    }
+                    if (count != generated.length) {
+                        throw new IncorrectResultSizeDataAccessException("Chaves geradas incompletas na importação",
+                                generated.length, count);
+                    }
+                    return generated;
+                }
+            });
+            for (int i = 0; i < rows.size(); i++) {
+                productEventPublisher.created(rows.get(i).snapshot(ids[i]), rows.get(i).metadata());
+            }
+        }
+
+        /**
+         * Confirma no banco (um IN) apenas os SKUs que o filtro de Bloom marcou como "talvez".
+         */
+        private void rejectExistingSkus() {
+            List<String> candidates = chunk.stream()
+                    .filter(PendingRow::skuMaybeExists)
+                    .map(PendingRow::sku)
+                    .toList();
+            if (candidates.isEmpty()) {
+                return;
+            }
+            Set<String> existing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            existing.addAll(productRepository.findExistingSkus(candidates));
+            skuBloomFilter.recordFalsePositives(candidates.size() - existing.size());
+            if (existing.isEmpty()) {
+                return;
+            }
+            chunk.removeIf(row -> {
+                if (row.sku() != null && existing.contains(row.sku())) {
+                    reject(row.line(), row.sku(), "SKU já cadastrado: " + row.sku());
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        ProductImportResponse finish() {
+            flush();
+            long duration = System.currentTimeMillis() - start;
+            log.info("Importação de produtos: {} linhas, {} importadas, {} com erro em {}ms",
+                    totalRows, imported, failed, duration);
+            errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return ProductImportResponse.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .failed(failed)
+                    .durationMs(duration)
+                    .errorsTruncated(failed > errors.size())
+                    .errors(errors)
+                    .readError(readError)
+                    .build();
+        }
+    }
+}
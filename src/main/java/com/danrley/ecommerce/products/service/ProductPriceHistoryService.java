@@ -0,0 +1,287 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.dto.PriceHistoryFilterRequest;
+import com.danrley.ecommerce.products.dto.PriceHistoryPageResponse;
+import com.danrley.ecommerce.products.dto.PriceHistoryResponse;
+import com.danrley.ecommerce.products.dto.PriceVolatilityResponse;
+import com.danrley.ecommerce.products.entity.ProductPriceHistory;
+import com.danrley.ecommerce.products.repository.ProductPriceHistoryRepository;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.danrley.ecommerce.shared.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Consulta do histórico de preços (auditoria) paginada por keyset.
+ * <p>
+ * Todas as consultas ordenam por {@code (changed_at DESC, id DESC)} e continuam a partir do
+ * último item da página anterior ({@code WHERE changed_at < ? OR (changed_at = ? AND id < ?)}),
+ * então o custo de uma página não cresce com a profundidade, ao contrário de {@code OFFSET}.
+ * O par é único e estável mesmo com mudanças de mesmo segundo ou gravadas fora de ordem pelo
+ * write-behind. Índices usados: {@code (product_id, changed_at)} para um produto e
+ * {@code (changed_at)} (estendido pelo id no InnoDB) para períodos.
+ * </p>
+ * <p>
+ * O cursor é opaco para o cliente (base64 de {@code changedAt|id}). Intervalos grandes saem
+ * por {@link #export}, que percorre as mesmas páginas e escreve NDJSON sem acumular no heap.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductPriceHistoryService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("changedAt"), Sort.Order.desc("id"));
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /**
+     * innodb_ft_min_token_size padrão: palavras menores não são indexadas.
+     */
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private final ProductPriceHistoryRepository productPriceHistoryRepository;
+    private final ProductRepository productRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int exportChunkSize;
+
+    public ProductPriceHistoryService(ProductPriceHistoryRepository productPriceHistoryRepository,
+                                      ProductRepository productRepository,
+                                      ObjectMapper objectMapper,
+                                      @Value("${catalog.price-history.default-page-size:50}") int defaultPageSize,
+                                      @Value("${catalog.price-history.max-page-size:200}") int maxPageSize,
+                                      @Value("${catalog.price-history.export-chunk-size:1000}") int exportChunkSize) {
+        this.productPriceHistoryRepository = productPriceHistoryRepository;
+        this.productRepository = productRepository;
+        this.ndjsonWriter = objectMapper.writerFor(PriceHistoryResponse.class);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.exportChunkSize = exportChunkSize;
+    }
+
+    /**
+     * Uma página do histórico de preços, mais recentes primeiro.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param filter filtros opcionais, cursor e tamanho da página
+     * @return itens e cursor da próxima página
+     * @throws BusinessException se o cursor ou a busca por motivo forem inválidos
+     */
+    public PriceHistoryPageResponse findHistory(PriceHistoryFilterRequest filter) {
+        int size = pageSize(filter.getSize());
+        List<ProductPriceHistory> rows = fetch(filter, decodeCursor(filter.getCursor()), size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        return PriceHistoryPageResponse.builder()
+                .items(rows.stream().map(this::toResponse).toList())
+                .nextCursor(hasNext ? encodeCursor(rows.get(rows.size() - 1)) : null)
+                .size(size)
+                .build();
+    }
+
+    /**
+     * Uma página do histórico de preços de um produto.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param productId ID do produto
+     * @param filter    filtros opcionais (o productId do filtro é ignorado)
+     * @return itens e cursor da próxima página
+     * @throws ResourceNotFoundException se o produto não existir
+     */
+    public PriceHistoryPageResponse findProductHistory(Long productId, PriceHistoryFilterRequest filter) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Produto", "id", productId);
+        }
+        filter.setProductId(productId);
+        return findHistory(filter);
+    }
+
+    /**
+     * Escreve todo o histórico que atende aos filtros em NDJSON, mais recentes primeiro.
+     * Lê em páginas de {@code catalog.price-history.export-chunk-size} (cada uma uma consulta
+     * curta, sem transação longa) e descarrega o stream a cada página.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param filter filtros opcionais; {@code cursor} retoma uma exportação interrompida
+     * @param out    destino
+     * @return quantidade de mudanças escritas
+     */
+    public long export(PriceHistoryFilterRequest filter, OutputStream out) throws IOException {
+        Cursor after = decodeCursor(filter.getCursor());
+        long written = 0;
+        while (true) {
+            List<ProductPriceHistory> rows = fetch(filter, after, exportChunkSize);
+            for (ProductPriceHistory row : rows) {
+                out.write(ndjsonWriter.writeValueAsBytes(toResponse(row)));
+                out.write('\n');
+            }
+            out.flush();
+            written += rows.size();
+            if (rows.size() < exportChunkSize) {
+                break;
+            }
+            ProductPriceHistory last = rows.get(rows.size() - 1);
+            after = new Cursor(last.getChangedAt(), last.getId());
+        }
+        log.info("Histórico de preços exportado: {} mudanças", written);
+        return written;
+    }
+
+    /**
+     * Produtos com mais mudanças de preço no período.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param from       início do período (inclusivo)
+     * @param to         fim do período (exclusivo, como nos filtros do histórico)
+     * @param minChanges mínimo de mudanças
+     * @param limit      máximo de produtos (limitado pelo tamanho máximo de página)
+     * @return produtos mais voláteis primeiro
+     */
+    public List<PriceVolatilityResponse> findHighVolatility(LocalDateTime from, LocalDateTime to,
+                                                            long minChanges, Integer limit) {
+        return productPriceHistoryRepository
+                .findHighVolatilityProducts(from, to, minChanges, PageRequest.ofSize(pageSize(limit)))
+                .stream()
+                .map(row -> PriceVolatilityResponse.builder()
+                        .productId((Long) row[0])
+                        .changes(((Number) row[1]).longValue())
+                        .build())
+                .toList();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private record Cursor(LocalDateTime changedAt, long id) {
+    }
+
+    private List<ProductPriceHistory> fetch(PriceHistoryFilterRequest filter, Cursor after, int limit) {
+        if (filter.getReason() != null && !filter.getReason().isBlank()) {
+            return productPriceHistoryRepository.searchByReason(
+                    booleanTerms(filter.getReason()),
+                    filter.getProductId(),
+                    filter.getChangedBy() != null && !filter.getChangedBy().isBlank() ? filter.getChangedBy() : null,
+                    filter.getDirection() != null ? filter.getDirection().name() : null,
+                    filter.getFrom() != null ? filter.getFrom() : MIN_TIME,
+                    filter.getTo() != null ? filter.getTo() : MAX_TIME,
+                    after != null ? after.changedAt() : MAX_TIME,
+                    after != null ? after.id() : Long.MAX_VALUE,
+                    limit);
+        }
+        return productPriceHistoryRepository.findBy(buildSpecification(filter, after),
+                query -> query.sortBy(NEWEST_FIRST).limit(limit).all());
+    }
+
+    private Specification<ProductPriceHistory> buildSpecification(PriceHistoryFilterRequest filter, Cursor after) {
+        Specification<ProductPriceHistory> spec = Specification.unrestricted();
+
+        if (filter.getProductId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("productId"), filter.getProductId()));
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("changedAt"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("changedAt"), filter.getTo()));
+        }
+        if (filter.getChangedBy() != null && !filter.getChangedBy().isBlank()) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("changedBy"), filter.getChangedBy()));
+        }
+        if (filter.getDirection() == PriceHistoryFilterRequest.Direction.INCREASE) {
+            spec = spec.and((root, query, cb) ->
+                    cb.greaterThan(root.get("newPrice"), root.<BigDecimal>get("oldPrice")));
+        } else if (filter.getDirection() == PriceHistoryFilterRequest.Direction.DECREASE) {
+            spec = spec.and((root, query, cb) ->
+                    cb.lessThan(root.get("newPrice"), root.<BigDecimal>get("oldPrice")));
+        }
+        if (after != null) {
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("changedAt"), after.changedAt()),
+                    cb.and(cb.equal(root.get("changedAt"), after.changedAt()),
+                            cb.lessThan(root.get("id"), after.id()))));
+        }
+        return spec;
+    }
+
+    /**
+     * Converte o texto livre em expressão booleana do MySQL: todas as palavras obrigatórias,
+     * por prefixo ("promo novembro" → "+promo* +novembro*"). Operadores do usuário são descartados.
+     */
+    private String booleanTerms(String reason) {
+        String terms = Arrays.stream(reason.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> word.length() >= MIN_TOKEN_LENGTH)
+                .map(word -> "+" + word + "*")
+                .collect(Collectors.joining(" "));
+        if (terms.isEmpty()) {
+            throw new BusinessException(
+                    "Busca por motivo exige ao menos uma palavra com " + MIN_TOKEN_LENGTH + " ou mais caracteres",
+                    "INVALID_REASON_SEARCH");
+        }
+        return terms;
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested < 1) {
+            throw new BusinessException("Tamanho de página deve ser maior que zero", "INVALID_PAGE_SIZE");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    private String encodeCursor(ProductPriceHistory last) {
+        String raw = last.getChangedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor inválido: " + cursor, "INVALID_CURSOR");
+        }
+    }
+
+    private PriceHistoryResponse toResponse(ProductPriceHistory history) {
+        return PriceHistoryResponse.builder()
+                .id(history.getId())
+                .productId(history.getProductId())
+                .oldPrice(history.getOldPrice())
+                .newPrice(history.getNewPrice())
+                .changedBy(history.getChangedBy())
+                .changedAt(history.getChangedAt())
+                .reason(history.getReason())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.dto.FrequentlyBoughtTogetherResponse;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.recommendation.FrequentlyBoughtTogetherIndex;
+import com.danrley.ecommerce.products.recommendation.FrequentlyBoughtTogetherIndex.Neighbour;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recomendações "comprados juntos" ({@link FrequentlyBoughtTogetherIndex}) com os dados de cada produto.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductRecommendationService {
+
+    private final FrequentlyBoughtTogetherIndex frequentlyBoughtTogetherIndex;
+    private final ProductRepository productRepository;
+
+    /**
+     * @param productId produto de referência
+     * @param limit     máximo de produtos (padrão e teto: {@code catalog.recommendations.neighbours})
+     * @return mais comprados junto primeiro; produtos inativos ou removidos são omitidos
+     */
+    @Transactional(readOnly = true)
+    public List<FrequentlyBoughtTogetherResponse> getFrequentlyBoughtTogether(Long productId, Integer limit) {
+        int max = frequentlyBoughtTogetherIndex.getNeighbours();
+        int size = limit != null ? limit : max;
+        if (size < 1 || size > max) {
+            throw new BusinessException("limit deve estar entre 1 e " + max, "INVALID_LIMIT");
+        }
+        List<Neighbour> neighbours = frequentlyBoughtTogetherIndex.neighbours(productId, max);
+        if (neighbours.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = neighbours.stream().map(Neighbour::productId).collect(Collectors.toSet());
+        Map<Long, ProductSnapshot> products = productRepository.findSnapshotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductSnapshot::id, Function.identity()));
+
+        List<FrequentlyBoughtTogetherResponse> response = new ArrayList<>(size);
+        for (Neighbour neighbour : neighbours) {
+            ProductSnapshot product = products.get(neighbour.productId());
+            if (product == null || !product.active()) {
+                continue;
+            }
+            response.add(FrequentlyBoughtTogetherResponse.builder()
+                    .productId(product.id())
+                    .name(product.name())
+                    .sku(product.sku())
+                    .price(product.price())
+                    .availableQuantity(product.stockQuantity() - product.reservedQuantity())
+                    .orders(neighbour.orders())
+                    .build());
+            if (response.size() == size) {
+                break;
+            }
+        }
+        return response;
+    }
+}
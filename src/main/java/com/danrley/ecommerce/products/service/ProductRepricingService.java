@@ -0,0 +1,287 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.audit.PriceHistoryWriter;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.dto.RepricingRequest;
+import com.danrley.ecommerce.products.dto.RepricingRequest.Rounding;
+import com.danrley.ecommerce.products.dto.RepricingRequest.Rule;
+import com.danrley.ecommerce.products.dto.RepricingResponse;
+import com.danrley.ecommerce.products.dto.RepricingResponse.PriceChange;
+import com.danrley.ecommerce.products.entity.ProductPriceHistory;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.ResourceNotFoundException;
+import com.danrley.ecommerce.shared.reference.ReferenceDataCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Reajuste de preços em massa (promoções sazonais, reajuste de fornecedor).
+ * <p>
+ * Em vez de um {@code PUT /api/products/{id}} por produto (que recarrega categoria e
+ * fornecedor e grava um histórico por vez), os produtos selecionados são percorridos em
+ * lotes de {@code catalog.repricing.chunk-size}, cada lote numa transação:
+ * </p>
+ * <ol>
+ *   <li>{@code SELECT id, sku, price ... FOR UPDATE} do lote (keyset por id)</li>
+ *   <li>novo preço calculado em Java (regra + arredondamento, mesma conta do dry-run)</li>
+ *   <li>um único {@code UPDATE products SET price = CASE id WHEN ? THEN ? ... END WHERE id IN (...)}</li>
+ *   <li>histórico de preço do lote via {@link PriceHistoryWriter#recordAll} (JDBC batch no modo sync)</li>
+ *   <li>{@link ProductChangedEvent} UPDATED por produto alterado (índices/caches após o commit)</li>
+ * </ol>
+ * <p>
+ * Com {@code dryRun=true} os mesmos lotes são lidos (sem lock) e só o impacto é retornado.
+ * Um reajuste interrompido no meio mantém os lotes já confirmados.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductRepricingService {
+
+    private static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final PriceHistoryWriter priceHistoryWriter;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int sampleSize;
+
+    public ProductRepricingService(ProductRepository productRepository,
+                                   ReferenceDataCache referenceDataCache,
+                                   PriceHistoryWriter priceHistoryWriter,
+                                   ApplicationEventPublisher applicationEventPublisher,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${catalog.repricing.chunk-size:500}") int chunkSize,
+                                   @Value("${catalog.repricing.sample-size:100}") int sampleSize) {
+        this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.priceHistoryWriter = priceHistoryWriter;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Aplica (ou simula) o reajuste.
+     *
+     * @param request seletor, regra, arredondamento, motivo e dryRun
+     * @return impacto do reajuste
+     * @throws ResourceNotFoundException se a categoria ou o fornecedor não existir
+     */
+    public RepricingResponse reprice(RepricingRequest request) {
+        if (request.getCategoryId() != null && referenceDataCache.findCategory(request.getCategoryId()).isEmpty()) {
+            throw new ResourceNotFoundException("Categoria não encontrada com ID: " + request.getCategoryId());
+        }
+        if (request.getSupplierId() != null && referenceDataCache.findSupplier(request.getSupplierId()).isEmpty()) {
+            throw new ResourceNotFoundException("Fornecedor não encontrado com ID: " + request.getSupplierId());
+        }
+
+        String user = currentUser();
+        Impact impact = new Impact();
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = request.getIds().stream().distinct().sorted().toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                processChunk(request, ids.subList(from, Math.min(from + chunkSize, ids.size())), 0L, user, impact);
+            }
+        } else {
+            Chunk chunk = new Chunk(0, 0L);
+            do {
+                chunk = processChunk(request, null, chunk.lastId(), user, impact);
+            } while (chunk.rows() == chunkSize);
+        }
+
+        log.info("Reajuste de preços{}: {} produtos selecionados, {} alterados, {} sem mudança, {} rejeitados (usuário={}, motivo={})",
+                request.isDryRun() ? " (dry-run)" : "", impact.matched, impact.changed, impact.unchanged,
+                impact.rejected, user, request.getReason());
+
+        return RepricingResponse.builder()
+                .dryRun(request.isDryRun())
+                .matched(impact.matched)
+                .changed(impact.changed)
+                .unchanged(impact.unchanged)
+                .rejected(impact.rejected)
+                .oldTotal(impact.oldTotal)
+                .newTotal(impact.newTotal)
+                .sample(impact.sample)
+                .build();
+    }
+
+    /**
+     * Calcula o novo preço (regra + arredondamento).
+     *
+     * @return novo preço, com 2 casas
+     */
+    static BigDecimal apply(BigDecimal price, Rule rule, Rounding rounding) {
+        BigDecimal raw = switch (rule.getType()) {
+            case PERCENTAGE -> price.multiply(HUNDRED.add(rule.getValue())).divide(HUNDRED);
+            case ABSOLUTE -> price.add(rule.getValue());
+            case SET -> rule.getValue();
+        };
+        return switch (rounding != null ? rounding : Rounding.CENTS) {
+            case CENTS -> raw.setScale(2, RoundingMode.HALF_UP);
+            case WHOLE -> raw.setScale(0, RoundingMode.HALF_UP).setScale(2);
+            case ENDING_99 -> raw.setScale(0, RoundingMode.HALF_UP).subtract(new BigDecimal("0.01"));
+            case ENDING_90 -> raw.setScale(0, RoundingMode.HALF_UP).subtract(new BigDecimal("0.10"));
+        };
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Processa um lote numa transação.
+     *
+     * @param ids IDs do lote (seletor por IDs) ou null (keyset a partir de {@code afterId})
+     * @return linhas lidas e maior ID do lote
+     */
+    private Chunk processChunk(RepricingRequest request, List<Long> ids, long afterId, String user, Impact impact) {
+        TransactionTemplate transaction = request.isDryRun() ? readOnlyTransaction : chunkTransaction;
+        return transaction.execute(status -> {
+            List<Object[]> products = select(request, ids, afterId, !request.isDryRun());
+            List<ProductPriceHistory> histories = new ArrayList<>();
+            for (Object[] product : products) {
+                Long id = (Long) product[0];
+                String sku = (String) product[1];
+                BigDecimal oldPrice = (BigDecimal) product[2];
+                impact.matched++;
+
+                BigDecimal newPrice = apply(oldPrice, request.getRule(), request.getRounding());
+                if (newPrice.compareTo(MIN_PRICE) < 0 || newPrice.compareTo(MAX_PRICE) > 0) {
+                    impact.rejected++;
+                } else if (newPrice.compareTo(oldPrice) == 0) {
+                    impact.unchanged++;
+                } else {
+                    impact.record(new PriceChange(id, sku, oldPrice, newPrice), sampleSize);
+                    histories.add(new ProductPriceHistory(id, oldPrice, newPrice, user, request.getReason()));
+                }
+            }
+            if (!request.isDryRun() && !histories.isEmpty()) {
+                update(histories, user);
+                priceHistoryWriter.recordAll(histories);
+                Set<Long> changedIds = new HashSet<>();
+                histories.forEach(h -> changedIds.add(h.getProductId()));
+                for (ProductSnapshot snapshot : productRepository.findSnapshotsByIdIn(changedIds)) {
+                    applicationEventPublisher.publishEvent(
+                            new ProductChangedEvent(snapshot, ProductChangedEvent.ChangeType.UPDATED));
+                }
+            }
+            long lastId = products.isEmpty() ? afterId : (Long) products.get(products.size() - 1)[0];
+            return new Chunk(products.size(), lastId);
+        });
+    }
+
+    /**
+     * Produtos ativos do lote: [id, sku, price], em ordem de id.
+     */
+    private List<Object[]> select(RepricingRequest request, List<Long> ids, long afterId, boolean lock) {
+        StringBuilder sql = new StringBuilder("SELECT id, sku, price FROM products WHERE active = TRUE");
+        List<Object> params = new ArrayList<>();
+        if (request.getCategoryId() != null) {
+            sql.append(" AND category_id = ?");
+            params.add(request.getCategoryId());
+        }
+        if (request.getSupplierId() != null) {
+            sql.append(" AND supplier_id = ?");
+            params.add(request.getSupplierId());
+        }
+        if (ids != null) {
+            sql.append(" AND id IN ").append(placeholders(ids.size()));
+            params.addAll(ids);
+            sql.append(" ORDER BY id");
+        } else {
+            sql.append(" AND id > ? ORDER BY id LIMIT ?");
+            params.add(afterId);
+            params.add(chunkSize);
+        }
+        if (lock) {
+            sql.append(" FOR UPDATE");
+        }
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getBigDecimal(3)},
+                params.toArray());
+    }
+
+    /**
+     * Um UPDATE para o lote inteiro: {@code price = CASE id WHEN ? THEN ? ... END}.
+     */
+    private void update(List<ProductPriceHistory> changes, String user) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET price = CASE id");
+        List<Object> params = new ArrayList<>(changes.size() * 3 + 1);
+        for (ProductPriceHistory change : changes) {
+            sql.append(" WHEN ? THEN ?");
+            params.add(change.getProductId());
+            params.add(change.getNewPrice());
+        }
+        sql.append(" END, updated_by = ? WHERE id IN ").append(placeholders(changes.size()));
+        params.add(user);
+        changes.forEach(change -> params.add(change.getProductId()));
+        jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
+    private static String placeholders(int count) {
+        StringJoiner joiner = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < count; i++) {
+            joiner.add("?");
+        }
+        return joiner.toString();
+    }
+
+    private static String currentUser() {
+        return SecurityContextHolder.getContext().getAuthentication() != null
+                ? SecurityContextHolder.getContext().getAuthentication().getName()
+                : "system";
+    }
+
+    private record Chunk(int rows, long lastId) {
+    }
+
+    /**
+     * Totais acumulados entre os lotes.
+     */
+    private static final class Impact {
+
+        long matched;
+        long changed;
+        long unchanged;
+        long rejected;
+        BigDecimal oldTotal = BigDecimal.ZERO;
+        BigDecimal newTotal = BigDecimal.ZERO;
+        final List<PriceChange> sample = new ArrayList<>();
+
+        void record(PriceChange change, int sampleSize) {
+            changed++;
+            oldTotal = oldTotal.add(change.getOldPrice());
+            newTotal = newTotal.add(change.getNewPrice());
+            if (sample.size() < sampleSize) {
+                sample.add(change);
+            }
+        }
+    }
+}
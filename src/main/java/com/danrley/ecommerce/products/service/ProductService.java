@@ -1,32 +1,67 @@
 package com.danrley.ecommerce.products.service;
 
+import com.danrley.ecommerce.products.audit.PriceHistoryWriter;
+import com.danrley.ecommerce.products.dto.MetadataFilter;
+import com.danrley.ecommerce.products.dto.PriceAtRequest;
+import com.danrley.ecommerce.products.dto.PriceAtResponse;
+import com.danrley.ecommerce.products.dto.ProductBatchRequest;
+import com.danrley.ecommerce.products.dto.ProductBatchResponse;
+import com.danrley.ecommerce.products.dto.ProductFacetResponse;
 import com.danrley.ecommerce.products.dto.ProductFilterRequest;
 import com.danrley.ecommerce.products.dto.ProductRequest;
 import com.danrley.ecommerce.products.dto.ProductResponse;
+import com.danrley.ecommerce.products.dto.ProductSuggestionResponse;
 import com.danrley.ecommerce.products.entity.Category;
 import com.danrley.ecommerce.products.entity.Product;
 import com.danrley.ecommerce.products.entity.ProductPriceHistory;
 import com.danrley.ecommerce.products.entity.Supplier;
+import com.danrley.ecommerce.products.event.ProductChangedEvent.ChangeType;
+import com.danrley.ecommerce.products.event.ProductEventPublisher;
 import com.danrley.ecommerce.products.mapper.ProductMapper;
-import com.danrley.ecommerce.products.repository.CategoryRepository;
-import com.danrley.ecommerce.products.repository.ProductPriceHistoryRepository;
+import com.danrley.ecommerce.products.pricing.PriceTimelineIndex;
+import com.danrley.ecommerce.products.pricing.PriceTimelineIndex.PricePoint;
 import com.danrley.ecommerce.products.repository.ProductRepository;
-import com.danrley.ecommerce.products.repository.SupplierRepository;
+import com.danrley.ecommerce.products.search.MetadataAttributeIndex;
+import com.danrley.ecommerce.products.search.ProductAutocompleteIndex;
+import com.danrley.ecommerce.products.search.ProductFacetIndex;
+import com.danrley.ecommerce.products.search.SkuBloomFilter;
 import com.danrley.ecommerce.shared.exception.BusinessException;
 import com.danrley.ecommerce.shared.exception.InsufficientStockException;
 import com.danrley.ecommerce.shared.exception.ResourceNotFoundException;
+import com.danrley.ecommerce.shared.json.JsonMergePatch;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import com.danrley.ecommerce.shared.reference.ReferenceDataCache;
+import com.danrley.ecommerce.shared.web.EntityTags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Service responsável pela lógica de negócio de produtos.
@@ -40,11 +75,41 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductService {
 
+    /**
+     * Limite de pares (produto, instante) por consulta de preço em lote.
+     */
+    public static final int MAX_PRICE_LOOKUPS = 1000;
+
+    /**
+     * Campos aceitos no PATCH (nomes do ProductRequest).
+     */
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "name", "description", "price", "stockQuantity", "categoryId", "supplierId", "sku", "active", "metadata");
+
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
-    private final SupplierRepository supplierRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final ProductMapper productMapper;
-    private final ProductPriceHistoryRepository productPriceHistoryRepository;
+    private final PriceHistoryWriter priceHistoryWriter;
+    private final ProductEventPublisher productEventPublisher;
+    private final ProductFacetIndex productFacetIndex;
+    private final PriceTimelineIndex priceTimelineIndex;
+    private final MetadataAttributeIndex metadataAttributeIndex;
+    private final SkuBloomFilter skuBloomFilter;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Chaves por IN na busca em lote de produtos.
+     */
+    @Value("${catalog.batch-lookup.chunk-size:1000}")
+    private int batchLookupChunkSize;
+
+    /**
+     * Acima deste número de IDs, filtros de metadata usam JSON_EXTRACT no banco em vez de IN (ids).
+     */
+    @Value("${catalog.metadata-index.max-in-ids:5000}")
+    private int metadataMaxInIds;
 
     /**
      * Cria um novo produto.
@@ -66,8 +131,8 @@ public class ProductService {
             supplier = validateAndGetSupplier(request.getSupplierId());
         }
 
-        // Validar SKU único (se fornecido)
-        if (request.getSku() != null && productRepository.existsBySku(request.getSku())) {
+        // Validar SKU único (se fornecido) - filtro de Bloom evita a consulta para SKUs novos
+        if (request.getSku() != null && skuExists(request.getSku())) {
             throw new BusinessException("SKU já cadastrado: " + request.getSku(), "DUPLICATE_SKU");
         }
 
@@ -82,9 +147,10 @@ public class ProductService {
         product.setSupplier(supplier);
         product.setSku(request.getSku());
         product.setActive(request.getActive() != null ? request.getActive() : true);
-        product.setMetadata(request.getMetadata());
+        product.setMetadata(RawJsonMetadata.of(request.getMetadata()));
 
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = saveGuardingSku(product);
+        productEventPublisher.publish(savedProduct, ChangeType.CREATED);
         return productMapper.toResponse(savedProduct);
     }
 
@@ -98,10 +164,80 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
-        Product product = findProductByIdOrThrow(id);
+        Product product = findProductWithContentOrThrow(id);
         return productMapper.toResponse(product);
     }
 
+    /**
+     * Busca vários produtos por ID e/ou SKU (carrinho, wishlist) com um IN por tipo de chave,
+     * em vez de um {@code GET /api/products/{id}} por item.
+     * PERMISSÃO: Público (sem auth)
+     *
+     * @param request IDs e/ou SKUs
+     * @return um resultado por chave, na ordem da requisição (IDs, depois SKUs)
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchResponse getProductsBatch(ProductBatchRequest request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        List<String> skus = request.getSkus() != null ? request.getSkus() : List.of();
+
+        Map<Long, Product> byId = new HashMap<>();
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        for (int from = 0; from < distinctIds.size(); from += batchLookupChunkSize) {
+            productRepository.findWithContentByIdIn(distinctIds.subList(from, Math.min(from + batchLookupChunkSize, distinctIds.size())))
+                    .forEach(product -> byId.put(product.getId(), product));
+        }
+        // A coluna sku usa collation case-insensitive: "abc-1" encontra a linha "ABC-1"
+        Map<String, Product> bySku = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> distinctSkus = skus.stream().distinct().toList();
+        for (int from = 0; from < distinctSkus.size(); from += batchLookupChunkSize) {
+            productRepository.findBySkuIn(distinctSkus.subList(from, Math.min(from + batchLookupChunkSize, distinctSkus.size())))
+                    .forEach(product -> bySku.put(product.getSku(), product));
+        }
+
+        List<ProductBatchResponse.Result> results = new ArrayList<>(ids.size() + skus.size());
+        for (Long id : ids) {
+            Product product = byId.get(id);
+            results.add(new ProductBatchResponse.Result(id, null, product != null, productMapper.toResponse(product)));
+        }
+        for (String sku : skus) {
+            Product product = bySku.get(sku);
+            results.add(new ProductBatchResponse.Result(null, sku, product != null, productMapper.toResponse(product)));
+        }
+
+        return ProductBatchResponse.builder()
+                .requested(results.size())
+                .found((int) results.stream().filter(ProductBatchResponse.Result::isFound).count())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Strong ETag do produto a partir de (id, updatedAt do produto, da categoria e do fornecedor),
+     * sem carregar a entidade.
+     * PERMISSÃO: Público (sem auth)
+     *
+     * @param id ID do produto
+     * @return ETag atual
+     * @throws ResourceNotFoundException se produto não existir
+     */
+    @Transactional(readOnly = true)
+    public String getProductETag(Long id) {
+        return productRepository.findVersionById(id)
+                .map(version -> EntityTags.strong("product", id, version.updatedAt(),
+                        version.categoryUpdatedAt(), version.supplierUpdatedAt()))
+                .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
+    }
+
+    /**
+     * Versão de categorias e fornecedores, embutidos em cada produto (entra no ETag das listagens).
+     *
+     * @return alteração mais recente entre categorias e fornecedores
+     */
+    public LocalDateTime getReferenceDataLastModified() {
+        return referenceDataCache.lastModified();
+    }
+
     /**
      * Lista produtos com filtros e paginação.
      * PERMISSÃO: Público (sem auth)
@@ -117,6 +253,100 @@ public class ProductService {
         return products.map(productMapper::toResponse);
     }
 
+    /**
+     * Contagens de facetas (categoria, fornecedor, faixa de preço, estoque) para os filtros.
+     * Calculadas sobre o índice em bitmap, sem GROUP BY no banco.
+     * PERMISSÃO: Público (sem auth)
+     *
+     * @param filters filtros opcionais (mesmos da listagem)
+     * @return contagens por faceta
+     * @throws BusinessException se o índice ainda estiver sendo carregado
+     */
+    @Transactional(readOnly = true)
+    public ProductFacetResponse getFacets(ProductFilterRequest filters) {
+        RoaringBitmap restrictTo = null;
+        if (filters != null && filters.getName() != null && !filters.getName().isBlank()) {
+            restrictTo = new RoaringBitmap();
+            for (Long id : productRepository.findIdsByNameContaining(filters.getName())) {
+                restrictTo.add(id.intValue());
+            }
+        }
+        if (filters != null && filters.getMetadataFilters() != null && !filters.getMetadataFilters().isEmpty()) {
+            boolean allIndexed = filters.getMetadataFilters().stream()
+                    .allMatch(f -> metadataAttributeIndex.isIndexed(f.getKey()));
+            RoaringBitmap byMetadata = allIndexed ? metadataAttributeIndex.match(filters.getMetadataFilters()) : null;
+            if (byMetadata == null) {
+                throw new BusinessException("Filtros de metadata indisponíveis para facetas no momento", "METADATA_INDEX_NOT_READY");
+            }
+            restrictTo = restrictTo == null ? byMetadata : RoaringBitmap.and(restrictTo, byMetadata);
+        }
+        return productFacetIndex.facets(filters, restrictTo);
+    }
+
+    /**
+     * Sugestões de autocomplete por prefixo do nome, ordenadas por unidades vendidas.
+     * Atendidas pelo índice em memória, sem consulta ao banco.
+     * PERMISSÃO: Público (sem auth)
+     *
+     * @param query texto digitado (acentos e maiúsculas ignorados)
+     * @param limit máximo de sugestões (1..20)
+     * @return sugestões
+     * @throws BusinessException se o limite for inválido ou o índice ainda estiver sendo carregado
+     */
+    public List<ProductSuggestionResponse> autocomplete(String query, int limit) {
+        if (limit < 1 || limit > ProductAutocompleteIndex.MAX_LIMIT) {
+            throw new BusinessException("Limite de sugestões deve estar entre 1 e " + ProductAutocompleteIndex.MAX_LIMIT,
+                    "INVALID_AUTOCOMPLETE_LIMIT");
+        }
+        return productAutocompleteIndex.suggest(query, limit);
+    }
+
+    /**
+     * Preço vigente de um produto num instante (linha do tempo em memória).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param id ID do produto
+     * @param at instante consultado
+     * @return preço vigente (found = false se o produto ainda não existia em {@code at})
+     * @throws ResourceNotFoundException se produto não existir
+     */
+    @Transactional(readOnly = true)
+    public PriceAtResponse getPriceAt(Long id, LocalDateTime at) {
+        PricePoint point = priceTimelineIndex.priceAt(id, at);
+        if (point == null && !productRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Produto não encontrado com ID: " + id);
+        }
+        return toPriceAtResponse(id, at, point);
+    }
+
+    /**
+     * Preços vigentes para vários pares (produto, instante), na ordem recebida.
+     * Produtos inexistentes retornam found = false.
+     * PERMISSÃO: ADMIN only
+     *
+     * @param requests pares (produto, instante), no máximo {@value #MAX_PRICE_LOOKUPS}
+     * @return preços na mesma ordem
+     * @throws BusinessException se exceder o limite de pares
+     */
+    @Transactional(readOnly = true)
+    public List<PriceAtResponse> getPricesAt(List<PriceAtRequest> requests) {
+        if (requests.size() > MAX_PRICE_LOOKUPS) {
+            throw new BusinessException("Máximo de " + MAX_PRICE_LOOKUPS + " consultas por requisição", "TOO_MANY_LOOKUPS");
+        }
+        if (requests.stream().anyMatch(r -> r == null || r.getProductId() == null || r.getAt() == null)) {
+            throw new BusinessException("Cada consulta precisa de productId e at", "INVALID_PRICE_LOOKUP");
+        }
+        List<Long> ids = requests.stream().map(PriceAtRequest::getProductId).toList();
+        List<LocalDateTime> instants = requests.stream().map(PriceAtRequest::getAt).toList();
+        List<PricePoint> points = priceTimelineIndex.pricesAt(ids, instants);
+
+        List<PriceAtResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(toPriceAtResponse(ids.get(i), instants.get(i), points.get(i)));
+        }
+        return responses;
+    }
+
     /**
      * Atualiza um produto existente.
      * PERMISSÃO: ADMIN only
@@ -129,7 +359,7 @@ public class ProductService {
      */
     @Transactional
     public ProductResponse updateProduct(Long id, ProductRequest request) {
-        Product product = findProductByIdOrThrow(id);
+        Product product = findProductWithContentOrThrow(id);
 
         // Validar categoria
         Category category = validateAndGetCategory(request.getCategoryId());
@@ -141,34 +371,15 @@ public class ProductService {
         }
 
         // Validar SKU único (se mudou)
-        if (request.getSku() != null && !request.getSku().equals(product.getSku())) {
-            if (productRepository.existsBySku(request.getSku())) {
-                throw new BusinessException("SKU já cadastrado: " + request.getSku(), "DUPLICATE_SKU");
-            }
+        boolean skuChanged = request.getSku() != null && !request.getSku().equals(product.getSku());
+        if (skuChanged && skuExists(request.getSku())) {
+            throw new BusinessException("SKU já cadastrado: " + request.getSku(), "DUPLICATE_SKU");
         }
 
-        // ⬇️ AUDITORIA DE PREÇO - ADR-004 ⬇️
-        BigDecimal oldPrice = product.getPrice();
-        BigDecimal newPrice = request.getPrice();
-
-        if (oldPrice.compareTo(newPrice) != 0) {
-            // Pegar usuário autenticado do SecurityContext
-            String changedBy = SecurityContextHolder.getContext()
-                    .getAuthentication()
-                    .getName();
-
-            // Criar registro de histórico
-            ProductPriceHistory history = new ProductPriceHistory(
-                    product.getId(),
-                    oldPrice,
-                    newPrice,
-                    changedBy,
-                    "Atualização manual via API"
-            );
-
-            productPriceHistoryRepository.save(history);
+        // Auditoria de preço - ADR-004
+        if (product.getPrice().compareTo(request.getPrice()) != 0) {
+            recordPriceChange(product, request.getPrice());
         }
-        // ⬆️ FIM AUDITORIA ⬆️
 
         // Atualizar campos
         product.setName(request.getName());
@@ -179,9 +390,93 @@ public class ProductService {
         product.setSupplier(supplier);
         product.setSku(request.getSku());
         product.setActive(request.getActive() != null ? request.getActive() : true);
-        product.setMetadata(request.getMetadata());
+        product.setMetadata(RawJsonMetadata.of(request.getMetadata()));
+
+        Product updatedProduct = skuChanged ? saveGuardingSku(product) : productRepository.save(product);
+        productEventPublisher.publish(updatedProduct, ChangeType.UPDATED);
+        return productMapper.toResponse(updatedProduct);
+    }
+
+    /**
+     * Atualização parcial via JSON Merge Patch (RFC 7386).
+     * Só os campos presentes no patch são considerados; só os que de fato mudaram vão para o UPDATE
+     * ({@code @DynamicUpdate}). Categoria e fornecedor só são validados se mudarem; {@code metadata}
+     * é mesclada chave a chave ({@code null} remove a chave).
+     * PERMISSÃO: ADMIN only
+     *
+     * @param id    ID do produto
+     * @param patch merge patch (ex: {"price": 199.90, "metadata": {"color": null}})
+     * @return produto atualizado
+     * @throws ResourceNotFoundException se produto, categoria ou fornecedor não existir
+     * @throws BusinessException se o patch for inválido ou o SKU já existir para outro produto
+     */
+    @Transactional
+    public ProductResponse patchProduct(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BusinessException("PATCH deve ser um objeto JSON (merge patch)", "INVALID_PATCH");
+        }
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new BusinessException("Campo não pode ser alterado via PATCH: " + field, "INVALID_PATCH");
+            }
+        });
+
+        Product product = findProductWithContentOrThrow(id);
+        ProductRequest merged = applyPatch(product, patch);
+        List<String> changed = new ArrayList<>();
+
+        if (patch.has("name") && !merged.getName().equals(product.getName())) {
+            product.setName(merged.getName());
+            changed.add("name");
+        }
+        if (patch.has("description") && !Objects.equals(merged.getDescription(), product.getDescription())) {
+            product.setDescription(merged.getDescription());
+            changed.add("description");
+        }
+        if (patch.has("price") && merged.getPrice().compareTo(product.getPrice()) != 0) {
+            recordPriceChange(product, merged.getPrice());
+            product.setPrice(merged.getPrice());
+            changed.add("price");
+        }
+        if (patch.has("stockQuantity") && !merged.getStockQuantity().equals(product.getStockQuantity())) {
+            product.setStockQuantity(merged.getStockQuantity());
+            changed.add("stockQuantity");
+        }
+        if (patch.has("categoryId") && !merged.getCategoryId().equals(product.getCategory().getId())) {
+            product.setCategory(validateAndGetCategory(merged.getCategoryId()));
+            changed.add("categoryId");
+        }
+        Long currentSupplierId = product.getSupplier() != null ? product.getSupplier().getId() : null;
+        if (patch.has("supplierId") && !Objects.equals(merged.getSupplierId(), currentSupplierId)) {
+            product.setSupplier(merged.getSupplierId() != null ? validateAndGetSupplier(merged.getSupplierId()) : null);
+            changed.add("supplierId");
+        }
+        boolean skuChanged = patch.has("sku") && !Objects.equals(merged.getSku(), product.getSku());
+        if (skuChanged) {
+            if (merged.getSku() != null && skuExists(merged.getSku())) {
+                throw new BusinessException("SKU já cadastrado: " + merged.getSku(), "DUPLICATE_SKU");
+            }
+            product.setSku(merged.getSku());
+            changed.add("sku");
+        }
+        if (patch.has("active") && !merged.getActive().equals(product.getActive())) {
+            product.setActive(merged.getActive());
+            changed.add("active");
+        }
+        if (patch.has("metadata")) {
+            RawJsonMetadata metadata = patchMetadata(product.getMetadata(), patch.get("metadata"));
+            if (metadata != null) {
+                product.setMetadata(metadata);
+                changed.add("metadata");
+            }
+        }
 
-        Product updatedProduct = productRepository.save(product);
+        if (changed.isEmpty()) {
+            return productMapper.toResponse(product);
+        }
+        log.debug("PATCH do produto {}: {}", id, changed);
+        Product updatedProduct = skuChanged ? saveGuardingSku(product) : productRepository.save(product);
+        productEventPublisher.publish(updatedProduct, ChangeType.UPDATED);
         return productMapper.toResponse(updatedProduct);
     }
 
@@ -198,10 +493,21 @@ public class ProductService {
         Product product = findProductByIdOrThrow(id);
         product.setActive(false);
         productRepository.save(product);
+        productEventPublisher.publish(product, ChangeType.DEACTIVATED);
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
+    private static PriceAtResponse toPriceAtResponse(Long productId, LocalDateTime at, PricePoint point) {
+        return PriceAtResponse.builder()
+                .productId(productId)
+                .at(at)
+                .found(point != null)
+                .price(point != null ? point.price() : null)
+                .validSince(point != null ? point.validSince() : null)
+                .build();
+    }
+
     /**
      * Busca produto por ID ou lança exceção. (Tornado público para uso interno por outros serviços)
      */
@@ -211,10 +517,37 @@ public class ProductService {
     }
 
     /**
-     * Valida se categoria existe e está ativa.
+     * Como {@link #findProductByIdOrThrow}, com descrição e metadata (atributos lazy) no mesmo SELECT.
+     */
+    private Product findProductWithContentOrThrow(Long id) {
+        return productRepository.findWithContentById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
+    }
+
+    /**
+     * SKU já cadastrado? Só consulta o banco quando o filtro de Bloom responde "talvez".
+     */
+    private boolean skuExists(String sku) {
+        return skuBloomFilter.exists(sku, productRepository::existsBySku);
+    }
+
+    /**
+     * Grava e força o flush: a constraint UNIQUE de sku é a garantia final contra
+     * SKUs duplicados gravados em paralelo (o filtro/existsBySku não enxergam transações concorrentes).
+     */
+    private Product saveGuardingSku(Product product) {
+        try {
+            return productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("SKU já cadastrado: " + product.getSku(), "DUPLICATE_SKU");
+        }
+    }
+
+    /**
+     * Valida se categoria existe e está ativa (dados de referência em memória).
      */
     private Category validateAndGetCategory(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+        Category category = referenceDataCache.findCategory(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + categoryId));
 
         if (!category.getActive()) {
@@ -225,10 +558,10 @@ public class ProductService {
     }
 
     /**
-     * Valida se fornecedor existe e está ativo.
+     * Valida se fornecedor existe e está ativo (dados de referência em memória).
      */
     private Supplier validateAndGetSupplier(Long supplierId) {
-        Supplier supplier = supplierRepository.findById(supplierId)
+        Supplier supplier = referenceDataCache.findSupplier(supplierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Fornecedor não encontrado com ID: " + supplierId));
 
         if (!supplier.getActive()) {
@@ -238,6 +571,85 @@ public class ProductService {
         return supplier;
     }
 
+    /**
+     * Registra a alteração de preço no histórico (ADR-004).
+     */
+    private void recordPriceChange(Product product, BigDecimal newPrice) {
+        // Pegar usuário autenticado do SecurityContext
+        String changedBy = SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getName();
+
+        ProductPriceHistory history = new ProductPriceHistory(
+                product.getId(),
+                product.getPrice(),
+                newPrice,
+                changedBy,
+                "Atualização manual via API"
+        );
+
+        priceHistoryWriter.record(history); // sync, write-behind ou outbox (catalog.price-history.mode)
+    }
+
+    /**
+     * Estado atual do produto como ProductRequest com os campos do patch aplicados
+     * e validados pelas mesmas regras do PUT. {@code metadata} é tratada à parte.
+     */
+    private ProductRequest applyPatch(Product product, JsonNode patch) {
+        ProductRequest merged = new ProductRequest();
+        merged.setName(product.getName());
+        merged.setDescription(product.getDescription());
+        merged.setPrice(product.getPrice());
+        merged.setStockQuantity(product.getStockQuantity());
+        merged.setCategoryId(product.getCategory().getId());
+        merged.setSupplierId(product.getSupplier() != null ? product.getSupplier().getId() : null);
+        merged.setSku(product.getSku());
+        merged.setActive(product.getActive());
+
+        ObjectNode fields = ((ObjectNode) patch).deepCopy();
+        fields.remove("metadata");
+        try {
+            objectMapper.readerForUpdating(merged).readValue(fields);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("PATCH inválido: " + e.getOriginalMessage(), "INVALID_PATCH");
+        } catch (IOException e) {
+            throw new BusinessException("PATCH inválido: " + e.getMessage(), "INVALID_PATCH");
+        }
+
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(merged);
+        if (!violations.isEmpty()) {
+            throw new BusinessException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")), "INVALID_PATCH");
+        }
+        if (merged.getActive() == null) {
+            throw new BusinessException("Campo active não pode ser nulo", "INVALID_PATCH");
+        }
+        return merged;
+    }
+
+    /**
+     * Aplica o merge patch sobre a metadata atual.
+     *
+     * @return nova metadata, ou null se nada mudou
+     */
+    private RawJsonMetadata patchMetadata(RawJsonMetadata current, JsonNode patch) {
+        try {
+            JsonNode before = objectMapper.readTree(current.toJson());
+            JsonNode after = JsonMergePatch.apply(before, patch);
+            if (after == null || after.isNull()) {
+                return current.isEmpty() ? null : RawJsonMetadata.EMPTY;
+            }
+            if (!after.isObject()) {
+                throw new BusinessException("Metadados devem ser um objeto JSON", "INVALID_PATCH");
+            }
+            return after.equals(before) ? null : RawJsonMetadata.of(after.toString());
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Metadados inválidos: " + e.getOriginalMessage(), "INVALID_PATCH");
+        }
+    }
+
     /**
      * Constrói Specification para filtros dinâmicos.
      */
@@ -271,6 +683,63 @@ public class ProductService {
             spec = spec.and((root, query, cb) ->
                     cb.equal(root.get("active"), filters.getActive()));
         }
+        if (filters.getInStock() != null) {
+            spec = spec.and((root, query, cb) -> filters.getInStock()
+                    ? cb.greaterThan(root.get("availableQuantity"), 0)
+                    : cb.lessThanOrEqualTo(root.get("availableQuantity"), 0));
+        }
+        if (filters.getMinAvailable() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("availableQuantity"), filters.getMinAvailable()));
+        }
+        if (filters.getMetadataFilters() != null && !filters.getMetadataFilters().isEmpty()) {
+            spec = spec.and(buildMetadataSpecification(filters.getMetadataFilters()));
+        }
+        return spec;
+    }
+
+    /**
+     * Filtros de metadata: chaves indexadas viram {@code id IN (...)} a partir do
+     * MetadataAttributeIndex; chaves não indexadas (ou índice ainda carregando, ou
+     * resultado grande demais para IN) usam JSON_EXTRACT no banco.
+     */
+    private Specification<Product> buildMetadataSpecification(List<MetadataFilter> metadataFilters) {
+        Map<Boolean, List<MetadataFilter>> byIndexed = metadataFilters.stream()
+                .collect(Collectors.partitioningBy(f -> metadataAttributeIndex.isIndexed(f.getKey())));
+
+        Specification<Product> spec = Specification.unrestricted();
+        List<MetadataFilter> viaDatabase = byIndexed.get(false);
+
+        RoaringBitmap ids = byIndexed.get(true).isEmpty() ? null : metadataAttributeIndex.match(byIndexed.get(true));
+        if (ids != null && ids.getLongCardinality() <= metadataMaxInIds) {
+            List<Long> idList = new ArrayList<>(ids.getCardinality());
+            ids.forEach((int id) -> idList.add((long) id));
+            spec = spec.and((root, query, cb) -> idList.isEmpty() ? cb.disjunction() : root.get("id").in(idList));
+        } else if (!byIndexed.get(true).isEmpty()) {
+            viaDatabase = metadataFilters;
+        }
+
+        for (MetadataFilter filter : viaDatabase) {
+            String jsonPath = "$.\"" + filter.getKey() + "\"";
+            if (filter.getValue() != null) {
+                // Mesma normalização do índice: trim + minúsculas
+                String value = MetadataAttributeIndex.normalize(filter.getValue());
+                spec = spec.and((root, query, cb) -> cb.equal(
+                        cb.lower(cb.trim(cb.function("JSON_UNQUOTE", String.class,
+                                cb.function("JSON_EXTRACT", String.class, root.get("metadata"), cb.literal(jsonPath))))),
+                        value));
+            }
+            if (filter.getMin() != null) {
+                spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(
+                        cb.function("JSON_EXTRACT", BigDecimal.class, root.get("metadata"), cb.literal(jsonPath)),
+                        filter.getMin()));
+            }
+            if (filter.getMax() != null) {
+                spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(
+                        cb.function("JSON_EXTRACT", BigDecimal.class, root.get("metadata"), cb.literal(jsonPath)),
+                        filter.getMax()));
+            }
+        }
         return spec;
     }
 
@@ -278,12 +747,20 @@ public class ProductService {
      * Retorna uma lista de entidades Product para uma lista de IDs.
      * Este método serve como o contrato de serviço para o módulo de Pedidos.
      * Garante que as entidades sejam buscadas dentro do contexto transacional correto.
+     * IDs repetidos são buscados uma vez; listas grandes vão em vários IN de
+     * catalog.batch-lookup.chunk-size (categoria e fornecedor no mesmo SELECT).
      * @param productIds Lista de IDs de produtos a serem buscados.
      * @return Lista de entidades Product.
      */
     @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
     public List<Product> findProductsByIds(List<Long> productIds) {
-        return productRepository.findAllById(productIds);
+        List<Long> distinctIds = productIds.stream().distinct().toList();
+        List<Product> products = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += batchLookupChunkSize) {
+            products.addAll(productRepository.findWithDetailsByIdIn(
+                    distinctIds.subList(from, Math.min(from + batchLookupChunkSize, distinctIds.size()))));
+        }
+        return products;
     }
 
     /**
@@ -323,6 +800,7 @@ public class ProductService {
         // Liberar reserva
         int newReservedQuantity = product.getReservedQuantity() - quantity;
         product.setReservedQuantity(Math.max(0, newReservedQuantity)); // Garantir >= 0
+        productEventPublisher.stockChanged(product);
 
         // O save é gerenciado pela transação do PaymentService
         log.debug("Estoque finalizado com lock: productId={}, newStock={}, newReserved={}",
@@ -0,0 +1,242 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.dto.StockAdjustmentRequest;
+import com.danrley.ecommerce.products.dto.StockAdjustmentResponse;
+import com.danrley.ecommerce.products.dto.StockAdjustmentResponse.LineResult;
+import com.danrley.ecommerce.products.dto.StockAdjustmentResponse.Status;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ajuste de estoque em massa (sincronização com o WMS).
+ * <p>
+ * Diferente do {@code PUT /api/products/{id}}, que sobrescreve stock_quantity a partir
+ * da entidade carregada (e corre contra reservas concorrentes), aqui cada linha vira um
+ * UPDATE atômico no banco, sem carregar entidades:
+ * </p>
+ * <pre>
+ * UPDATE products SET stock_quantity = base + factor * stock_quantity
+ *  WHERE id = ? AND base + factor * stock_quantity >= reserved_quantity
+ * </pre>
+ * <ul>
+ *   <li>delta:    base = delta,    factor = 1</li>
+ *   <li>absoluto: base = quantity, factor = 0</li>
+ * </ul>
+ * <p>
+ * A condição no WHERE garante {@code stock_quantity >= reserved_quantity} mesmo com
+ * reservas concorrentes. As linhas são enviadas em JDBC batch, um lote por transação
+ * (catalog.stock-adjustment.batch-size). SKUs são resolvidos para IDs com um IN por lote.
+ * </p>
+ * <p>
+ * O corpo inteiro é lido e validado ANTES do primeiro lote: um JSON malformado no meio do
+ * arquivo recusa a requisição sem ter gravado nada (deltas somam ao estoque atual; um retry
+ * depois de lotes já comitados aplicaria os ajustes duas vezes).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductStockService {
+
+    private static final String ADJUST_SQL =
+            "UPDATE products SET stock_quantity = ? + ? * stock_quantity, updated_by = ? " +
+            "WHERE id = ? AND ? + ? * stock_quantity >= reserved_quantity";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+
+    public ProductStockService(ProductRepository productRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher applicationEventPublisher,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               @Value("${catalog.stock-adjustment.batch-size:500}") int batchSize) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Aplica os ajustes de um array JSON ou NDJSON.
+     *
+     * @param input corpo da requisição
+     * @return resultado de cada linha
+     * @throws BusinessException se o corpo não puder ser lido (nenhum ajuste é aplicado)
+     */
+    public StockAdjustmentResponse adjust(InputStream input) {
+        String user = currentUser();
+        List<LineResult> results = new ArrayList<>();
+        List<PendingLine> valid = new ArrayList<>();
+        long line = 0;
+
+        try (MappingIterator<StockAdjustmentRequest> entries =
+                     objectMapper.readerFor(StockAdjustmentRequest.class).readValues(input)) {
+            while (entries.hasNextValue()) {
+                line++;
+                StockAdjustmentRequest entry = entries.nextValue();
+                String error = validate(entry);
+                if (error != null) {
+                    results.add(new LineResult(line, entry != null ? entry.getId() : null,
+                            entry != null ? entry.getSku() : null, Status.INVALID, null, null, error));
+                    continue;
+                }
+                valid.add(new PendingLine(line, entry));
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Erro ao ler ajustes de estoque (linha " + (line + 1) + "), nenhum ajuste "
+                    + "aplicado: " + e.getMessage(), "INVALID_STOCK_ADJUSTMENT", e);
+        }
+
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            results.addAll(applyBatch(valid.subList(from, Math.min(from + batchSize, valid.size())), user));
+        }
+
+        results.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+        long applied = results.stream().filter(r -> r.getStatus() == Status.APPLIED).count();
+        log.info("Ajuste de estoque em massa: {} linhas, {} aplicadas, {} com falha (usuário={})",
+                results.size(), applied, results.size() - applied, user);
+
+        return StockAdjustmentResponse.builder()
+                .total(results.size())
+                .applied(applied)
+                .failed(results.size() - applied)
+                .results(results)
+                .build();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Aplica um lote numa transação: resolve SKUs, executa o batch de UPDATEs,
+     * relê o estado final dos produtos afetados e publica eventos de estoque.
+     */
+    private List<LineResult> applyBatch(List<PendingLine> batch, String user) {
+        return batchTransaction.execute(status -> {
+            Set<String> skus = batch.stream()
+                    .map(p -> p.entry().getSku())
+                    .filter(sku -> sku != null)
+                    .collect(Collectors.toSet());
+            // A coluna sku usa collation case-insensitive
+            Map<String, Long> idsBySku = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            if (!skus.isEmpty()) {
+                productRepository.findSnapshotsBySkuIn(skus).forEach(s -> idsBySku.put(s.sku(), s.id()));
+            }
+
+            List<LineResult> results = new ArrayList<>(batch.size());
+            List<PendingLine> resolved = new ArrayList<>(batch.size());
+            List<Object[]> params = new ArrayList<>(batch.size());
+            for (PendingLine pending : batch) {
+                StockAdjustmentRequest entry = pending.entry();
+                Long id = entry.getId() != null ? entry.getId() : idsBySku.get(entry.getSku());
+                if (id == null) {
+                    results.add(new LineResult(pending.line(), null, entry.getSku(), Status.NOT_FOUND, null, null,
+                            "Produto não encontrado com SKU: " + entry.getSku()));
+                    continue;
+                }
+                int base = entry.getDelta() != null ? entry.getDelta() : entry.getQuantity();
+                int factor = entry.getDelta() != null ? 1 : 0;
+                resolved.add(pending.withId(id));
+                params.add(new Object[]{base, factor, user, id, base, factor});
+            }
+
+            int[] counts = params.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(ADJUST_SQL, params);
+
+            Map<Long, ProductSnapshot> after = new HashMap<>();
+            if (!resolved.isEmpty()) {
+                Set<Long> ids = resolved.stream().map(PendingLine::id).collect(Collectors.toSet());
+                for (ProductSnapshot snapshot : productRepository.findSnapshotsByIdIn(ids)) {
+                    after.put(snapshot.id(), snapshot);
+                }
+            }
+
+            for (int i = 0; i < resolved.size(); i++) {
+                PendingLine pending = resolved.get(i);
+                ProductSnapshot snapshot = after.get(pending.id());
+                String sku = snapshot != null ? snapshot.sku() : pending.entry().getSku();
+                if (snapshot == null) {
+                    results.add(new LineResult(pending.line(), pending.id(), sku, Status.NOT_FOUND, null, null,
+                            "Produto não encontrado com ID: " + pending.id()));
+                } else if (counts[i] == 0) {
+                    results.add(new LineResult(pending.line(), pending.id(), sku, Status.REJECTED,
+                            snapshot.stockQuantity(), snapshot.reservedQuantity(),
+                            "Estoque resultante menor que o reservado (" + snapshot.reservedQuantity() + ")"));
+                } else {
+                    log.debug("Estoque ajustado: productId={}, motivo={}", pending.id(), pending.entry().getReason());
+                    results.add(new LineResult(pending.line(), pending.id(), sku, Status.APPLIED,
+                            snapshot.stockQuantity(), snapshot.reservedQuantity(), null));
+                }
+            }
+
+            after.values().forEach(snapshot -> applicationEventPublisher.publishEvent(
+                    new ProductChangedEvent(snapshot, ProductChangedEvent.ChangeType.STOCK)));
+            return results;
+        });
+    }
+
+    private String validate(StockAdjustmentRequest entry) {
+        if (entry == null) {
+            return "Linha vazia";
+        }
+        Set<ConstraintViolation<StockAdjustmentRequest>> violations = validator.validate(entry);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String currentUser() {
+        return SecurityContextHolder.getContext().getAuthentication() != null
+                ? SecurityContextHolder.getContext().getAuthentication().getName()
+                : null;
+    }
+
+    private record PendingLine(long line, StockAdjustmentRequest entry, Long id) {
+
+        PendingLine(long line, StockAdjustmentRequest entry) {
+            this(line, entry, null);
+        }
+
+        PendingLine withId(Long resolvedId) {
+            return new PendingLine(line, entry, resolvedId);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.danrley.ecommerce.products.service;
+
+import com.danrley.ecommerce.products.dto.MostViewedProductResponse;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.popularity.ProductViewTracker;
+import com.danrley.ecommerce.products.popularity.ProductViewTracker.ProductViewCount;
+import com.danrley.ecommerce.products.popularity.ViewWindow;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking de produtos mais vistos ({@link ProductViewTracker}) com os dados básicos de cada produto.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductViewService {
+
+    private final ProductViewTracker productViewTracker;
+    private final ProductRepository productRepository;
+
+    /**
+     * @param window janela (última hora ou último dia)
+     * @param limit  máximo de produtos (padrão e teto: {@code catalog.views.top-k})
+     * @return mais vistos primeiro; produtos removidos do banco são omitidos
+     */
+    @Transactional(readOnly = true)
+    public List<MostViewedProductResponse> getMostViewed(ViewWindow window, Integer limit) {
+        int size = limit != null ? limit : productViewTracker.getTopK();
+        if (size < 1 || size > productViewTracker.getTopK()) {
+            throw new BusinessException("limit deve estar entre 1 e " + productViewTracker.getTopK(), "INVALID_LIMIT");
+        }
+        List<ProductViewCount> ranking = productViewTracker.top(window, size);
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = ranking.stream().map(ProductViewCount::productId).collect(Collectors.toSet());
+        Map<Long, ProductSnapshot> products = productRepository.findSnapshotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductSnapshot::id, Function.identity()));
+
+        List<MostViewedProductResponse> response = new ArrayList<>(ranking.size());
+        for (ProductViewCount count : ranking) {
+            ProductSnapshot product = products.get(count.productId());
+            if (product != null) {
+                response.add(MostViewedProductResponse.builder()
+                        .productId(product.id())
+                        .name(product.name())
+                        .sku(product.sku())
+                        .active(product.active())
+                        .views(count.views())
+                        .build());
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,255 @@
+package com.danrley.ecommerce.products.snapshot;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Formato binário do snapshot do catálogo (lido via {@link FileChannel#map}).
+ * <p>
+ * <strong>Cabeçalho</strong> ({@value #HEADER_BYTES} bytes, big-endian):
+ * </p>
+ * <pre>
+ * int  magic            "ECSN"
+ * int  version          {@value #VERSION}
+ * long createdAtMillis
+ * long maxUpdatedAt     micros (UTC) da alteração mais recente contida no arquivo
+ * int  count            número de produtos
+ * int  reserved         0
+ * long payloadLength    bytes após o cabeçalho
+ * long crc32            CRC32 do payload
+ * </pre>
+ * <p>
+ * <strong>Registro</strong> (um por produto): id (long), name (string), sku (string),
+ * categoryId (long), supplierId (long), price em centavos (long), stockQuantity (int),
+ * reservedQuantity (int), active (byte), updatedAt em micros (long), metadata JSON (string).
+ * Strings: int com o tamanho em bytes UTF-8 (-1 = null) + bytes. Longs nulos: {@link Long#MIN_VALUE}.
+ * </p>
+ * <p>
+ * Arquivos com magic, versão, tamanho ou CRC inválidos são recusados ({@link IOException})
+ * e o chamador volta a ler do banco. Mudanças no layout do registro exigem nova versão.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public final class CatalogSnapshotFile {
+
+    public static final int VERSION = 1;
+
+    static final int MAGIC = 0x4543534E; // "ECSN"
+    static final int HEADER_BYTES = 48;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private final ByteBuffer payload;
+    private final long createdAtMillis;
+    private final long maxUpdatedAtMicros;
+    private final int count;
+
+    private CatalogSnapshotFile(ByteBuffer payload, long createdAtMillis, long maxUpdatedAtMicros, int count) {
+        this.payload = payload;
+        this.createdAtMillis = createdAtMillis;
+        this.maxUpdatedAtMicros = maxUpdatedAtMicros;
+        this.count = count;
+    }
+
+    /**
+     * Produto do snapshot: projeção enxuta + metadata (JSON cru) + updatedAt.
+     */
+    public record Row(ProductSnapshot product, String metadataJson, long updatedAtMicros) {
+    }
+
+    /**
+     * Grava o snapshot num arquivo temporário e o move atomicamente para {@code target}
+     * (leitores nunca veem um arquivo pela metade).
+     *
+     * @param target destino
+     * @param rows   produtos
+     * @return número de produtos gravados
+     */
+    public static int write(Path target, Iterator<Row> rows) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+
+            int count = 0;
+            long maxUpdatedAt = 0L;
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                writeRow(out, row);
+                maxUpdatedAt = Math.max(maxUpdatedAt, row.updatedAtMicros());
+                count++;
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(maxUpdatedAt)
+                    .putInt(count)
+                    .putInt(0)
+                    .putLong(out.size())
+                    .putLong(crc.getValue())
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Mapeia o arquivo em memória e valida cabeçalho e CRC.
+     *
+     * @param source arquivo
+     * @return snapshot pronto para leitura
+     * @throws IOException se o arquivo não existir, for de outra versão ou estiver corrompido
+     */
+    public static CatalogSnapshotFile open(Path source) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Snapshot truncado: " + channel.size() + " bytes");
+            }
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot maior que 2 GB não suportado");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int magic = mapped.getInt(0);
+        int version = mapped.getInt(4);
+        if (magic != MAGIC) {
+            throw new IOException("Arquivo não é um snapshot do catálogo");
+        }
+        if (version != VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version + " (esperada " + VERSION + ")");
+        }
+        long createdAt = mapped.getLong(8);
+        long maxUpdatedAt = mapped.getLong(16);
+        int count = mapped.getInt(24);
+        long payloadLength = mapped.getLong(32);
+        long expectedCrc = mapped.getLong(40);
+        if (payloadLength != mapped.capacity() - HEADER_BYTES) {
+            throw new IOException("Tamanho do snapshot inconsistente: " + payloadLength + " != "
+                    + (mapped.capacity() - HEADER_BYTES));
+        }
+
+        ByteBuffer payload = mapped.slice(HEADER_BYTES, (int) payloadLength).asReadOnlyBuffer();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("CRC do snapshot inválido");
+        }
+        return new CatalogSnapshotFile(payload, createdAt, maxUpdatedAt, count);
+    }
+
+    /**
+     * Decodifica os produtos em ordem (direto do arquivo mapeado, sem cópia do payload).
+     */
+    public void forEach(Consumer<Row> consumer) {
+        ByteBuffer in = payload.duplicate();
+        for (int i = 0; i < count; i++) {
+            consumer.accept(readRow(in));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long createdAtMillis() {
+        return createdAtMillis;
+    }
+
+    public long maxUpdatedAtMicros() {
+        return maxUpdatedAtMicros;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static void writeRow(DataOutputStream out, Row row) throws IOException {
+        ProductSnapshot product = row.product();
+        out.writeLong(product.id());
+        writeString(out, product.name());
+        writeString(out, product.sku());
+        out.writeLong(product.categoryId() != null ? product.categoryId() : NULL_LONG);
+        out.writeLong(product.supplierId() != null ? product.supplierId() : NULL_LONG);
+        out.writeLong(product.price() != null ? product.price().movePointRight(2).longValueExact() : NULL_LONG);
+        out.writeInt(product.stockQuantity());
+        out.writeInt(product.reservedQuantity());
+        out.writeByte(product.active() ? 1 : 0);
+        out.writeLong(row.updatedAtMicros());
+        writeString(out, row.metadataJson());
+    }
+
+    private static Row readRow(ByteBuffer in) {
+        Long id = in.getLong();
+        String name = readString(in);
+        String sku = readString(in);
+        long categoryId = in.getLong();
+        long supplierId = in.getLong();
+        long priceCents = in.getLong();
+        int stock = in.getInt();
+        int reserved = in.getInt();
+        boolean active = in.get() != 0;
+        long updatedAt = in.getLong();
+        String metadata = readString(in);
+        ProductSnapshot product = new ProductSnapshot(
+                id, name, sku,
+                categoryId != NULL_LONG ? categoryId : null,
+                supplierId != NULL_LONG ? supplierId : null,
+                priceCents != NULL_LONG ? BigDecimal.valueOf(priceCents, 2) : null,
+                stock, reserved, active);
+        return new Row(product, metadata, updatedAt);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
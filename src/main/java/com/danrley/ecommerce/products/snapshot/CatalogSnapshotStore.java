@@ -0,0 +1,222 @@
+package com.danrley.ecommerce.products.snapshot;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotFile.Row;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot local do catálogo para warm start dos índices em memória após um deploy.
+ * <p>
+ * Sem o snapshot, cada índice (facetas, metadata, SKUs, autocomplete) varre a tabela
+ * {@code products} inteira no startup - vários full scans simultâneos em cada pod novo.
+ * Com ele:
+ * </p>
+ * <ul>
+ *   <li>O arquivo ({@link CatalogSnapshotFile}) é gravado a cada {@code catalog.snapshot.write-interval-ms}
+ *       (no {@code applicationTaskExecutor}, fora da thread do scheduler) e no desligamento gracioso</li>
+ *   <li>No startup o arquivo é mapeado em memória ({@code FileChannel.map}) e validado (versão + CRC)</li>
+ *   <li>Na primeira carga de cada índice ({@link #warmStart}), os produtos vêm do arquivo e só as linhas
+ *       com {@code updated_at >=} a alteração mais recente do snapshot menos {@code catalog.snapshot.overlap-ms}
+ *       (transações que gravaram antes mas comitaram depois da leitura) são lidas do banco
+ *       (índice {@code idx_products_updated_at}), sobrepondo as do arquivo</li>
+ *   <li>Rebuilds seguintes do mesmo índice voltam a ler do banco</li>
+ * </ul>
+ * <p>
+ * Todos os produtos entram no snapshot (inclusive inativos: o filtro de SKUs e as facetas
+ * de ativo precisam deles). Produtos removidos fisicamente do banco continuariam no snapshot
+ * até o próximo rebuild; o catálogo usa exclusão lógica ({@code active = false}).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final Path path;
+    private final long overlapMillis;
+
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+
+    private final Set<String> servedConsumers = ConcurrentHashMap.newKeySet();
+    private volatile CatalogSnapshotFile warm;
+
+    public CatalogSnapshotStore(ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                @Value("${catalog.snapshot.enabled:true}") boolean enabled,
+                                @Value("${catalog.snapshot.path:./data/catalog.snapshot}") String path,
+                                @Value("${catalog.snapshot.overlap-ms:60000}") long overlapMillis) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.overlapMillis = overlapMillis;
+    }
+
+    /**
+     * Mapeia o snapshot existente (antes dos índices começarem a carregar).
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            warm = CatalogSnapshotFile.open(path);
+            log.info("Snapshot do catálogo mapeado: {} produtos (gerado em {}) em {}ms", warm.size(),
+                    LocalDateTime.ofEpochSecond(warm.createdAtMillis() / 1000, 0, ZoneOffset.UTC),
+                    System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("Snapshot do catálogo ignorado ({}): {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Entrega todos os produtos ao consumidor a partir do snapshot, reconciliado com o banco.
+     * Só atende a PRIMEIRA carga de cada consumidor; deve rodar na transação de leitura do chamador.
+     *
+     * @param consumer nome do índice (ex: "facets")
+     * @param sink     recebe cada produto (snapshot e metadata atuais)
+     * @return false se não há snapshot válido ou o consumidor já foi atendido (carregar do banco)
+     */
+    public boolean warmStart(String consumer, Consumer<Row> sink) {
+        CatalogSnapshotFile current = warm;
+        if (current == null || !servedConsumers.add(consumer)) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        Map<Long, Row> changed = new HashMap<>();
+        long sinceMicros = current.maxUpdatedAtMicros() - overlapMillis * 1_000L;
+        LocalDateTime since = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(sinceMicros, 1_000_000L),
+                (int) Math.floorMod(sinceMicros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        for (Object[] row : productRepository.findForSnapshotUpdatedSince(since)) {
+            Row fresh = toRow(row);
+            changed.put(fresh.product().id(), fresh);
+        }
+        current.forEach(row -> {
+            if (!changed.containsKey(row.product().id())) {
+                sink.accept(row);
+            }
+        });
+        changed.values().forEach(sink);
+        log.info("Warm start de {} pelo snapshot: {} produtos do arquivo, {} reconciliados do banco em {}ms",
+                consumer, current.size(), changed.size(), System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * Grava o snapshot periodicamente, em background (no máximo uma gravação agendada por vez).
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.write-interval-ms:600000}",
+            initialDelayString = "${catalog.snapshot.write-interval-ms:600000}")
+    public void writePeriodically() {
+        if (enabled && writing.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    write();
+                } finally {
+                    writing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Grava o snapshot no desligamento gracioso (o próximo pod sobe com ele).
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        write();
+    }
+
+    /**
+     * Grava o snapshot a partir do banco (stream, sem carregar o catálogo inteiro).
+     * Serializado: a gravação do desligamento espera a periódica em andamento.
+     */
+    public synchronized void write() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Integer count = readOnlyTransaction.execute(status -> {
+                try (Stream<Object[]> rows = productRepository.streamAllForSnapshot()) {
+                    Iterator<Row> iterator = rows.map(CatalogSnapshotStore::toRow).iterator();
+                    return CatalogSnapshotFile.write(path, iterator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            warm = null; // o arquivo mapeado no startup não é mais usado para warm start
+            log.info("Snapshot do catálogo gravado: {} produtos em {} ({}ms)", count, path,
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar snapshot do catálogo: {}", e.getMessage());
+        }
+    }
+
+    public boolean isWarm() {
+        return warm != null;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * [id, name, sku, categoryId, supplierId, price, stockQuantity, reservedQuantity, active, metadata, updatedAt]
+     */
+    private static Row toRow(Object[] row) {
+        ProductSnapshot product = new ProductSnapshot(
+                (Long) row[0], (String) row[1], (String) row[2], (Long) row[3], (Long) row[4],
+                (BigDecimal) row[5], (Integer) row[6], (Integer) row[7], (Boolean) row[8]);
+        RawJsonMetadata metadata = (RawJsonMetadata) row[9];
+        LocalDateTime updatedAt = (LocalDateTime) row[10];
+        long updatedAtMicros = updatedAt != null
+                ? updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000
+                : 0L;
+        return new Row(product, metadata != null ? metadata.toJson() : null, updatedAtMicros);
+    }
+
+    /**
+     * Metadata do produto no formato dos índices.
+     */
+    public static RawJsonMetadata metadataOf(Row row) {
+        return row.metadataJson() != null ? RawJsonMetadata.fromTrusted(row.metadataJson()) : null;
+    }
+}
@@ -0,0 +1,315 @@
+package com.danrley.ecommerce.products.stream;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.dto.StockAvailabilityResponse;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream SSE de disponibilidade de estoque (substitui o polling de {@code GET /api/products/{id}}).
+ * <p>
+ * O cliente assina um conjunto de IDs e recebe um evento {@code availability} por produto:
+ * primeiro o estado atual, depois cada mudança de reserva, pagamento, cancelamento,
+ * expiração ou ajuste de estoque ({@link ProductChangedEvent}, após o commit).
+ * </p>
+ * <p>
+ * <strong>Coalescência:</strong> mudanças entram num mapa productId → último estado e são
+ * enviadas a cada {@code catalog.availability-stream.coalesce-ms}. Várias reservas do mesmo
+ * produto na janela viram UM evento por assinante; mudanças que não alteram a disponibilidade
+ * (ex: pagamento baixa estoque e reserva juntos, edição de nome/preço) não geram evento.
+ * </p>
+ * <p>
+ * <strong>Envio:</strong> {@code emitter.send} é uma escrita bloqueante no servlet. Os jobs
+ * agendados (flush/heartbeat) só enfileiram na caixa de saída de cada assinante; um pool
+ * próprio ({@code sender-threads}) escreve, no máximo uma tarefa por assinante por vez (ordem
+ * preservada). Um cliente lento não trava o scheduler compartilhado: se a caixa de saída
+ * passar de {@code max-queued-events}, a conexão é encerrada ({@code availability_stream.slow_consumers})
+ * e o EventSource reconecta.
+ * </p>
+ * <p>
+ * <strong>Custo por conexão:</strong> {@link SseEmitter} usa async servlet - conexões ociosas
+ * não prendem threads. Cada assinante guarda só o emitter e seus IDs (no máximo
+ * {@code max-ids-per-connection}); o mapa de pendentes é global e limitado aos produtos assinados.
+ * Conexões acima de {@code max-connections} são recusadas. Um comentário de heartbeat
+ * periódico detecta conexões mortas; após {@code timeout-ms} o servidor encerra e o
+ * EventSource do navegador reconecta.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class StockAvailabilityStream {
+
+    private static final String EVENT_NAME = "availability";
+
+    private final ProductRepository productRepository;
+    private final int maxConnections;
+    private final int maxIdsPerConnection;
+    private final int maxQueuedEvents;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor sender;
+    private final Counter slowConsumers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> subscribersByProduct = new ConcurrentHashMap<>();
+    private final Map<Long, StockAvailabilityResponse> pending = new ConcurrentHashMap<>();
+    /** Último estado conhecido dos produtos assinados (descarta mudanças que não alteram a disponibilidade) */
+    private final Map<Long, StockAvailabilityResponse> lastKnown = new ConcurrentHashMap<>();
+
+    public StockAvailabilityStream(ProductRepository productRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${catalog.availability-stream.max-connections:50000}") int maxConnections,
+                                   @Value("${catalog.availability-stream.max-ids-per-connection:100}") int maxIdsPerConnection,
+                                   @Value("${catalog.availability-stream.max-queued-events:64}") int maxQueuedEvents,
+                                   @Value("${catalog.availability-stream.sender-threads:4}") int senderThreads,
+                                   @Value("${catalog.availability-stream.timeout-ms:1800000}") long timeoutMs) {
+        this.productRepository = productRepository;
+        this.maxConnections = maxConnections;
+        this.maxIdsPerConnection = maxIdsPerConnection;
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.timeoutMs = timeoutMs;
+        // No máximo uma tarefa por assinante na fila: limitada pelo número de conexões
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxConnections), task -> {
+            Thread thread = new Thread(task, "availability-sse-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.slowConsumers = meterRegistry.counter("availability_stream.slow_consumers");
+
+        Gauge.builder("availability_stream.connections", subscribers, Set::size)
+                .description("Conexões SSE de disponibilidade abertas")
+                .register(meterRegistry);
+        Gauge.builder("availability_stream.pending", pending, Map::size)
+                .description("Produtos com mudança aguardando a próxima janela de envio")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre uma assinatura e envia o estado atual dos produtos.
+     *
+     * @param productIds IDs assinados
+     * @return emitter SSE (a resposta fica aberta)
+     * @throws BusinessException se a lista de IDs for vazia/grande demais ou o limite de conexões for atingido
+     */
+    public SseEmitter subscribe(Set<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new BusinessException("Informe ao menos um ID de produto", "INVALID_AVAILABILITY_STREAM");
+        }
+        if (productIds.size() > maxIdsPerConnection) {
+            throw new BusinessException("Máximo de " + maxIdsPerConnection + " produtos por conexão",
+                    "INVALID_AVAILABILITY_STREAM");
+        }
+        if (subscribers.size() >= maxConnections) {
+            throw new BusinessException("Limite de conexões de disponibilidade atingido, tente novamente",
+                    "TOO_MANY_AVAILABILITY_STREAMS");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, productIds.stream().mapToLong(Long::longValue).toArray());
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        subscribers.add(subscriber);
+        for (long id : subscriber.productIds) {
+            subscribersByProduct.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        for (ProductSnapshot snapshot : productRepository.findSnapshotsByIdIn(productIds)) {
+            StockAvailabilityResponse availability = StockAvailabilityResponse.of(snapshot);
+            lastKnown.put(snapshot.id(), availability);
+            subscriber.send(availability);
+        }
+        return emitter;
+    }
+
+    /**
+     * Registra a mudança para a próxima janela (somente produtos com assinantes e
+     * disponibilidade diferente da última conhecida).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!subscribersByProduct.containsKey(event.productId())) {
+            return;
+        }
+        StockAvailabilityResponse availability = StockAvailabilityResponse.of(event.snapshot());
+        if (availability.equals(lastKnown.put(event.productId(), availability))) {
+            return;
+        }
+        pending.put(event.productId(), availability);
+    }
+
+    /**
+     * Envia as mudanças acumuladas na janela (um evento por produto por assinante).
+     */
+    @Scheduled(fixedDelayString = "${catalog.availability-stream.coalesce-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> changed = new ArrayList<>(pending.keySet());
+        for (Long productId : changed) {
+            StockAvailabilityResponse availability = pending.remove(productId);
+            Set<Subscriber> listeners = subscribersByProduct.get(productId);
+            if (availability == null || listeners == null) {
+                continue;
+            }
+            for (Subscriber subscriber : listeners) {
+                subscriber.send(availability);
+            }
+        }
+    }
+
+    /**
+     * Heartbeat: mantém proxies abertos e derruba conexões cujo cliente já saiu.
+     */
+    @Scheduled(fixedDelayString = "${catalog.availability-stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.ping();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        for (long id : subscriber.productIds) {
+            subscribersByProduct.computeIfPresent(id, (k, set) -> {
+                set.remove(subscriber);
+                if (set.isEmpty()) {
+                    lastKnown.remove(k);
+                    return null;
+                }
+                return set;
+            });
+        }
+    }
+
+    /**
+     * Uma conexão SSE: emitter, IDs assinados e caixa de saída limitada.
+     * Como tarefa do pool de envio, esvazia a caixa de saída.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final long[] productIds;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final ArrayDeque<SseEmitter.SseEventBuilder> outbox = new ArrayDeque<>();
+        private boolean scheduled; // guardado por outbox
+
+        Subscriber(SseEmitter emitter, long[] productIds) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+        }
+
+        void send(StockAvailabilityResponse availability) {
+            deliver(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(availability.getProductId() + "-" + availability.getAvailableQuantity())
+                    .data(availability));
+        }
+
+        void ping() {
+            deliver(SseEmitter.event().comment("ping"));
+        }
+
+        /**
+         * Enfileira o evento (sem bloquear) e agenda o envio se ainda não houver tarefa.
+         */
+        private void deliver(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            boolean schedule;
+            synchronized (outbox) {
+                if (outbox.size() >= maxQueuedEvents) {
+                    schedule = false;
+                    event = null;
+                } else {
+                    outbox.add(event);
+                    schedule = !scheduled;
+                    scheduled = true;
+                }
+            }
+            if (event == null) {
+                slowConsumers.increment();
+                close(new IOException("cliente lento: " + maxQueuedEvents + " eventos pendentes"));
+                return;
+            }
+            if (schedule) {
+                try {
+                    sender.execute(this);
+                } catch (RejectedExecutionException e) {
+                    close(new IOException("pool de envio saturado"));
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!closed.get()) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (outbox) {
+                    event = outbox.poll();
+                    if (event == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(e);
+                }
+            }
+        }
+
+        private void close(Exception cause) {
+            log.debug("Conexão SSE de disponibilidade encerrada: {}", cause.getMessage());
+            unregister(this);
+            synchronized (outbox) {
+                outbox.clear();
+            }
+            emitter.completeWithError(cause);
+        }
+    }
+}
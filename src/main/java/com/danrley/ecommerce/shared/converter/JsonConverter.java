@@ -10,7 +10,9 @@ import java.util.Map;
 
 /**
  * Converte Map para JSON na persistência e JSON para Map na leitura.
- * Usado para campos flexíveis como product.metadata.
+ * Usado para campos flexíveis genéricos.
+ * product.metadata usa {@link RawJsonMetadataConverter} (parse lazy); este converter
+ * permanece como baseline do MetadataConverterBenchmark.
  */
 @Converter
 public class JsonConverter implements AttributeConverter<Map<String, Object>, String> {
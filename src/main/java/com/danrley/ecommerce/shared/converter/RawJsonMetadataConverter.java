@@ -0,0 +1,38 @@
+package com.danrley.ecommerce.shared.converter;
+
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Converte a coluna JSON em {@link RawJsonMetadata} SEM fazer parse.
+ * <p>
+ * Diferente do {@link JsonConverter} (String → HashMap a cada load), aqui o texto
+ * do banco é apenas embrulhado. O parse só acontece se alguém ler uma chave.
+ * </p>
+ * <p>
+ * {@code @Immutable}: o tipo é imutável, então o Hibernate compara por equals
+ * no dirty checking em vez de fazer deep copy (que forçaria um parse por load).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Immutable
+@Converter
+public class RawJsonMetadataConverter implements AttributeConverter<RawJsonMetadata, String> {
+
+    @Override
+    public String convertToDatabaseColumn(RawJsonMetadata attribute) {
+        if (attribute == null) {
+            return RawJsonMetadata.EMPTY.toJson();
+        }
+        return attribute.toJson();
+    }
+
+    @Override
+    public RawJsonMetadata convertToEntityAttribute(String dbData) {
+        return RawJsonMetadata.fromTrusted(dbData);
+    }
+}
@@ -0,0 +1,119 @@
+package com.danrley.ecommerce.shared.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) em streaming: lê um registro por vez, sem carregar o arquivo.
+ * <p>
+ * Suporta campos entre aspas, aspas escapadas ({@code ""}), separador dentro de aspas
+ * e quebra de linha dentro de aspas. Linhas em branco são ignoradas.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public class CsvRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final StringBuilder field = new StringBuilder(64);
+
+    /**
+     * Número da linha física onde começou o último registro lido (1-based).
+     */
+    private long recordLine = 0;
+    private long currentLine = 1;
+
+    public CsvRecordReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvRecordReader(Reader reader, char separator) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.separator = separator;
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return campos do registro, ou null no fim do arquivo
+     * @throws IOException em erro de leitura ou aspas não fechadas
+     */
+    public List<String> next() throws IOException {
+        int c = reader.read();
+        while (c == '\n' || c == '\r') {
+            if (c == '\n') {
+                currentLine++;
+            }
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = currentLine;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Aspas não fechadas no registro iniciado na linha " + recordLine);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int lookahead = reader.read();
+                    if (lookahead == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        currentLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (c != -1) {
+                    currentLine++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * @return linha (1-based) onde começou o último registro retornado por {@link #next()}
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
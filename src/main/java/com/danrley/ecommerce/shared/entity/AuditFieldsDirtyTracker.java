@@ -0,0 +1,31 @@
+package com.danrley.ecommerce.shared.entity;
+
+import jakarta.persistence.PreUpdate;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+/**
+ * Marca {@code updatedAt}/{@code updatedBy} como alterados depois do {@code AuditingEntityListener}.
+ * <p>
+ * Com bytecode enhancement o Hibernate usa o dirty tracking inline (só atributos gravados pelos
+ * setters da entidade entram no UPDATE), mas o Spring Data preenche os campos de auditoria por
+ * acesso direto ao campo. Sem esta marcação, o UPDATE dinâmico ({@code @DynamicUpdate}) sairia
+ * sem {@code updated_at} e {@code updated_by}. Deve vir depois do {@code AuditingEntityListener}
+ * em {@code @EntityListeners}. Sem enhancement não faz nada.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public class AuditFieldsDirtyTracker {
+
+    @PreUpdate
+    public void markAuditFields(Object entity) {
+        if (!(entity instanceof SelfDirtinessTracker tracker)) {
+            return;
+        }
+        tracker.$$_hibernate_trackChange("updatedAt");
+        if (entity instanceof BaseEntity) {
+            tracker.$$_hibernate_trackChange("updatedBy");
+        }
+    }
+}
@@ -32,7 +32,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AuditFieldsDirtyTracker.class})
 public abstract class BaseEntity {
 
     @Id
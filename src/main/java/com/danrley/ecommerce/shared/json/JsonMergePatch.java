@@ -0,0 +1,50 @@
+package com.danrley.ecommerce.shared.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7386).
+ * <p>
+ * Campos do patch substituem os do alvo; {@code null} remove o campo; objetos são
+ * mesclados recursivamente; qualquer outro valor (inclusive arrays) substitui por inteiro.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public final class JsonMergePatch {
+
+    /**
+     * Media type do corpo de um merge patch.
+     */
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * @param target documento atual (não é alterado; pode ser null)
+     * @param patch  merge patch
+     * @return novo documento com o patch aplicado
+     */
+    public static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return patch != null ? patch.deepCopy() : null;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+}
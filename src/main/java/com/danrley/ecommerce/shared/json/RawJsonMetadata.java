@@ -0,0 +1,217 @@
+package com.danrley.ecommerce.shared.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Metadados JSON mantidos como texto bruto (raw passthrough).
+ * <p>
+ * Substitui o {@code Map<String, Object>} em product.metadata. O JSON lido do banco
+ * é guardado exatamente como veio e só é convertido em Map quando o código do servidor
+ * realmente lê uma chave ({@link #get(String)} / {@link #asMap()}). Na resposta HTTP o
+ * texto é escrito VERBATIM pelo Jackson ({@code writeRawValue}), sem parse + serialize.
+ * </p>
+ * <p>
+ * Regras:
+ * <ul>
+ *   <li>Leitura do banco: confiável, sem validação ({@link #fromTrusted(String)})</li>
+ *   <li>Escrita (request/API): validada, precisa ser um objeto JSON ({@link #of(String)}, {@link #of(Map)})</li>
+ *   <li>Imutável: igualdade pelo texto, seguro para dirty checking do Hibernate</li>
+ * </ul>
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ * @see com.danrley.ecommerce.shared.converter.RawJsonMetadataConverter
+ */
+@JsonSerialize(using = RawJsonMetadata.RawSerializer.class)
+@JsonDeserialize(using = RawJsonMetadata.ValidatingDeserializer.class)
+public final class RawJsonMetadata implements Serializable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private static final String EMPTY_JSON = "{}";
+
+    /**
+     * Metadados vazios ({@code {}}).
+     */
+    public static final RawJsonMetadata EMPTY = new RawJsonMetadata(EMPTY_JSON);
+
+    private final String json;
+
+    /**
+     * Map preenchido sob demanda (parse lazy). Não é serializado.
+     */
+    private transient volatile Map<String, Object> parsed;
+
+    private RawJsonMetadata(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Cria a partir de JSON vindo do banco (coluna JSON já validada pelo MySQL).
+     * NÃO faz parse.
+     *
+     * @param json texto JSON
+     * @return metadados brutos
+     */
+    public static RawJsonMetadata fromTrusted(String json) {
+        if (json == null || json.isBlank() || EMPTY_JSON.equals(json)) {
+            return EMPTY;
+        }
+        return new RawJsonMetadata(json);
+    }
+
+    /**
+     * Cria a partir de JSON externo, validando que é um objeto JSON.
+     *
+     * @param json texto JSON
+     * @return metadados brutos (formato compacto)
+     * @throws IllegalArgumentException se o texto não for um objeto JSON válido
+     */
+    public static RawJsonMetadata of(String json) {
+        if (json == null || json.isBlank()) {
+            return EMPTY;
+        }
+        try {
+            return fromNode(objectMapper.readTree(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Metadados inválidos: JSON mal formado", e);
+        }
+    }
+
+    /**
+     * Cria a partir de um Map (ex: ProductRequest.metadata).
+     *
+     * @param map metadados
+     * @return metadados brutos
+     */
+    public static RawJsonMetadata of(Map<String, Object> map) {
+        if (map == null || map.isEmpty()) {
+            return EMPTY;
+        }
+        try {
+            return new RawJsonMetadata(objectMapper.writeValueAsString(map));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Erro ao converter Map para JSON", e);
+        }
+    }
+
+    private static RawJsonMetadata fromNode(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return EMPTY;
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Metadados devem ser um objeto JSON");
+        }
+        return node.isEmpty() ? EMPTY : new RawJsonMetadata(node.toString());
+    }
+
+    /**
+     * @return texto JSON bruto (nunca null)
+     */
+    public String toJson() {
+        return json;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY || EMPTY_JSON.equals(json);
+    }
+
+    /**
+     * Lê uma chave dos metadados (dispara o parse na primeira chamada).
+     *
+     * @param key chave (ex: "brand")
+     * @return valor ou null
+     */
+    public Object get(String key) {
+        return asMap().get(key);
+    }
+
+    /**
+     * Visão em Map (somente leitura) dos metadados. Parse lazy e memoizado.
+     *
+     * @return Map imutável
+     */
+    public Map<String, Object> asMap() {
+        Map<String, Object> result = parsed;
+        if (result == null) {
+            result = isEmpty() ? Collections.emptyMap() : parse(json);
+            parsed = result;
+        }
+        return result;
+    }
+
+    private static Map<String, Object> parse(String json) {
+        try {
+            return Collections.unmodifiableMap(objectMapper.readValue(json, MAP_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Erro ao converter JSON para Map", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RawJsonMetadata)) return false;
+        return json.equals(((RawJsonMetadata) o).json);
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Escreve o JSON bruto diretamente no output (sem Map intermediário).
+     */
+    public static class RawSerializer extends JsonSerializer<RawJsonMetadata> {
+        @Override
+        public void serialize(RawJsonMetadata value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(value.toJson());
+        }
+    }
+
+    /**
+     * Lê o valor do request como árvore e valida que é um objeto JSON.
+     */
+    public static class ValidatingDeserializer extends JsonDeserializer<RawJsonMetadata> {
+        @Override
+        public RawJsonMetadata deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonNode node = p.readValueAsTree();
+            try {
+                return fromNode(node);
+            } catch (IllegalArgumentException e) {
+                throw JsonMappingException.from(p, e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public RawJsonMetadata getNullValue(DeserializationContext ctxt) {
+            return EMPTY;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.danrley.ecommerce.shared.reference;
+
+import com.danrley.ecommerce.auth.entity.Role;
+import com.danrley.ecommerce.auth.repository.RoleRepository;
+import com.danrley.ecommerce.products.entity.Category;
+import com.danrley.ecommerce.products.entity.Supplier;
+import com.danrley.ecommerce.products.repository.CategoryRepository;
+import com.danrley.ecommerce.products.repository.SupplierRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Dados de referência (categorias, fornecedores e roles) pré-carregados em memória.
+ * <p>
+ * São tabelas pequenas (&lt; 100 linhas) e quase estáticas, mas eram consultadas em
+ * todo {@code createProduct}/{@code updateProduct} (categoria + fornecedor) e em todo
+ * {@code register} (role USER). Aqui as três tabelas são lidas inteiras no startup
+ * para mapas imutáveis; as validações passam a ser feitas sem ir ao banco.
+ * </p>
+ * <p>
+ * <strong>Atualização:</strong> um novo {@link Snapshot} é montado e trocado numa única
+ * escrita volátil (leitores nunca veem um estado parcial):
+ * <ul>
+ *   <li>após o commit de qualquer escrita nessas tabelas ({@link ReferenceDataChangeListener})</li>
+ *   <li>periodicamente ({@code catalog.reference-data.refresh-interval-ms}), para alterações
+ *       feitas direto no banco</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Enquanto o snapshot não está carregado (ou com {@code catalog.reference-data.enabled=false})
+ * as consultas vão ao repositório. Métrica {@code reference_data.lookups{source=memory|database}}
+ * mostra as idas ao banco evitadas. Alternativa sem este componente: cache de segundo nível do
+ * Hibernate (profile {@code l2cache}).
+ * </p>
+ * <p>
+ * As entidades do snapshot estão destacadas (detached) e são compartilhadas entre threads:
+ * podem ser usadas em associações ({@code product.setCategory(...)}) e leitura, mas NÃO devem
+ * ser alteradas.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final Counter memoryLookups;
+    private final Counter databaseLookups;
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataCache(CategoryRepository categoryRepository,
+                              SupplierRepository supplierRepository,
+                              RoleRepository roleRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${catalog.reference-data.enabled:true}") boolean enabled) {
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.roleRepository = roleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.memoryLookups = meterRegistry.counter("reference_data.lookups", "source", "memory");
+        this.databaseLookups = meterRegistry.counter("reference_data.lookups", "source", "database");
+    }
+
+    /**
+     * Carga inicial em background.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Recarrega após alterações nas tabelas de referência (somente após commit).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        log.debug("Dados de referência alterados ({}), recarregando", event.type().getSimpleName());
+        refresh();
+    }
+
+    /**
+     * Recarga periódica (alterações feitas fora da aplicação).
+     */
+    @Scheduled(fixedDelayString = "${catalog.reference-data.refresh-interval-ms:300000}",
+            initialDelayString = "${catalog.reference-data.refresh-interval-ms:300000}")
+    public void refreshPeriodically() {
+        refresh();
+    }
+
+    /**
+     * Lê as três tabelas e troca o snapshot atomicamente.
+     * Em caso de falha, mantém o snapshot anterior.
+     */
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Snapshot fresh = readOnlyTransaction.execute(status -> new Snapshot(
+                    indexBy(categoryRepository.findAll(), Category::getId),
+                    indexBy(supplierRepository.findAll(), Supplier::getId),
+                    indexBy(roleRepository.findAll(), Role::getName)));
+            snapshot = fresh;
+            log.debug("Dados de referência carregados: {} categorias, {} fornecedores, {} roles",
+                    fresh.categories().size(), fresh.suppliers().size(), fresh.roles().size());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar dados de referência: {}", e.getMessage());
+        }
+    }
+
+    public Optional<Category> findCategory(Long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            databaseLookups.increment();
+            return categoryRepository.findById(id);
+        }
+        memoryLookups.increment();
+        return Optional.ofNullable(current.categories().get(id));
+    }
+
+    public Optional<Supplier> findSupplier(Long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            databaseLookups.increment();
+            return supplierRepository.findById(id);
+        }
+        memoryLookups.increment();
+        return Optional.ofNullable(current.suppliers().get(id));
+    }
+
+    public Optional<Role> findRole(String name) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            databaseLookups.increment();
+            return roleRepository.findByName(name);
+        }
+        memoryLookups.increment();
+        return Optional.ofNullable(current.roles().get(name));
+    }
+
+    /**
+     * Todas as categorias por ID (snapshot imutável ou consulta ao banco).
+     */
+    public Map<Long, Category> categories() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            databaseLookups.increment();
+            return indexBy(categoryRepository.findAll(), Category::getId);
+        }
+        memoryLookups.increment();
+        return current.categories();
+    }
+
+    /**
+     * Todos os fornecedores por ID (snapshot imutável ou consulta ao banco).
+     */
+    public Map<Long, Supplier> suppliers() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            databaseLookups.increment();
+            return indexBy(supplierRepository.findAll(), Supplier::getId);
+        }
+        memoryLookups.increment();
+        return current.suppliers();
+    }
+
+    /**
+     * Alteração mais recente entre categorias e fornecedores (versão dos dados embutidos nos produtos).
+     *
+     * @return maior updatedAt, ou null se não houver registros
+     */
+    public LocalDateTime lastModified() {
+        return Stream.concat(
+                        categories().values().stream().map(Category::getUpdatedAt),
+                        suppliers().values().stream().map(Supplier::getUpdatedAt))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    private static <K, V> Map<K, V> indexBy(Iterable<V> values, Function<V, K> key) {
+        Map<K, V> map = new HashMap<>();
+        values.forEach(value -> map.put(key.apply(value), value));
+        return Map.copyOf(map);
+    }
+
+    /**
+     * Estado imutável dos dados de referência.
+     */
+    record Snapshot(Map<Long, Category> categories, Map<Long, Supplier> suppliers, Map<String, Role> roles) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.danrley.ecommerce.shared.reference;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener JPA das entidades de referência.
+ * <p>
+ * Publica {@link ReferenceDataChangedEvent} em qualquer escrita; o {@link ReferenceDataCache}
+ * recarrega o snapshot após o commit. Instanciado pelo Spring (bean container do Hibernate).
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataChangeListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        applicationEventPublisher.publishEvent(new ReferenceDataChangedEvent(entity.getClass()));
+    }
+}
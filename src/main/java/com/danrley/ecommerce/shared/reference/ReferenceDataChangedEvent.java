@@ -0,0 +1,11 @@
+package com.danrley.ecommerce.shared.reference;
+
+/**
+ * Publicado quando uma entidade de referência (Category, Supplier, Role) é gravada ou removida.
+ *
+ * @param type classe da entidade alterada
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public record ReferenceDataChangedEvent(Class<?> type) {
+}
@@ -0,0 +1,76 @@
+package com.danrley.ecommerce.shared.web;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Geração de ETags a partir de (id, updatedAt) das entidades.
+ * <p>
+ * <strong>Strong ETag</strong> (recurso único): {@code "<tipo>-<id>-<updatedAt em micros, hex>"},
+ * seguido do updatedAt de cada entidade relacionada embutida na representação (ex: categoria).
+ * Calculado a partir de uma consulta leve de versão, ANTES de carregar/mapear a entidade,
+ * para responder 304 sem montar o corpo.
+ * </p>
+ * <p>
+ * <strong>Weak ETag</strong> (listagens): {@code W/"<tipo>-<max updatedAt>-<qtd>-<hash dos ids>"}.
+ * Evita serializar e trafegar a página quando nada mudou.
+ * </p>
+ * <p>
+ * Depende de {@code updated_at TIMESTAMP(6)} (ver dump.sql) para distinguir
+ * alterações no mesmo segundo.
+ * </p>
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param type      prefixo do recurso (ex: "product")
+     * @param id        ID da entidade
+     * @param updatedAt última alteração
+     * @param related   última alteração das entidades embutidas na representação (null = ausente)
+     * @return strong ETag (com aspas)
+     */
+    public static String strong(String type, Long id, LocalDateTime updatedAt, LocalDateTime... related) {
+        StringBuilder tag = new StringBuilder("\"").append(type).append('-').append(id)
+                .append('-').append(Long.toHexString(toMicros(updatedAt)));
+        for (LocalDateTime dateTime : related) {
+            tag.append('-').append(Long.toHexString(toMicros(dateTime)));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * @param type      prefixo do recurso (ex: "products")
+     * @param items     itens da listagem (na ordem retornada)
+     * @param id        extrator de ID
+     * @param updatedAt extrator de updatedAt
+     * @param extra     dados adicionais que mudam a representação (ex: total de elementos da página)
+     * @return weak ETag (com prefixo W/ e aspas)
+     */
+    public static <T> String weak(String type, Collection<T> items, Function<T, Long> id,
+                                  Function<T, LocalDateTime> updatedAt, Object... extra) {
+        long maxMicros = 0;
+        int idsHash = 1;
+        for (T item : items) {
+            maxMicros = Math.max(maxMicros, toMicros(updatedAt.apply(item)));
+            idsHash = 31 * idsHash + Objects.hashCode(id.apply(item));
+        }
+        return "W/\"" + type + "-" + Long.toHexString(maxMicros) + "-" + items.size() + "-"
+                + Integer.toHexString(idsHash) + "-" + Integer.toHexString(Objects.hash(extra)) + "\"";
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
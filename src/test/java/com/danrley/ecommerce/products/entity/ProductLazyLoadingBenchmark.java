@@ -0,0 +1,246 @@
+package com.danrley.ecommerce.products.entity;
+
+import com.danrley.ecommerce.EcommerceApiApplication;
+import com.danrley.ecommerce.products.dto.ProductFilterRequest;
+import com.danrley.ecommerce.products.mapper.ProductMapper;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.service.ProductService;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: produtos carregados sem descrição/metadata (atributos lazy) vs com elas.
+ * <p>
+ * Sobe a aplicação com o profile {@code test} (H2 em memória) e 2.000 produtos com descrição
+ * de ~8 KB e metadata de ~1 KB. As variantes "WithContent" carregam as mesmas linhas com
+ * descrição e metadata, como toda carga de {@link Product} fazia antes dos grupos lazy:
+ * </p>
+ * <ul>
+ *   <li>orderCreation: IN de 20 produtos + reserva de estoque + flush (OrderService)</li>
+ *   <li>payment: 20 SELECT ... FOR UPDATE + baixa de estoque + flush (PaymentService)</li>
+ *   <li>listing: página de 20 produtos mapeada para ProductResponse; "WithoutGraph" usa
+ *       {@code findAll(Pageable)}, que busca categoria/fornecedor/descrição/metadata por linha</li>
+ * </ul>
+ * <p>
+ * As escritas são desfeitas (rollback) a cada operação. O {@link GCProfiler} reporta a
+ * alocação por operação ({@code gc.alloc.rate.norm}) e o teardown imprime as consultas SQL
+ * por operação. Os números exigem as classes enhanced ({@code mvn compile} roda o
+ * hibernate-enhance-maven-plugin). H2 em memória devolve as próprias Strings armazenadas e não
+ * tem rede: contra MySQL o driver decodifica TEXT/JSON a cada linha e cada consulta é uma ida
+ * ao banco, então a diferença real é maior. Como o H2 roda na mesma JVM, a alocação da
+ * listagem inclui a ordenação feita pelo próprio banco (linhas com join e colunas grandes).
+ * </p>
+ * <p>
+ * Executar: rodar o {@link #main(String[])} pela IDE, ou
+ * {@code mvn test-compile} + {@code java -cp target/test-classes:target/classes:<classpath> ...ProductLazyLoadingBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductLazyLoadingBenchmark {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int ITEMS_PER_ORDER = 20;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductService productService;
+    private ProductMapper productMapper;
+    private TransactionTemplate transaction;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManager entityManager;
+    private EntityGraph<Product> contentGraph;
+    private Statistics statistics;
+    private long nextOrder;
+    private long ops;
+    private long statements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(EcommerceApiApplication.class)
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN");
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO categories (name, active, created_at, updated_at) VALUES ('Periféricos', TRUE, NOW(), NOW())");
+        jdbc.update("INSERT INTO suppliers (name, active, created_at, updated_at) VALUES ('Logitech', TRUE, NOW(), NOW())");
+        String description = "Mouse gamer com sensor óptico de alta precisão, 11 botões programáveis. ".repeat(110);
+        StringBuilder metadata = new StringBuilder("{\"brand\": \"Logitech\"");
+        for (int i = 0; i < 30; i++) {
+            metadata.append(", \"spec").append(i).append("\": \"valor ").append(i).append('"');
+        }
+        metadata.append('}');
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int id = 1; id <= PRODUCTS; id++) {
+            rows.add(new Object[]{"Produto " + id, description, BigDecimal.valueOf(id % 1000 + 10), "SKU-" + id,
+                    metadata.toString()});
+        }
+        jdbc.batchUpdate("INSERT INTO products (name, description, price, stock_quantity, reserved_quantity, "
+                + "category_id, supplier_id, sku, active, metadata, created_at, updated_at) "
+                + "VALUES (?, ?, ?, 1000000, 0, 1, 1, ?, TRUE, ? FORMAT JSON, NOW(), NOW())", rows);
+
+        productRepository = context.getBean(ProductRepository.class);
+        productService = context.getBean(ProductService.class);
+        productMapper = context.getBean(ProductMapper.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        try (EntityManager graphFactory = entityManagerFactory.createEntityManager()) {
+            contentGraph = graphFactory.createEntityGraph(Product.class);
+            contentGraph.addAttributeNodes("description", "metadata");
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Invocation)
+    public void countBefore() {
+        statements -= statistics.getPrepareStatementCount();
+    }
+
+    @TearDown(Level.Invocation)
+    public void countAfter() {
+        statements += statistics.getPrepareStatementCount();
+        ops++;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) {
+        System.out.printf("%n%s: %.2f consultas SQL/op%n", params.getBenchmark(), (double) statements / ops);
+        context.close();
+    }
+
+    @Benchmark
+    public void orderCreation(Blackhole blackhole) {
+        reserve(orderIds(), false, blackhole);
+    }
+
+    @Benchmark
+    public void orderCreationWithContent(Blackhole blackhole) {
+        reserve(orderIds(), true, blackhole);
+    }
+
+    @Benchmark
+    public void payment(Blackhole blackhole) {
+        debit(orderIds(), false, blackhole);
+    }
+
+    @Benchmark
+    public void paymentWithContent(Blackhole blackhole) {
+        debit(orderIds(), true, blackhole);
+    }
+
+    @Benchmark
+    public void listing(Blackhole blackhole) {
+        blackhole.consume(productService.getAllProducts(new ProductFilterRequest(), listingPage()));
+    }
+
+    @Benchmark
+    public void listingWithoutGraph(Blackhole blackhole) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                blackhole.consume(productRepository.findAll(listingPage()).map(productMapper::toResponse)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductLazyLoadingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private List<Long> orderIds() {
+        long first = (nextOrder++ * ITEMS_PER_ORDER) % (PRODUCTS - ITEMS_PER_ORDER);
+        List<Long> ids = new ArrayList<>(ITEMS_PER_ORDER);
+        for (long id = first + 1; id <= first + ITEMS_PER_ORDER; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private PageRequest listingPage() {
+        int page = (int) (nextOrder++ % (PRODUCTS / 20));
+        return PageRequest.of(page, 20, Sort.by("name"));
+    }
+
+    /**
+     * Como {@code OrderService.createOrder}: carrega os itens num IN e reserva estoque.
+     */
+    private void reserve(List<Long> ids, boolean withContent, Blackhole blackhole) {
+        transaction.executeWithoutResult(status -> {
+            List<Product> products = withContent
+                    ? productRepository.findWithContentByIdIn(ids)
+                    : productRepository.findWithDetailsByIdIn(ids);
+            for (Product product : products) {
+                blackhole.consume(product.getName());
+                blackhole.consume(product.getPrice());
+                product.setReservedQuantity(product.getReservedQuantity() + 1);
+            }
+            productRepository.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * Como {@code ProductService.finalizeStockDebit}: um produto por vez, com lock, e baixa do estoque.
+     */
+    private void debit(List<Long> ids, boolean withContent, Blackhole blackhole) {
+        transaction.executeWithoutResult(status -> {
+            for (Long id : ids) {
+                Product product = withContent
+                        ? entityManager.find(Product.class, id, LockModeType.PESSIMISTIC_WRITE,
+                                Map.of("jakarta.persistence.loadgraph", contentGraph))
+                        : productRepository.findByIdWithLock(id).orElseThrow();
+                blackhole.consume(product.getName());
+                product.setStockQuantity(product.getStockQuantity() - 1);
+            }
+            productRepository.flush();
+            status.setRollbackOnly();
+        });
+    }
+}
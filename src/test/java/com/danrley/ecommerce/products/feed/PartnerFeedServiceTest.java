@@ -0,0 +1,131 @@
+package com.danrley.ecommerce.products.feed;
+
+import com.danrley.ecommerce.products.repository.CategoryRepository;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.repository.SupplierRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do build do feed em disco: segmentos gzip concatenados devem formar um único stream válido.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class PartnerFeedServiceTest {
+
+    private static final int SEGMENT_SIZE = 5;
+    private static final long MAX_ID = 12;
+
+    @TempDir
+    Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final SupplierRepository supplierRepository = mock(SupplierRepository.class);
+
+    private PartnerFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findMaxId()).thenReturn(MAX_ID);
+        when(productRepository.findFeedRowsByIdRange(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            List<Object[]> rows = new ArrayList<>();
+            for (long id = Math.max(1, fromId); id < Math.min(toId, MAX_ID + 1); id++) {
+                rows.add(row(id));
+            }
+            return rows;
+        });
+        service = new PartnerFeedService(productRepository, categoryRepository, supplierRepository,
+                mock(PlatformTransactionManager.class), new SyncTaskExecutor(),
+                new ObjectMapper().findAndRegisterModules(), true, directory.toString(), SEGMENT_SIZE, 60_000);
+    }
+
+    @Test
+    void assembledNdjsonFeedDecompressesAsSingleStream() throws IOException {
+        service.refresh();
+
+        PartnerFeedService.FeedFile feed = service.current(PartnerFeedFormat.NDJSON);
+        List<String> lines = gunzipLines(feed.path());
+
+        assertThat(feed.products()).isEqualTo(MAX_ID);
+        assertThat(lines).hasSize((int) MAX_ID);
+        assertThat(lines.get(0)).contains("\"sku\":\"SKU-1\"");
+        assertThat(lines.get(lines.size() - 1)).contains("\"sku\":\"SKU-12\"");
+    }
+
+    @Test
+    void assembledCsvFeedStartsWithHeaderMember() throws IOException {
+        service.refresh();
+
+        List<String> lines = gunzipLines(service.current(PartnerFeedFormat.CSV).path());
+
+        assertThat(lines).hasSize((int) MAX_ID + 1);
+        assertThat(lines.get(0)).isEqualTo(PartnerFeedFormat.CSV.header().trim());
+        assertThat(lines.get(1)).startsWith("1,SKU-1,");
+        assertThat(lines.get(lines.size() - 1)).startsWith("12,SKU-12,");
+    }
+
+    @Test
+    void referenceDataChangeRewritesEverySegment() {
+        service.refresh();
+        when(categoryRepository.existsByUpdatedAtAfter(any())).thenReturn(true);
+
+        service.refresh();
+
+        // 3 segmentos no primeiro build + 3 no segundo
+        verify(productRepository, times(6)).findFeedRowsByIdRange(anyLong(), anyLong());
+    }
+
+    @Test
+    void unchangedCatalogRewritesNothing() {
+        service.refresh();
+        when(productRepository.findIdsUpdatedSince(any())).thenReturn(List.of());
+
+        service.refresh();
+
+        verify(productRepository, times(3)).findFeedRowsByIdRange(anyLong(), anyLong());
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * [id, sku, name, description, price, stockQuantity, reservedQuantity, categoria, fornecedor, metadata, updatedAt]
+     */
+    private static Object[] row(long id) {
+        return new Object[]{id, "SKU-" + id, "Produto " + id, null, new BigDecimal("10.00"), 5, 1,
+                "Eletrônicos", "Fornecedor", null, LocalDateTime.of(2026, 1, 1, 0, 0)};
+    }
+
+    private static List<String> gunzipLines(Path path) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return content.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.danrley.ecommerce.products.popularity;
+
+import com.danrley.ecommerce.orders.event.OrderApprovedEvent;
+import com.danrley.ecommerce.orders.repository.OrderItemRepository;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.event.ProductChangedEvent.ChangeType;
+import com.danrley.ecommerce.products.popularity.BestSellerTracker.ProductSales;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do ranking de mais vendidos: janelas, ranking por categoria e eventos recebidos
+ * durante a recarga (sem contar duas vezes pedidos que a carga já leu).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class BestSellerTrackerTest {
+
+    private static final long ELETRONICOS = 1L;
+    private static final long LIVROS = 2L;
+
+    private OrderItemRepository orderItemRepository;
+    private BestSellerTracker tracker;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        orderItemRepository = mock(OrderItemRepository.class);
+        tracker = new BestSellerTracker(orderItemRepository, mock(PlatformTransactionManager.class),
+                new SyncTaskExecutor(), 2);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void notReadyBeforeTheFirstLoad() {
+        assertThatThrownBy(() -> tracker.top(SalesWindow.DAY, null, 10)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void salesOutsideAWindowDoNotCountInIt() {
+        when(orderItemRepository.streamApprovedSales(any(), any())).thenAnswer(invocation -> Stream.of(
+                sale(1L, 100L, ELETRONICOS, now.minusMinutes(30), 2),
+                sale(2L, 101L, ELETRONICOS, now.minusDays(3), 5),
+                sale(3L, 102L, LIVROS, now.minusDays(20), 9)));
+        tracker.reloadAsync();
+
+        assertThat(units(tracker.top(SalesWindow.DAY, null, 10))).containsExactly(tuple(100L, 2L));
+        assertThat(units(tracker.top(SalesWindow.WEEK, null, 10))).containsExactly(tuple(101L, 5L), tuple(100L, 2L));
+        assertThat(units(tracker.top(SalesWindow.MONTH, null, 10)))
+                .containsExactly(tuple(102L, 9L), tuple(101L, 5L));
+    }
+
+    @Test
+    void rankingIsKeptPerCategoryWithTopKAndTiesByProductId() {
+        when(orderItemRepository.streamApprovedSales(any(), any())).thenAnswer(invocation -> Stream.of(
+                sale(1L, 100L, ELETRONICOS, now.minusMinutes(10), 3),
+                sale(1L, 101L, ELETRONICOS, now.minusMinutes(10), 3),
+                sale(2L, 102L, ELETRONICOS, now.minusMinutes(5), 7),
+                sale(3L, 200L, LIVROS, now.minusMinutes(5), 1),
+                sale(4L, 201L, LIVROS, now.minusMinutes(5), 4)));
+        tracker.reloadAsync();
+
+        assertThat(units(tracker.top(SalesWindow.DAY, ELETRONICOS, 10))).containsExactly(tuple(102L, 7L), tuple(100L, 3L));
+        assertThat(units(tracker.top(SalesWindow.DAY, LIVROS, 10))).containsExactly(tuple(201L, 4L), tuple(200L, 1L));
+        assertThat(units(tracker.top(SalesWindow.DAY, LIVROS, 1))).containsExactly(tuple(201L, 4L));
+        assertThat(tracker.top(SalesWindow.DAY, 99L, 10)).isEmpty();
+
+        // Produto muda de categoria: entra no ranking da nova no próximo refresh
+        tracker.onProductChanged(new ProductChangedEvent(product(102L, LIVROS), ChangeType.UPDATED));
+        tracker.refresh();
+        assertThat(units(tracker.top(SalesWindow.DAY, ELETRONICOS, 10))).containsExactly(tuple(100L, 3L), tuple(101L, 3L));
+        assertThat(units(tracker.top(SalesWindow.DAY, LIVROS, 10))).containsExactly(tuple(102L, 7L), tuple(201L, 4L));
+    }
+
+    @Test
+    void eventsDuringReloadAreAppliedOnceEvenIfTheLoadAlreadyReadThem() {
+        OrderApprovedEvent alreadyStreamed = new OrderApprovedEvent(10L, now.minusMinutes(2),
+                List.of(new OrderApprovedEvent.Item(100L, ELETRONICOS, 4)));
+        OrderApprovedEvent committedAfterStream = new OrderApprovedEvent(11L, now.minusMinutes(1),
+                List.of(new OrderApprovedEvent.Item(100L, ELETRONICOS, 1), new OrderApprovedEvent.Item(101L, ELETRONICOS, 2)));
+        when(orderItemRepository.streamApprovedSales(any(), any())).thenAnswer(invocation -> {
+            tracker.onOrderApproved(alreadyStreamed);
+            tracker.onOrderApproved(committedAfterStream);
+            return Stream.<Object[]>of(sale(10L, 100L, ELETRONICOS, now.minusMinutes(2), 4));
+        });
+        tracker.reloadAsync();
+
+        assertThat(units(tracker.top(SalesWindow.DAY, null, 10))).containsExactly(tuple(100L, 5L), tuple(101L, 2L));
+
+        // Depois da carga, eventos são aplicados direto nos contadores
+        tracker.onOrderApproved(new OrderApprovedEvent(12L, now, List.of(new OrderApprovedEvent.Item(101L, ELETRONICOS, 6))));
+        tracker.refresh();
+        assertThat(units(tracker.top(SalesWindow.DAY, null, 10))).containsExactly(tuple(101L, 8L), tuple(100L, 5L));
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Linha de {@code streamApprovedSales}: [orderId, productId, categoryId, paymentDate, quantity].
+     */
+    private static Object[] sale(Long orderId, Long productId, Long categoryId, LocalDateTime paidAt, int quantity) {
+        return new Object[]{orderId, productId, categoryId, paidAt, quantity};
+    }
+
+    private static List<Tuple> units(List<ProductSales> sales) {
+        return sales.stream().map(sale -> tuple(sale.productId(), sale.units())).toList();
+    }
+
+    private static ProductSnapshot product(Long id, Long categoryId) {
+        Long supplierId = null;
+        return new ProductSnapshot(id, "Produto " + id, "SKU-" + id, categoryId, supplierId,
+                new BigDecimal("10.00"), 5, 0, true);
+    }
+}
@@ -0,0 +1,112 @@
+package com.danrley.ecommerce.products.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do Count-Min Sketch: nunca subestima, erro dentro do limite {@code e / width × total}
+ * e linearidade (soma, subtração e gravação em disco).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class CountMinSketchTest {
+
+    private static final int WIDTH = 1024;
+    private static final int DEPTH = 4;
+
+    @Test
+    void estimatesNeverUnderestimateAndStayWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<Long, Long> exact = skewedStream(new Random(3), 50_000, 5_000, sketch);
+        long total = exact.values().stream().mapToLong(Long::longValue).sum();
+        double bound = Math.E / WIDTH * total;
+
+        int withinBound = 0;
+        for (Map.Entry<Long, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertThat(estimate).as("produto %d", entry.getKey()).isGreaterThanOrEqualTo(entry.getValue());
+            if (estimate - entry.getValue() <= bound) {
+                withinBound++;
+            }
+        }
+        // Garantia: 1 - e^-depth (≈ 98%) das estimativas dentro do limite
+        assertThat((double) withinBound / exact.size()).isGreaterThanOrEqualTo(1 - Math.exp(-DEPTH));
+    }
+
+    @Test
+    void sketchesAreLinear() {
+        CountMinSketch first = new CountMinSketch(WIDTH, DEPTH);
+        CountMinSketch second = new CountMinSketch(WIDTH, DEPTH);
+        CountMinSketch combined = new CountMinSketch(WIDTH, DEPTH);
+        CountMinSketch sum = new CountMinSketch(WIDTH, DEPTH);
+        Map<Long, Long> exactFirst = skewedStream(new Random(5), 10_000, 2_000, first);
+        skewedStream(new Random(6), 10_000, 2_000, second);
+        skewedStream(new Random(5), 10_000, 2_000, combined);
+        skewedStream(new Random(6), 10_000, 2_000, combined);
+
+        sum.add(first);
+        sum.add(second);
+        for (long id = 1; id <= 2_000; id++) {
+            assertThat(sum.estimate(id)).isEqualTo(combined.estimate(id));
+        }
+
+        sum.subtract(second);
+        for (Map.Entry<Long, Long> entry : exactFirst.entrySet()) {
+            assertThat(sum.estimate(entry.getKey())).isEqualTo(first.estimate(entry.getKey()));
+        }
+
+        sum.clear();
+        assertThat(sum.estimate(1L)).isZero();
+    }
+
+    @Test
+    void roundTripThroughDisk() throws IOException {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        skewedStream(new Random(9), 5_000, 1_000, sketch);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+        CountMinSketch read = new CountMinSketch(WIDTH, DEPTH);
+        read.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(bytes.size()).isEqualTo(WIDTH * DEPTH * Integer.BYTES);
+        for (long id = 1; id <= 1_000; id++) {
+            assertThat(read.estimate(id)).isEqualTo(sketch.estimate(id));
+        }
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(1000, DEPTH)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(WIDTH, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(WIDTH, 9)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Visualizações concentradas em poucos produtos (como o tráfego real); devolve a contagem exata.
+     */
+    private static Map<Long, Long> skewedStream(Random random, int events, int products, CountMinSketch sketch) {
+        Map<Long, Long> exact = new HashMap<>();
+        for (int i = 0; i < events; i++) {
+            long id = 1 + (long) (products * Math.pow(random.nextDouble(), 3));
+            int views = 1 + random.nextInt(3);
+            sketch.add(id, views);
+            exact.merge(id, (long) views, Long::sum);
+        }
+        return exact;
+    }
+}
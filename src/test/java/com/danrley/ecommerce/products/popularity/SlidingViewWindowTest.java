@@ -0,0 +1,139 @@
+package com.danrley.ecommerce.products.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Testes da janela deslizante de visualizações: rotação dos buckets, expiração e top-K.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class SlidingViewWindowTest {
+
+    /** Início de um bucket de 5 minutos */
+    private static final long START = 1_767_225_600_000L;
+    private static final long BUCKET = ViewWindow.HOUR.getBucket().toMillis();
+
+    @Test
+    void viewsStayUntilTheirBucketLeavesTheWindow() {
+        SlidingViewWindow window = hourWindow(10);
+        window.advance(START);
+        window.add(1L, 3);
+
+        window.advance(START + 5 * BUCKET);
+        window.add(1L, 2);
+        window.add(2L, 4);
+        assertThat(window.estimate(1L)).isEqualTo(5);
+
+        window.advance(START + 11 * BUCKET + BUCKET - 1);
+        assertThat(window.estimate(1L)).isEqualTo(5);
+
+        // 12 buckets depois, o primeiro sai da janela
+        window.advance(START + 12 * BUCKET);
+        assertThat(window.estimate(1L)).isEqualTo(2);
+        assertThat(window.estimate(2L)).isEqualTo(4);
+        assertThat(ids(window.top(10))).containsExactly(2L, 1L);
+
+        window.advance(START + 17 * BUCKET);
+        assertThat(window.estimate(1L)).isZero();
+        assertThat(window.top(10)).isEmpty();
+    }
+
+    @Test
+    void jumpLongerThanTheWindowExpiresEverything() {
+        SlidingViewWindow window = hourWindow(10);
+        window.advance(START);
+        for (int bucket = 0; bucket < 12; bucket++) {
+            window.advance(START + bucket * BUCKET);
+            window.add(7L, 1);
+        }
+        assertThat(window.estimate(7L)).isEqualTo(12);
+
+        window.advance(START + 1_000 * BUCKET);
+        assertThat(window.estimate(7L)).isZero();
+        assertThat(window.top(10)).isEmpty();
+
+        window.add(7L, 2);
+        assertThat(window.estimate(7L)).isEqualTo(2);
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotRotate() {
+        SlidingViewWindow window = hourWindow(10);
+        window.advance(START + 3 * BUCKET);
+        window.add(1L, 4);
+
+        window.advance(START);
+        window.add(1L, 1);
+
+        assertThat(window.estimate(1L)).isEqualTo(5);
+        window.advance(START + 15 * BUCKET - 1);
+        assertThat(window.estimate(1L)).isEqualTo(5);
+        window.advance(START + 15 * BUCKET);
+        assertThat(window.estimate(1L)).isZero();
+    }
+
+    @Test
+    void topKeepsTheMostViewedCandidatesWithTiesByLowestId() {
+        SlidingViewWindow window = hourWindow(3);
+        window.advance(START);
+        window.add(10L, 5);
+        window.add(11L, 5);
+        window.add(12L, 1);
+        window.add(13L, 2);
+        window.add(14L, 1);
+
+        assertThat(window.top(10)).extracting(entry -> entry[0], entry -> entry[1])
+                .containsExactly(tuple(10L, 5L),
+                        tuple(11L, 5L),
+                        tuple(13L, 2L));
+        assertThat(ids(window.top(2))).containsExactly(10L, 11L);
+
+        window.add(12L, 6);
+        assertThat(ids(window.top(10))).containsExactly(12L, 10L, 11L);
+    }
+
+    @Test
+    void roundTripRestoresBucketsAndCandidates() throws IOException {
+        SlidingViewWindow window = hourWindow(10);
+        window.advance(START);
+        window.add(1L, 3);
+        window.advance(START + 4 * BUCKET);
+        window.add(2L, 5);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        window.writeTo(new DataOutputStream(bytes));
+        SlidingViewWindow read = hourWindow(10);
+        read.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        read.advance(START + 4 * BUCKET);
+
+        assertThat(ids(read.top(10))).containsExactly(2L, 1L);
+        read.advance(START + 12 * BUCKET);
+        assertThat(ids(read.top(10))).containsExactly(2L);
+
+        SlidingViewWindow day = new SlidingViewWindow(ViewWindow.DAY, 256, 4, 10);
+        assertThatThrownBy(() -> day.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+                .isInstanceOf(IOException.class);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static SlidingViewWindow hourWindow(int capacity) {
+        return new SlidingViewWindow(ViewWindow.HOUR, 256, 4, capacity);
+    }
+
+    private static List<Long> ids(List<long[]> top) {
+        return top.stream().map(entry -> entry[0]).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.danrley.ecommerce.products.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes dos contadores por janela de um produto: expiração dos buckets e vendas fora da janela.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class SoldUnitsCounterTest {
+
+    /** Início de um dia (e portanto de um bucket de todas as janelas) */
+    private static final long NOW = 1_767_225_600_000L;
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @Test
+    void salesCountOnlyInWindowsThatCoverThem() {
+        SoldUnitsCounter counter = new SoldUnitsCounter(1L, NOW);
+        counter.add(NOW - 2 * HOUR, 5, NOW);
+        counter.add(NOW - 3 * DAY, 7, NOW);
+        counter.add(NOW - 20 * DAY, 11, NOW);
+        counter.add(NOW - 40 * DAY, 9, NOW);
+
+        assertThat(counter.total(SalesWindow.DAY, NOW)).isEqualTo(5);
+        assertThat(counter.total(SalesWindow.WEEK, NOW)).isEqualTo(12);
+        assertThat(counter.total(SalesWindow.MONTH, NOW)).isEqualTo(23);
+    }
+
+    @Test
+    void bucketsExpireAsTheClockAdvances() {
+        SoldUnitsCounter counter = new SoldUnitsCounter(1L, NOW);
+        counter.add(NOW - 2 * HOUR, 5, NOW);
+        counter.add(NOW, 3, NOW);
+
+        // O bucket de NOW - 2h fica na janela de 24 buckets até o bucket NOW + 21h
+        assertThat(counter.total(SalesWindow.DAY, NOW + 22 * HOUR - 1)).isEqualTo(8);
+        assertThat(counter.total(SalesWindow.DAY, NOW + 22 * HOUR)).isEqualTo(3);
+        assertThat(counter.total(SalesWindow.DAY, NOW + 24 * HOUR)).isZero();
+
+        assertThat(counter.total(SalesWindow.WEEK, NOW + 6 * DAY)).isEqualTo(8);
+        assertThat(counter.total(SalesWindow.WEEK, NOW + 7 * DAY)).isZero();
+        assertThat(counter.total(SalesWindow.MONTH, NOW + 7 * DAY)).isEqualTo(8);
+        assertThat(counter.isEmpty(NOW + 7 * DAY)).isFalse();
+        assertThat(counter.isEmpty(NOW + 30 * DAY)).isTrue();
+    }
+
+    @Test
+    void salesAfterALongGapStartFromAnEmptyRing() {
+        SoldUnitsCounter counter = new SoldUnitsCounter(1L, NOW);
+        counter.add(NOW, 4, NOW);
+
+        long later = NOW + 365 * DAY;
+        counter.add(later - HOUR, 2, later);
+
+        assertThat(counter.total(SalesWindow.DAY, later)).isEqualTo(2);
+        assertThat(counter.total(SalesWindow.MONTH, later)).isEqualTo(2);
+    }
+
+    @Test
+    void futureSalesCountInTheCurrentBucket() {
+        SoldUnitsCounter counter = new SoldUnitsCounter(1L, NOW);
+        counter.add(NOW + 5 * HOUR, 6, NOW);
+
+        assertThat(counter.total(SalesWindow.DAY, NOW)).isEqualTo(6);
+        assertThat(counter.total(SalesWindow.DAY, NOW + 24 * HOUR)).isZero();
+    }
+}
@@ -0,0 +1,123 @@
+package com.danrley.ecommerce.products.reactive;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga comparativo: {@code GET /api/products} (JPA, bloqueante) vs
+ * {@code GET /api/reactive/products} (R2DBC) com alta concorrência.
+ * <p>
+ * Não é JMH: mede a aplicação já rodando (outra JVM), com N requisições sempre em voo
+ * (closed loop, {@link Semaphore}) por um tempo fixo, e reporta vazão, p50/p99 e erros por
+ * endpoint e nível de concorrência. Metade das requisições é a listagem (página de 20) e metade
+ * a busca por ID (IDs aleatórios até {@code maxId}).
+ * </p>
+ * <p>
+ * Para o resultado fazer sentido:
+ * </p>
+ * <ul>
+ *   <li>MySQL (profile dev/docker) com {@code CATALOG_REACTIVE_ENABLED=true}; o r2dbc-h2 executa
+ *       as consultas de forma bloqueante por baixo, então contra H2 os dois caminhos se equivalem</li>
+ *   <li>{@code catalog.response-cache.enabled=false}, senão o endpoint bloqueante responde do cache</li>
+ *   <li>Threads do Tomcat reduzidas (ex: {@code --server.tomcat.threads.max=50}) para o limite de
+ *       threads aparecer antes do limite do banco; pools Hikari e R2DBC do mesmo tamanho</li>
+ * </ul>
+ * <p>
+ * Executar: {@code mvn test-compile} + {@code java -cp target/test-classes ...ReactiveCatalogLoadBenchmark
+ * [baseUrl] [segundos por rodada] [maxId] [concorrências]}, ex:
+ * {@code http://localhost:8080 30 1000 50,200,1000}.
+ * </p>
+ */
+public class ReactiveCatalogLoadBenchmark {
+
+    private static final String[] ENDPOINTS = {"/api/products", "/api/reactive/products"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long maxId = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+        int[] levels = args.length > 3
+                ? Arrays.stream(args[3].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{50, 200, 1000};
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("%-26s %6s %10s %9s %9s %8s%n", "endpoint", "conc.", "req/s", "p50 ms", "p99 ms", "erros");
+        for (int concurrency : levels) {
+            for (String endpoint : ENDPOINTS) {
+                run(client, baseUrl + endpoint, maxId, concurrency, Math.max(5, seconds / 5)); // aquecimento
+                Result result = run(client, baseUrl + endpoint, maxId, concurrency, seconds);
+                System.out.printf("%-26s %6d %10.1f %9.1f %9.1f %8d%n", endpoint, concurrency,
+                        result.throughput(), result.percentile(0.50), result.percentile(0.99), result.errors());
+            }
+        }
+        System.exit(0);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static Result run(HttpClient client, String url, long maxId, int concurrency, int seconds)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        long sent = 0;
+
+        while (System.nanoTime() < deadline) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            String target = (sent++ & 1) == 0
+                    ? url + "?size=20&page=" + ThreadLocalRandom.current().nextInt(10)
+                    : url + "/" + (1 + ThreadLocalRandom.current().nextLong(maxId));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(target))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long requestStart = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        } else {
+                            latencies.add(System.nanoTime() - requestStart);
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency); // espera as requisições em voo
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted, errors.get(), elapsedSeconds);
+    }
+
+    private record Result(long[] sortedNanos, long errors, double elapsedSeconds) {
+
+        double throughput() {
+            return sortedNanos.length / elapsedSeconds;
+        }
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
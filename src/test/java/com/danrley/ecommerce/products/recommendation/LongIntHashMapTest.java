@@ -0,0 +1,133 @@
+package com.danrley.ecommerce.products.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do mapa {@code long -> int} com endereçamento aberto: crescimento, colisões,
+ * limite de capacidade e a chave reservada {@code 0}.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void growsUntilMaxCapacityKeepingEveryEntry() {
+        LongIntHashMap map = new LongIntHashMap(16, 1 << 12);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 3_000; i++) {
+            long key = pairKey(1 + random.nextInt(80), 1 + random.nextInt(80));
+            int delta = 1 + random.nextInt(5);
+            assertThat(map.addTo(key, delta)).isEqualTo(expected.merge(key, delta, Integer::sum));
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).as("chave %d", key).isEqualTo(value));
+        assertThat(map.get(pairKey(81, 81))).isZero();
+    }
+
+    @Test
+    void fullTableRejectsNewKeysWithoutChangingAnything() {
+        LongIntHashMap map = new LongIntHashMap(16, 16);
+        for (long key = 1; key <= 12; key++) {
+            assertThat(map.addTo(key, (int) key)).isEqualTo((int) key);
+        }
+
+        assertThat(map.addTo(13L, 1)).isEqualTo(LongIntHashMap.FULL);
+        assertThat(map.size()).isEqualTo(12);
+        assertThat(map.get(13L)).isZero();
+        // Chaves existentes continuam aceitando incrementos
+        assertThat(map.addTo(5L, 10)).isEqualTo(15);
+    }
+
+    @Test
+    void collidingKeysAreProbedAndSurviveRemoveIf() {
+        LongIntHashMap map = new LongIntHashMap(16, 16);
+        List<Long> colliding = keysInSameSlot(16, 6);
+        for (int i = 0; i < colliding.size(); i++) {
+            map.addTo(colliding.get(i), i + 1);
+        }
+        for (int i = 0; i < colliding.size(); i++) {
+            assertThat(map.get(colliding.get(i))).isEqualTo(i + 1);
+        }
+
+        // Remove o início da cadeia: os demais continuam encontráveis após a reconstrução
+        assertThat(map.removeIf(3)).isEqualTo(3);
+        assertThat(map.size()).isEqualTo(3);
+        for (int i = 0; i < colliding.size(); i++) {
+            assertThat(map.get(colliding.get(i))).isEqualTo(i + 1 > 3 ? i + 1 : 0);
+        }
+        assertThat(map.addTo(colliding.get(0), 7)).isEqualTo(7);
+    }
+
+    @Test
+    void forEachVisitsEveryEntryOnce() {
+        LongIntHashMap map = new LongIntHashMap(16, 1 << 10);
+        for (long a = 1; a <= 20; a++) {
+            map.addTo(pairKey(a, a + 1), (int) a);
+        }
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach((key, value) -> assertThat(visited.put(key, value)).isNull());
+
+        assertThat(visited).hasSize(20).containsEntry(pairKey(7, 8), 7);
+    }
+
+    @Test
+    void sentinelKeyIsRejected() {
+        LongIntHashMap map = new LongIntHashMap(16, 16);
+        map.addTo(1L, 1);
+
+        assertThatThrownBy(() -> map.addTo(0L, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(0L)).isZero();
+        assertThat(map.get(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void capacityForLeavesRoomForTheRemoveIfCopy() {
+        assertThat(LongIntHashMap.capacityFor(0)).isEqualTo(16);
+        assertThat(LongIntHashMap.capacityFor(24L * 1024)).isEqualTo(1024);
+        assertThat(LongIntHashMap.capacityFor(24L * 1024 - 1)).isEqualTo(512);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static long pairKey(long a, long b) {
+        return a << 32 | b;
+    }
+
+    /**
+     * Chaves que caem na mesma posição inicial numa tabela de {@code capacity} posições.
+     */
+    private static List<Long> keysInSameSlot(int capacity, int count) {
+        List<Long> keys = new ArrayList<>();
+        int target = slotOf(1L, capacity);
+        for (long key = 1; keys.size() < count; key++) {
+            if (slotOf(key, capacity) == target) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Mesmo hash do {@link LongIntHashMap} (posição inicial da sondagem).
+     */
+    private static int slotOf(long key, int capacity) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & (capacity - 1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.products.dto.MetadataFilter;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotStore;
+import com.danrley.ecommerce.shared.exception.BusinessException;
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes do índice de metadata: filtros de igualdade, faixa numérica e chaves ausentes.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class MetadataAttributeIndexTest {
+
+    private MetadataAttributeIndex.AttributeBitmaps bitmaps;
+
+    @BeforeEach
+    void setUp() {
+        MetadataAttributeIndex index = new MetadataAttributeIndex(mock(ProductRepository.class),
+                mock(PlatformTransactionManager.class), mock(CatalogSnapshotStore.class), Set.of());
+        bitmaps = index.new AttributeBitmaps();
+        bitmaps.put(1L, RawJsonMetadata.fromTrusted("{\"brand\":\"Logitech\",\"dpi\":800}"));
+        bitmaps.put(2L, RawJsonMetadata.fromTrusted("{\"brand\":\" logitech \",\"dpi\":16000}"));
+        bitmaps.put(3L, RawJsonMetadata.fromTrusted("{\"brand\":\"Razer\",\"dpi\":3200.50}"));
+        bitmaps.put(4L, RawJsonMetadata.fromTrusted("{\"brand\":\"Razer\",\"wireless\":true}"));
+    }
+
+    @Test
+    void equalityIgnoresCaseAndSurroundingSpaces() {
+        assertThat(ids(match("brand", "LOGITECH", null, null))).containsExactly(1, 2);
+        assertThat(ids(match("wireless", "true", null, null))).containsExactly(4);
+        assertThat(ids(match("brand", "Corsair", null, null))).isEmpty();
+    }
+
+    @Test
+    void rangeIsInclusiveAndIgnoresProductsWithoutTheKey() {
+        assertThat(ids(match("dpi", null, "800", "3200.5"))).containsExactly(1, 3);
+        assertThat(ids(match("dpi", null, "3200.50", null))).containsExactly(2, 3);
+        assertThat(ids(match("dpi", null, null, "799"))).isEmpty();
+        assertThat(ids(match("dpi", null, "800", "800"))).containsExactly(1);
+    }
+
+    @Test
+    void equalityAndRangeOnTheSameKeyAreCombined() {
+        assertThat(ids(match("dpi", "16000", "1000", null))).containsExactly(2);
+        assertThat(ids(match("dpi", "16000", null, "1000"))).isEmpty();
+    }
+
+    @Test
+    void missingKeyMatchesNothing() {
+        assertThat(ids(match("color", "black", null, null))).isEmpty();
+        assertThat(ids(match("weight", null, "0", null))).isEmpty();
+    }
+
+    @Test
+    void invertedRangeMatchesNothingInsteadOfFailing() {
+        assertThat(ids(match("dpi", null, "16000", "800"))).isEmpty();
+    }
+
+    @Test
+    void updateReplacesPreviouslyIndexedValues() {
+        bitmaps.put(1L, RawJsonMetadata.fromTrusted("{\"brand\":\"Razer\"}"));
+
+        assertThat(ids(match("brand", "logitech", null, null))).containsExactly(2);
+        assertThat(ids(match("brand", "razer", null, null))).containsExactly(1, 3, 4);
+        assertThat(ids(match("dpi", null, "0", null))).containsExactly(2, 3);
+    }
+
+    @Test
+    void queryParamsRejectInvertedRange() {
+        assertThatThrownBy(() -> MetadataFilter.fromQueryParams(
+                Map.of("metadata.dpi.min", "16000", "metadata.dpi.max", "800")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("metadata.dpi");
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private RoaringBitmap match(String key, String value, String min, String max) {
+        return bitmaps.match(new MetadataFilter(key, value,
+                min != null ? new BigDecimal(min) : null,
+                max != null ? new BigDecimal(max) : null));
+    }
+
+    private static int[] ids(RoaringBitmap bitmap) {
+        return bitmap.toArray();
+    }
+}
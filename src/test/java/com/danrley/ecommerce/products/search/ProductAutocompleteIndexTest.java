@@ -0,0 +1,176 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.orders.repository.OrderItemRepository;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.dto.ProductSuggestionResponse;
+import com.danrley.ecommerce.products.event.ProductChangedEvent;
+import com.danrley.ecommerce.products.event.ProductChangedEvent.ChangeType;
+import com.danrley.ecommerce.products.repository.ProductRepository;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do autocomplete em memória: prefixos além da profundidade pré-calculada, desempate
+ * por ID e remoção/reativação pelo delta e pelos eventos recebidos durante o rebuild.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class ProductAutocompleteIndexTest {
+
+    /** Mais produtos que o intervalo pré-calculado: "m", "mo", ... "mouse" ganham listas prontas */
+    private static final int CATALOG_SIZE = 600;
+
+    @Test
+    void prefixesBeyondPrecomputedDepthMatchBruteForce() {
+        List<ProductSnapshot> products = catalog();
+        Map<Long, Long> sold = weights(products);
+        ProductAutocompleteIndex.Snapshot snapshot = snapshotOf(products, sold);
+
+        assertThat(snapshot.base().topByPrefix).containsKeys("m", "mouse");
+        for (String prefix : List.of("m", "mou", "mouse", "mouse gamer", "mouse gamer 5", "mouse gamer 59",
+                "gamer 12", "5", "preto", "mousex")) {
+            assertThat(ids(snapshot.suggest(prefix, ProductAutocompleteIndex.MAX_LIMIT)))
+                    .as("prefixo '%s'", prefix)
+                    .isEqualTo(bruteForce(products, sold, Set.of(), prefix, ProductAutocompleteIndex.MAX_LIMIT));
+        }
+    }
+
+    @Test
+    void tiesAreBrokenByLowestId() {
+        List<ProductSnapshot> products = catalog();
+        ProductAutocompleteIndex.Snapshot snapshot = snapshotOf(products, Map.of());
+
+        assertThat(ids(snapshot.suggest("mouse", 5))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(ids(snapshot.suggest("mouse gamer 59", 3))).containsExactly(59L, 590L, 591L);
+
+        Map<Long, Long> sold = Map.of(300L, 7L, 200L, 7L, 100L, 9L);
+        assertThat(ids(snapshotOf(catalog(), sold).suggest("mouse", 4))).containsExactly(100L, 200L, 300L, 1L);
+    }
+
+    @Test
+    void removalAndReactivationGoThroughTheDelta() {
+        List<ProductSnapshot> products = catalog();
+        Map<Long, Long> sold = weights(products);
+        ProductAutocompleteIndex.Snapshot snapshot = snapshotOf(products, sold);
+        List<Long> topBefore = ids(snapshot.suggest("mouse", ProductAutocompleteIndex.MAX_LIMIT));
+
+        // Desativa mais do que a folga da lista pré-calculada: a consulta precisa reparar a lista
+        Set<Long> removed = new HashSet<>();
+        List<Long> byWeight = bruteForce(products, sold, Set.of(), "mouse", ProductAutocompleteIndex.MAX_LIMIT * 3);
+        for (long id : byWeight.subList(0, ProductAutocompleteIndex.MAX_LIMIT * 2 + 5)) {
+            snapshot = snapshot.with(product(id, "Mouse Gamer " + id, false));
+            removed.add(id);
+        }
+        assertThat(ids(snapshot.suggest("mouse", ProductAutocompleteIndex.MAX_LIMIT)))
+                .isEqualTo(bruteForce(products, sold, removed, "mouse", ProductAutocompleteIndex.MAX_LIMIT))
+                .doesNotContainAnyElementsOf(removed);
+        assertThat(snapshot.base().repairedTop).containsKey("mouse");
+
+        // Reativados voltam com o peso da base
+        for (long id : removed) {
+            snapshot = snapshot.with(product(id, "Mouse Gamer " + id, true));
+        }
+        assertThat(ids(snapshot.suggest("mouse", ProductAutocompleteIndex.MAX_LIMIT))).isEqualTo(topBefore);
+
+        // Renomeado: sai do prefixo antigo e entra no novo
+        snapshot = snapshot.with(product(topBefore.get(0), "Teclado Mecanico", true));
+        assertThat(ids(snapshot.suggest("mouse", 1))).containsExactly(topBefore.get(1));
+        assertThat(ids(snapshot.suggest("tecl", 5))).containsExactly(topBefore.get(0));
+    }
+
+    @Test
+    void eventsReceivedDuringRebuildAreReplayed() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+        CatalogSnapshotStore snapshotStore = mock(CatalogSnapshotStore.class);
+        when(snapshotStore.warmStart(anyString(), any())).thenReturn(false);
+        when(orderItemRepository.sumSoldUnitsByProduct()).thenReturn(List.of());
+        ProductAutocompleteIndex index = new ProductAutocompleteIndex(productRepository, orderItemRepository,
+                mock(PlatformTransactionManager.class), snapshotStore, new SyncTaskExecutor(),
+                new SimpleMeterRegistry(), 1000);
+
+        // A leitura do banco ainda vê o produto 1 ativo; a desativação e a reativação do 2 chegam no meio
+        when(productRepository.streamAllSnapshots()).thenAnswer(invocation -> {
+            index.onProductChanged(new ProductChangedEvent(product(1L, "Mouse Sem Fio", false), ChangeType.DEACTIVATED));
+            index.onProductChanged(new ProductChangedEvent(product(2L, "Mouse Vertical", true), ChangeType.UPDATED));
+            return Stream.of(product(1L, "Mouse Sem Fio", true), product(3L, "Mousepad", true));
+        });
+        index.rebuildAsync();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.suggest("mou", 10))).containsExactly(2L, 3L);
+
+        index.onProductChanged(new ProductChangedEvent(product(1L, "Mouse Sem Fio", true), ChangeType.UPDATED));
+        index.onProductChanged(new ProductChangedEvent(product(3L, "Mousepad", false), ChangeType.DEACTIVATED));
+        assertThat(ids(index.suggest("MOU", 10))).containsExactly(1L, 2L);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * "Mouse Gamer N Preto" para N = 1..{@value #CATALOG_SIZE}.
+     */
+    private static List<ProductSnapshot> catalog() {
+        List<ProductSnapshot> products = new ArrayList<>();
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            products.add(product(id, "Mouse Gamer " + id + (id % 3 == 0 ? " Preto" : ""), true));
+        }
+        return products;
+    }
+
+    /**
+     * Pesos com muitos empates (id % 37) para exercitar o desempate.
+     */
+    private static Map<Long, Long> weights(List<ProductSnapshot> products) {
+        Map<Long, Long> sold = new HashMap<>();
+        products.forEach(product -> sold.put(product.id(), product.id() % 37));
+        return sold;
+    }
+
+    private static ProductAutocompleteIndex.Snapshot snapshotOf(List<ProductSnapshot> products, Map<Long, Long> sold) {
+        ProductAutocompleteIndex.Base base = ProductAutocompleteIndex.Base.build(new ArrayList<>(products), sold);
+        return new ProductAutocompleteIndex.Snapshot(base, List.of(), Set.of());
+    }
+
+    private static List<Long> bruteForce(List<ProductSnapshot> products, Map<Long, Long> sold, Set<Long> removed,
+                                         String prefix, int limit) {
+        return products.stream()
+                .filter(product -> !removed.contains(product.id()))
+                .filter(product -> (" " + ProductAutocompleteIndex.normalize(product.name())).contains(" " + prefix))
+                .sorted(Comparator.comparingLong((ProductSnapshot product) -> -sold.getOrDefault(product.id(), 0L))
+                        .thenComparingLong(ProductSnapshot::id))
+                .limit(limit)
+                .map(ProductSnapshot::id)
+                .toList();
+    }
+
+    private static List<Long> ids(List<ProductSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResponse::getId).toList();
+    }
+
+    private static ProductSnapshot product(Long id, String name, boolean active) {
+        Long supplierId = null;
+        return new ProductSnapshot(id, name, "SKU-" + id, Long.valueOf(1L), supplierId,
+                new BigDecimal("49.90"), 10, 0, active);
+    }
+}
@@ -0,0 +1,107 @@
+package com.danrley.ecommerce.products.search;
+
+import com.danrley.ecommerce.products.dto.ProductFilterRequest;
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do filtro {@code minAvailable} do índice de facetas: o resultado das fatias de bits
+ * deve coincidir com {@code available_quantity >= minAvailable}, inclusive com disponível negativo.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class ProductFacetIndexTest {
+
+    private static final long[] BAND_LIMITS = {10_000L, 50_000L};
+
+    @Test
+    void atLeastAvailableMatchesBruteForceOverRandomQuantities() {
+        Random random = new Random(42);
+        ProductFacetIndex.FacetBitmaps bitmaps = new ProductFacetIndex.FacetBitmaps(BAND_LIMITS);
+        Map<Integer, Integer> availableById = new HashMap<>();
+        for (int id = 1; id <= 2_000; id++) {
+            int stock = random.nextInt(5) == 0 ? random.nextInt(1 << 20) : random.nextInt(300);
+            int reserved = random.nextInt(4) == 0 ? random.nextInt(stock + 50) : 0;
+            bitmaps.put(product(id, stock, reserved));
+            availableById.put(id, stock - reserved);
+        }
+
+        for (int minAvailable : new int[]{Integer.MIN_VALUE, -40, -1, 0, 1, 2, 7, 64, 255, 256, 1 << 19, Integer.MAX_VALUE}) {
+            assertThat(minAvailable(bitmaps, minAvailable))
+                    .as("minAvailable=%d", minAvailable)
+                    .isEqualTo(bruteForce(availableById, minAvailable));
+        }
+        for (int i = 0; i < 200; i++) {
+            int minAvailable = random.nextInt(600) - 100;
+            assertThat(minAvailable(bitmaps, minAvailable))
+                    .as("minAvailable=%d", minAvailable)
+                    .isEqualTo(bruteForce(availableById, minAvailable));
+        }
+    }
+
+    @Test
+    void updatesMoveProductsAcrossNegativeAndPositiveAvailability() {
+        ProductFacetIndex.FacetBitmaps bitmaps = new ProductFacetIndex.FacetBitmaps(BAND_LIMITS);
+        bitmaps.put(product(1, 5, 8));
+        bitmaps.put(product(2, 10, 0));
+        bitmaps.put(product(3, 0, 0));
+
+        assertThat(minAvailable(bitmaps, 0).toArray()).containsExactly(2, 3);
+        assertThat(minAvailable(bitmaps, -3).toArray()).containsExactly(1, 2, 3);
+
+        bitmaps.put(product(1, 20, 8));
+        bitmaps.put(product(2, 3, 9));
+
+        assertThat(minAvailable(bitmaps, 0).toArray()).containsExactly(1, 3);
+        assertThat(minAvailable(bitmaps, 12).toArray()).containsExactly(1);
+        assertThat(minAvailable(bitmaps, -6).toArray()).containsExactly(1, 2, 3);
+        assertThat(minAvailable(bitmaps, -5).toArray()).containsExactly(1, 3);
+    }
+
+    @Test
+    void restrictedCandidatesAreRespected() {
+        ProductFacetIndex.FacetBitmaps bitmaps = new ProductFacetIndex.FacetBitmaps(BAND_LIMITS);
+        bitmaps.put(product(1, 5, 0));
+        bitmaps.put(product(2, 5, 9));
+        bitmaps.put(product(3, 50, 0));
+
+        ProductFilterRequest filters = new ProductFilterRequest();
+        filters.setMinAvailable(0);
+        RoaringBitmap matched = bitmaps.match(filters, RoaringBitmap.bitmapOf(2, 3), null);
+
+        assertThat(matched.toArray()).containsExactly(3);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static RoaringBitmap minAvailable(ProductFacetIndex.FacetBitmaps bitmaps, int minAvailable) {
+        ProductFilterRequest filters = new ProductFilterRequest();
+        filters.setMinAvailable(minAvailable);
+        return bitmaps.match(filters, null, null);
+    }
+
+    private static RoaringBitmap bruteForce(Map<Integer, Integer> availableById, int minAvailable) {
+        RoaringBitmap expected = new RoaringBitmap();
+        availableById.forEach((id, available) -> {
+            if (available >= minAvailable) {
+                expected.add(id);
+            }
+        });
+        return expected;
+    }
+
+    private static ProductSnapshot product(long id, int stock, int reserved) {
+        Long supplierId = null;
+        return new ProductSnapshot(Long.valueOf(id), "Produto " + id, "SKU-" + id, Long.valueOf(1L), supplierId,
+                new BigDecimal("99.90"), stock, reserved, true);
+    }
+}
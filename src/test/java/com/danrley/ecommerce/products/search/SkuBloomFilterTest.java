@@ -0,0 +1,85 @@
+package com.danrley.ecommerce.products.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do vetor de bits do filtro de SKUs: sem falsos negativos (em qualquer caixa)
+ * e taxa de falso positivo dentro do alvo configurado.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class SkuBloomFilterTest {
+
+    private static final int CAPACITY = 20_000;
+    private static final double FPP = 0.01;
+
+    @Test
+    void everyInsertedSkuMightBeContainedInAnyCase() {
+        SkuBloomFilter.Bits bits = SkuBloomFilter.Bits.create(CAPACITY, FPP);
+        List<String> skus = randomSkus(new Random(7), "IN-", CAPACITY);
+        skus.forEach(bits::put);
+
+        for (String sku : skus) {
+            assertThat(bits.mightContain(sku)).as(sku).isTrue();
+            assertThat(bits.mightContain(sku.toLowerCase(Locale.ROOT))).as(sku).isTrue();
+            assertThat(bits.mightContain(sku.toUpperCase(Locale.ROOT))).as(sku).isTrue();
+        }
+        assertThat(bits.insertions.get()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void falsePositiveRateStaysWithinConfiguredBound() {
+        SkuBloomFilter.Bits bits = SkuBloomFilter.Bits.create(CAPACITY, FPP);
+        Random random = new Random(11);
+        randomSkus(random, "IN-", CAPACITY).forEach(bits::put);
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (String absent : randomSkus(random, "OUT-", probes)) {
+            if (bits.mightContain(absent)) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / probes;
+        // Folga de 30% sobre o alvo: com 200 mil consultas o desvio da amostra é bem menor que isso
+        assertThat(observed).isLessThan(FPP * 1.3);
+        assertThat(bits.expectedFpp()).isLessThan(FPP * 1.3);
+    }
+
+    @Test
+    void emptyFilterRejectsEverything() {
+        SkuBloomFilter.Bits bits = SkuBloomFilter.Bits.create(CAPACITY, FPP);
+
+        assertThat(bits.mightContain("NB-001")).isFalse();
+        assertThat(bits.mightContain("")).isFalse();
+        assertThat(bits.expectedFpp()).isZero();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * SKUs com prefixo fixo e sufixo alfanumérico misturando maiúsculas e minúsculas.
+     * Prefixos diferentes garantem conjuntos disjuntos também ignorando a caixa.
+     */
+    private static List<String> randomSkus(Random random, String prefix, int count) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        List<String> skus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sku = new StringBuilder(prefix).append(i).append('-');
+            for (int j = 0; j < 6; j++) {
+                sku.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            skus.add(sku.toString());
+        }
+        return skus;
+    }
+}
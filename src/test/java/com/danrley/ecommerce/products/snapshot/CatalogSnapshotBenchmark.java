@@ -0,0 +1,142 @@
+package com.danrley.ecommerce.products.snapshot;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotFile.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de warm start: carga do catálogo pelo banco vs pelo snapshot mapeado em memória.
+ * <p>
+ * "database" lê todos os produtos de um H2 em memória (mesmas colunas de
+ * {@code ProductRepository.streamAllForSnapshot}); é um limite inferior do custo real,
+ * que ainda soma rede, MySQL e Hibernate. "snapshot" mede {@link CatalogSnapshotFile#open}
+ * (map + validação do CRC) + decodificação de todos os registros.
+ * </p>
+ * <p>
+ * Executar: rodar o {@link #main(String[])} pela IDE, ou
+ * {@code mvn test-compile} + {@code java -cp target/test-classes:<classpath> ...CatalogSnapshotBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    private static final String METADATA = "{\"brand\": \"Logitech\", \"dpi\": 25600, \"wireless\": false, "
+            + "\"color\": \"Preto\", \"warranty\": \"24 meses\"}";
+
+    @Param({"100000"})
+    private int products;
+
+    private Connection connection;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:snapshot_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(200), sku VARCHAR(50), "
+                    + "category_id BIGINT, supplier_id BIGINT, price DECIMAL(10,2), stock_quantity INT, "
+                    + "reserved_quantity INT, active BOOLEAN, metadata VARCHAR(2000), updated_at TIMESTAMP(6))");
+        }
+        List<Row> rows = new ArrayList<>(products);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= products; id++) {
+                ProductSnapshot product = new ProductSnapshot(Long.valueOf(id), "Produto " + id, "SKU-" + id,
+                        Long.valueOf(id % 20 + 1), Long.valueOf(id % 50 + 1), BigDecimal.valueOf(id % 100_000, 2),
+                        (int) (id % 500), 0, id % 10 != 0);
+                insert.setLong(1, id);
+                insert.setString(2, product.name());
+                insert.setString(3, product.sku());
+                insert.setLong(4, product.categoryId());
+                insert.setLong(5, product.supplierId());
+                insert.setBigDecimal(6, product.price());
+                insert.setInt(7, product.stockQuantity());
+                insert.setInt(8, product.reservedQuantity());
+                insert.setBoolean(9, product.active());
+                insert.setString(10, METADATA);
+                insert.setTimestamp(11, Timestamp.valueOf(now));
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+                rows.add(new Row(product, METADATA, now.toEpochSecond(ZoneOffset.UTC) * 1_000_000L));
+            }
+            insert.executeBatch();
+        }
+        file = Files.createTempFile("catalog", ".snapshot");
+        CatalogSnapshotFile.write(file, rows.iterator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void database(Blackhole blackhole) throws Exception {
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT id, name, sku, category_id, supplier_id, price, "
+                     + "stock_quantity, reserved_quantity, active, metadata, updated_at FROM products")) {
+            while (rs.next()) {
+                ProductSnapshot product = new ProductSnapshot(Long.valueOf(rs.getLong(1)), rs.getString(2),
+                        rs.getString(3), Long.valueOf(rs.getLong(4)), Long.valueOf(rs.getLong(5)), rs.getBigDecimal(6),
+                        rs.getInt(7), rs.getInt(8), rs.getBoolean(9));
+                blackhole.consume(product);
+                blackhole.consume(rs.getString(10));
+                blackhole.consume(rs.getTimestamp(11));
+            }
+        }
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) throws Exception {
+        CatalogSnapshotFile.open(file).forEach(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogSnapshotBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.danrley.ecommerce.products.snapshot;
+
+import com.danrley.ecommerce.products.dto.ProductSnapshot;
+import com.danrley.ecommerce.products.snapshot.CatalogSnapshotFile.Row;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do formato binário do snapshot: ida e volta dos registros e recusa de arquivos inválidos.
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class CatalogSnapshotFileTest {
+
+    private static final List<Row> ROWS = List.of(
+            new Row(product(1L, "Notebook", "NB-001", 10L, 20L, new BigDecimal("4599.90"), 7, 2, true),
+                    "{\"cor\":\"prata\",\"ram\":\"16GB\"}", 1_767_225_600_123_456L),
+            new Row(product(2L, "Café ☕ especial", "CF-002", null, null, null, 0, 0, false),
+                    null, 1_767_225_700_000_000L),
+            new Row(product(3L, null, "", 11L, 21L, new BigDecimal("0.01"), 100, 0, true),
+                    "{}", 0L));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripPreservesEveryField() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+
+        int written = CatalogSnapshotFile.write(file, ROWS.iterator());
+        CatalogSnapshotFile snapshot = CatalogSnapshotFile.open(file);
+        List<Row> read = new ArrayList<>();
+        snapshot.forEach(read::add);
+
+        assertThat(written).isEqualTo(ROWS.size());
+        assertThat(snapshot.size()).isEqualTo(ROWS.size());
+        assertThat(snapshot.maxUpdatedAtMicros()).isEqualTo(1_767_225_700_000_000L);
+        assertThat(snapshot.createdAtMillis()).isPositive();
+        assertThat(read).isEqualTo(ROWS);
+        assertThat(Files.exists(directory.resolve("catalog.snapshot.tmp"))).isFalse();
+    }
+
+    @Test
+    void emptyCatalogRoundTrips() throws IOException {
+        Path file = directory.resolve("empty.snapshot");
+
+        CatalogSnapshotFile.write(file, List.<Row>of().iterator());
+        CatalogSnapshotFile snapshot = CatalogSnapshotFile.open(file);
+
+        assertThat(snapshot.size()).isZero();
+        assertThat(Files.size(file)).isEqualTo(CatalogSnapshotFile.HEADER_BYTES);
+    }
+
+    @Test
+    void rejectsBadMagic() throws IOException {
+        Path file = written();
+        overwriteInt(file, 0, 0x12345678);
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class).hasMessageContaining("não é um snapshot");
+    }
+
+    @Test
+    void rejectsOtherVersion() throws IOException {
+        Path file = written();
+        overwriteInt(file, 4, CatalogSnapshotFile.VERSION + 1);
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class).hasMessageContaining("Versão");
+    }
+
+    @Test
+    void rejectsTruncatedPayload() throws IOException {
+        Path file = written();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class).hasMessageContaining("Tamanho");
+    }
+
+    @Test
+    void rejectsTruncatedHeader() throws IOException {
+        Path file = written();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(CatalogSnapshotFile.HEADER_BYTES - 1);
+        }
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class).hasMessageContaining("truncado");
+    }
+
+    @Test
+    void rejectsCorruptedPayload() throws IOException {
+        Path file = written();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long position = CatalogSnapshotFile.HEADER_BYTES + 10;
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x01)).rewind();
+            channel.write(one, position);
+        }
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(file))
+                .isInstanceOf(IOException.class).hasMessageContaining("CRC");
+    }
+
+    @Test
+    void rejectsMissingFile() {
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(directory.resolve("ausente.snapshot")))
+                .isInstanceOf(IOException.class);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static ProductSnapshot product(Long id, String name, String sku, Long categoryId, Long supplierId,
+                                           BigDecimal price, int stock, int reserved, boolean active) {
+        return new ProductSnapshot(id, name, sku, categoryId, supplierId, price, stock, reserved, active);
+    }
+
+    private Path written() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(file, ROWS.iterator());
+        return file;
+    }
+
+    private static void overwriteInt(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(value).flip(), position);
+        }
+    }
+}
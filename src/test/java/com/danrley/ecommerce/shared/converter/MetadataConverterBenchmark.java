@@ -0,0 +1,82 @@
+package com.danrley.ecommerce.shared.converter;
+
+import com.danrley.ecommerce.shared.json.RawJsonMetadata;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark: {@link JsonConverter} (Map) vs {@link RawJsonMetadataConverter} (raw passthrough).
+ * <p>
+ * Simula o caminho de uma listagem: load da coluna JSON + serialização da resposta.
+ * O cenário "readKey" mede o pior caso do raw (servidor lê uma chave → parse lazy).
+ * </p>
+ * <p>
+ * Executar: rodar o {@link #main(String[])} pela IDE, ou
+ * {@code mvn test-compile} + {@code java -cp target/test-classes:<classpath> ...MetadataConverterBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataConverterBenchmark {
+
+    private static final String DB_JSON = "{\"brand\": \"Logitech\", \"model\": \"G502 HERO\", \"dpi\": 25600, "
+            + "\"buttons\": 11, \"wireless\": false, \"weight_g\": 121, \"color\": \"Preto\", "
+            + "\"warranty\": \"24 meses\", \"rgb\": true, \"sensor\": \"HERO 25K\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonConverter mapConverter;
+    private RawJsonMetadataConverter rawConverter;
+
+    @Setup
+    public void setup() {
+        mapConverter = new JsonConverter();
+        rawConverter = new RawJsonMetadataConverter();
+    }
+
+    @Benchmark
+    public String mapLoadAndSerialize() throws Exception {
+        Map<String, Object> metadata = mapConverter.convertToEntityAttribute(DB_JSON);
+        return objectMapper.writeValueAsString(metadata);
+    }
+
+    @Benchmark
+    public String rawLoadAndSerialize() throws Exception {
+        RawJsonMetadata metadata = rawConverter.convertToEntityAttribute(DB_JSON);
+        return objectMapper.writeValueAsString(metadata);
+    }
+
+    @Benchmark
+    public Object mapLoadAndReadKey() {
+        return mapConverter.convertToEntityAttribute(DB_JSON).get("brand");
+    }
+
+    @Benchmark
+    public Object rawLoadAndReadKey() {
+        return rawConverter.convertToEntityAttribute(DB_JSON).get("brand");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetadataConverterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
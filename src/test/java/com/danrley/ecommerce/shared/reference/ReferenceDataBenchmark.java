@@ -0,0 +1,141 @@
+package com.danrley.ecommerce.shared.reference;
+
+import com.danrley.ecommerce.EcommerceApiApplication;
+import com.danrley.ecommerce.auth.repository.RoleRepository;
+import com.danrley.ecommerce.products.repository.CategoryRepository;
+import com.danrley.ecommerce.products.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: validações de categoria/fornecedor/role via repositório vs {@link ReferenceDataCache}.
+ * <p>
+ * Sobe a aplicação com o profile {@code test} (H2 em memória) e, no parâmetro {@code l2cache=true},
+ * também com o profile {@code l2cache}. Cada operação reproduz as consultas de um
+ * {@code createProduct} (categoria + fornecedor) mais um {@code register} (role USER).
+ * No teardown imprime as idas ao banco por operação (statistics do Hibernate).
+ * H2 em memória não tem latência de rede: contra MySQL a diferença de tempo é maior.
+ * </p>
+ * <p>
+ * Executar: rodar o {@link #main(String[])} pela IDE, ou
+ * {@code mvn test-compile} + {@code java -cp target/test-classes:target/classes:<classpath> ...ReferenceDataBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceDataBenchmark {
+
+    @Param({"false", "true"})
+    public boolean l2cache;
+
+    private ConfigurableApplicationContext context;
+    private CategoryRepository categoryRepository;
+    private SupplierRepository supplierRepository;
+    private RoleRepository roleRepository;
+    private ReferenceDataCache referenceDataCache;
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    private long repositoryOps;
+    private long repositoryStatements;
+    private long cachedOps;
+    private long cachedStatements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(EcommerceApiApplication.class)
+                .run("--spring.profiles.active=" + (l2cache ? "test,l2cache" : "test"),
+                        "--server.port=0",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN");
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (int i = 1; i <= 5; i++) {
+            jdbc.update("INSERT INTO categories (name, active, created_at, updated_at) VALUES (?, TRUE, NOW(), NOW())",
+                    "Categoria " + i);
+            jdbc.update("INSERT INTO suppliers (name, active, created_at, updated_at) VALUES (?, TRUE, NOW(), NOW())",
+                    "Fornecedor " + i);
+        }
+        jdbc.update("INSERT INTO roles (name, created_at) VALUES ('ADMIN', NOW()), ('USER', NOW())");
+
+        categoryRepository = context.getBean(CategoryRepository.class);
+        supplierRepository = context.getBean(SupplierRepository.class);
+        roleRepository = context.getBean(RoleRepository.class);
+        referenceDataCache = context.getBean(ReferenceDataCache.class);
+        referenceDataCache.refresh();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Benchmark
+    public void repositoryLookup(Blackhole blackhole) {
+        long before = statistics.getPrepareStatementCount();
+        // Uma transação por "request", como no código original
+        transaction.executeWithoutResult(status -> {
+            blackhole.consume(categoryRepository.findById(3L).orElseThrow().getActive());
+            blackhole.consume(supplierRepository.findById(2L).orElseThrow().getActive());
+        });
+        transaction.executeWithoutResult(status ->
+                blackhole.consume(roleRepository.findByName("USER").orElseThrow().getName()));
+        repositoryStatements += statistics.getPrepareStatementCount() - before;
+        repositoryOps++;
+    }
+
+    @Benchmark
+    public void cachedLookup(Blackhole blackhole) {
+        long before = statistics.getPrepareStatementCount();
+        blackhole.consume(referenceDataCache.findCategory(3L).orElseThrow().getActive());
+        blackhole.consume(referenceDataCache.findSupplier(2L).orElseThrow().getActive());
+        blackhole.consume(referenceDataCache.findRole("USER").orElseThrow().getName());
+        cachedStatements += statistics.getPrepareStatementCount() - before;
+        cachedOps++;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (repositoryOps > 0) {
+            System.out.printf("%nl2cache=%s repositoryLookup: %.2f consultas SQL/op%n",
+                    l2cache, (double) repositoryStatements / repositoryOps);
+        }
+        if (cachedOps > 0) {
+            System.out.printf("%nl2cache=%s cachedLookup: %.2f consultas SQL/op%n",
+                    l2cache, (double) cachedStatements / cachedOps);
+        }
+        context.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReferenceDataBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,185 @@
+package com.danrley.ecommerce.shared.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de ETag e Range do {@link ZeroCopyFileSender} (cópia via {@code transferTo}, sem sendfile).
+ *
+ * @author Danrley Brasil dos Santos
+ * @since 1.1
+ */
+class ZeroCopyFileSenderTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String ETAG = "\"feed-1\"";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.writeString(directory.resolve("feed.txt"), CONTENT, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void withoutRangeSendsWholeFile() throws IOException {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/feed"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.IF_NONE_MATCH, "\"outro\", W/" + ETAG));
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void closedRangeReturnsPartialContent() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=2-5"));
+
+        assertPartial(response, "2345", "bytes 2-5/20");
+    }
+
+    @Test
+    void suffixRangeReturnsLastBytes() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=-4"));
+
+        assertPartial(response, "ghij", "bytes 16-19/20");
+    }
+
+    @Test
+    void suffixLongerThanFileReturnsWholeFile() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=-100"));
+
+        assertPartial(response, CONTENT, "bytes 0-19/20");
+    }
+
+    @Test
+    void openEndedRangeReturnsUntilEndOfFile() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=15-"));
+
+        assertPartial(response, "fghij", "bytes 15-19/20");
+    }
+
+    @Test
+    void rangeEndBeyondFileIsClamped() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=18-1000"));
+
+        assertPartial(response, "ij", "bytes 18-19/20");
+    }
+
+    @Test
+    void rangeStartingAfterEndOfFileIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=20-"));
+
+        assertNotSatisfiable(response);
+    }
+
+    @Test
+    void emptySuffixIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=-0"));
+
+        assertNotSatisfiable(response);
+    }
+
+    @Test
+    void multipleRangesReturnWholeFile() throws IOException {
+        MockHttpServletResponse response = send(request(HttpHeaders.RANGE, "bytes=0-1,4-5"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void invalidRangesAreIgnored() throws IOException {
+        for (String range : new String[]{"bytes=5-2", "bytes=abc", "items=0-1", "bytes=1"}) {
+            MockHttpServletResponse response = send(request(HttpHeaders.RANGE, range));
+
+            assertThat(response.getStatus()).as(range).isEqualTo(HttpServletResponse.SC_OK);
+            assertThat(response.getContentAsString()).as(range).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void staleIfRangeReturnsWholeFile() throws IOException {
+        MockHttpServletRequest request = request(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"feed-0\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/feed");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void sendfileSupportDelegatesRangeToContainer() throws IOException {
+        MockHttpServletRequest request = request(HttpHeaders.RANGE, "bytes=15-");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(15L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(20L);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ZeroCopyFileSender.send(file, CONTENT.length(), ETAG, 0L, "text/plain", "feed.txt", request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/feed");
+        request.addHeader(header, value);
+        return request;
+    }
+
+    private static void assertPartial(MockHttpServletResponse response, String body, String contentRange)
+            throws IOException {
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo(contentRange);
+        assertThat(response.getContentLengthLong()).isEqualTo(body.length());
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    private static void assertNotSatisfiable(MockHttpServletResponse response) {
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}